@@ -0,0 +1,61 @@
+package tinman;
+
+/**
+ * Describes how many commands a batch run executed, how many saves it made and how fast it went.
+ */
+public class BatchReport {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    private final int commandCount;
+    private final int failedCount;
+    private final int saveCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a report for a completed batch run.
+     *
+     * @param commandCount Number of commands run, including failed ones.
+     * @param failedCount Number of commands that reported an error.
+     * @param saveCount Number of times the task list was saved.
+     * @param elapsedNanos Time taken by the whole run including its saves, in nanoseconds.
+     */
+    public BatchReport(int commandCount, int failedCount, int saveCount, long elapsedNanos) {
+        this.commandCount = commandCount;
+        this.failedCount = failedCount;
+        this.saveCount = saveCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public int getSaveCount() {
+        return saveCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the batch throughput in commands per second.
+     *
+     * @return Commands run per second, or 0 if nothing was timed.
+     */
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commandCount * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Ran %d commands (%d failed) in %.1f ms (%.0f commands/s) with %d save%s",
+                commandCount, failedCount, elapsedNanos / NANOS_PER_MILLISECOND, getCommandsPerSecond(),
+                saveCount, saveCount == 1 ? "" : "s");
+    }
+}
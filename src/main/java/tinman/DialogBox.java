@@ -10,6 +10,7 @@ import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
@@ -19,6 +20,9 @@ import javafx.scene.layout.HBox;
  * and a label containing text from the speaker.
  */
 public class DialogBox extends HBox {
+    private static final String PENDING_TEXT = "Working on it...";
+    private static final double PENDING_INDICATOR_SIZE = 18.0;
+
     @FXML
     private Label dialog;
     @FXML
@@ -73,4 +77,29 @@ public class DialogBox extends HBox {
                 + "-fx-padding: 12; -fx-font-size: 14px;");
         return db;
     }
+
+    /**
+     * Creates a dialog box for a TinMan response that is still being worked out.
+     * It shows a spinning progress indicator until {@link #showResponse(String)} fills in the reply.
+     *
+     * @param img TinMan's avatar image.
+     * @return A DialogBox holding the place of TinMan's message.
+     */
+    public static DialogBox getPendingTinManDialog(Image img) {
+        DialogBox db = getTinManDialog(PENDING_TEXT, img);
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(PENDING_INDICATOR_SIZE, PENDING_INDICATOR_SIZE);
+        db.dialog.setGraphic(indicator);
+        return db;
+    }
+
+    /**
+     * Replaces the progress indicator of a pending dialog box with TinMan's reply.
+     *
+     * @param text TinMan's response text.
+     */
+    public void showResponse(String text) {
+        dialog.setGraphic(null);
+        dialog.setText(text);
+    }
 }
@@ -4,9 +4,14 @@ import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * Batch runs, started with {@code --batch}, are handed to {@link TinMan#main} without opening a window.
  */
 public class Launcher {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            TinMan.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -14,6 +14,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private TinMan tinman = new TinMan("./data/tinman.txt");
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -23,10 +24,18 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("TinMan");
-            fxmlLoader.<MainWindow>getController().setTinMan(tinman);
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setTinMan(tinman);
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutDown();
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package tinman;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -10,8 +15,12 @@ import javafx.scene.layout.VBox;
 
 /**
  * Controller for the main GUI.
+ * Commands run on a single background thread, one at a time in the order they were entered,
+ * so a slow command or save never freezes the window.
  */
 public class MainWindow extends AnchorPane {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -23,6 +32,12 @@ public class MainWindow extends AnchorPane {
 
     private TinMan tinman;
 
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tinman-gui-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/hasbulla.jpg"));
     private Image tinmanImage = new Image(this.getClass().getResourceAsStream("/images/hasbulla_glasses.jpg"));
 
@@ -41,8 +56,10 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing TinMan's reply
-     * and then appends them to the dialog container. Clears the user input after processing.
+     * Creates two dialog boxes, one echoing user input and the other showing that TinMan is working on it,
+     * and then appends them to the dialog container. The command runs in the background, and its reply
+     * replaces the progress indicator once it is done. Clears the user input straight away, so the next
+     * command can be typed while this one runs.
      */
     @FXML
     private void handleUserInput() {
@@ -51,12 +68,17 @@ public class MainWindow extends AnchorPane {
             return;
         }
 
-        String tinmanText = getResponse(userText);
+        DialogBox tinmanDialog = DialogBox.getPendingTinManDialog(tinmanImage);
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(userText, userImage),
-                DialogBox.getTinManDialog(tinmanText, tinmanImage)
+                tinmanDialog
         );
         userInput.clear();
+
+        commandExecutor.execute(() -> {
+            String tinmanText = getResponse(userText);
+            Platform.runLater(() -> tinmanDialog.showResponse(tinmanText));
+        });
     }
 
     private String getResponse(String input) {
@@ -66,4 +88,16 @@ public class MainWindow extends AnchorPane {
             return "Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Finishes the commands that have been entered but not yet run, so none are lost when the window closes.
+     */
+    public void shutDown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -1,11 +1,34 @@
 package tinman;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
 import tinman.command.CommandProcessor;
 import tinman.command.CommandType;
+import tinman.command.IoStatsCommand;
 import tinman.exception.TinManException;
 import tinman.parser.Parser;
-import tinman.storage.Storage;
+import tinman.storage.InstrumentedStorage;
+import tinman.storage.LazyTaskList;
+import tinman.storage.SaveScheduler;
+import tinman.storage.StorageBackend;
+import tinman.storage.StorageConfig;
+import tinman.storage.StorageStats;
+import tinman.storage.TaskListBacking;
+import tinman.task.ColumnarTaskList;
+import tinman.task.Task;
 import tinman.task.TaskList;
+import tinman.task.TreeTaskList;
 import tinman.ui.Ui;
 
 /**
@@ -16,30 +39,63 @@ import tinman.ui.Ui;
  * This version uses the Command Pattern for cleaner separation of concerns.
  */
 public class TinMan {
+    private static final String BATCH_OPTION = "--batch";
+    private static final String CHECKPOINT_OPTION = "--checkpoint";
+    private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+
     private final CommandProcessor commandProcessor;
-    private final Storage storage;
+    private final StorageBackend storage;
+    private final StorageStats storageStats;
     private final TaskList tasks;
+    private final SaveScheduler saveScheduler;
     private final Ui ui;
 
     /**
      * Creates a TinMan instance with the specified file path for data storage.
      * Initializes the UI, storage, and loads existing tasks from the file.
+     * Storage options are read from {@code tinman.storage.*} system properties.
      * If loading fails, starts with an empty task list.
+     * With background saving enabled, unsaved changes are also flushed when the JVM shuts down.
      *
      * @param filePath Path to the file where tasks are stored.
      */
     public TinMan(String filePath) {
+        StorageConfig config = StorageConfig.fromSystemProperties();
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
+        InstrumentedStorage instrumentedStorage = new InstrumentedStorage(StorageBackend.create(filePath, config));
+        this.storage = instrumentedStorage;
+        this.storageStats = instrumentedStorage.getStats();
         this.commandProcessor = new CommandProcessor();
-        TaskList loadedTasks;
+        commandProcessor.registerCommand(CommandType.IOSTATS, new IoStatsCommand(storageStats));
+        List<Task> loadedTasks;
         try {
-            loadedTasks = new TaskList(storage.load());
-        } catch (TinManException e) {
+            // Copying into another backing reads every task, so a lazily loaded file is fully parsed here
+            loadedTasks = createBacking(config.getListBacking(), storage.load());
+        } catch (TinManException | LazyTaskList.CorruptedRecordException e) {
             ui.showError("Warning: " + e.getMessage());
-            loadedTasks = new TaskList();
+            loadedTasks = createBacking(config.getListBacking(), new ArrayList<>());
+        }
+        this.tasks = new TaskList(loadedTasks, storage.getNextTaskId());
+        storage.attach(tasks);
+
+        if (config.getIsAsyncSaveEnabled()) {
+            this.saveScheduler = new SaveScheduler(
+                    storage, tasks, config.getSaveDelayMillis(), config.getSaveMaxPending());
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "tinman-save-on-exit"));
+        } else {
+            this.saveScheduler = null;
+        }
+    }
+
+    private static List<Task> createBacking(TaskListBacking backing, List<Task> loadedTasks) {
+        switch (backing) {
+        case TREE:
+            return new TreeTaskList(loadedTasks);
+        case COLUMNAR:
+            return new ColumnarTaskList(loadedTasks);
+        default:
+            return loadedTasks;
         }
-        this.tasks = loadedTasks;
     }
 
     /**
@@ -52,25 +108,218 @@ public class TinMan {
         return processInput(input);
     }
 
+    /**
+     * Processes a command for a client such as the command server and returns the response as a string.
+     * Safe to call from several threads at once, which all share the same task list.
+     *
+     * @param input The command line.
+     * @return The response to send back.
+     */
+    public String processCommand(String input) {
+        return processInput(input);
+    }
+
     /**
      * Processes a user input command and returns the result.
-     * Handles storage saving and error handling centrally.
      *
      * @param input The user input string.
      * @return The result message to display to the user.
      */
     private String processInput(String input) {
+        StringBuilder result = new StringBuilder();
         try {
-            String result = commandProcessor.processCommand(input, tasks);
-            // Save to storage after successful command execution
-            // (except for commands that don't modify data)
+            processInput(input, result, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Appending to a StringBuilder cannot fail", e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Processes a user input command and writes the result to the given output as it is produced.
+     * Handles storage saving and error handling centrally.
+     *
+     * @param input The user input string.
+     * @param out Where to write the result message.
+     * @param isSavingEachChange Whether to save straight after a command that changes the tasks.
+     * @return True if the command succeeded.
+     * @throws IOException If writing to the output fails.
+     */
+    private boolean processInput(String input, Appendable out, boolean isSavingEachChange) throws IOException {
+        CommandType commandType = CommandType.parseString(Parser.getCommand(input));
+        if (commandType.getIsReadOnly()) {
+            // Read-only commands run alongside each other and lock only what they read
+            if (!runCommand(input, out)) {
+                return false;
+            }
+        } else {
+            // Changes hold the write lock until they are saved, so a save never sees a half-applied change
+            Lock writeLock = tasks.getLock().writeLock();
+            writeLock.lock();
+            try {
+                if (!runCommand(input, out)) {
+                    return false;
+                }
+                // Save to storage after successful command execution
+                // (except for commands that don't modify data)
+                if (isSavingEachChange && shouldSaveAfterCommand(commandType)) {
+                    persist();
+                }
+            } catch (TinManException e) {
+                // The result has already been written, so the failure is reported after it
+                out.append("\n").append(e.getMessage());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        if (commandType == CommandType.BYE && saveScheduler != null) {
+            try {
+                saveScheduler.flush();
+            } catch (TinManException e) {
+                out.append("\n").append(e.getMessage());
+            }
+        }
+        appendSaveFailure(out);
+        return true;
+    }
+
+    /**
+     * Runs every command in a script without waiting for input, writing each reply to the given output
+     * followed by a line break. Changes are not saved after each command as they are interactively:
+     * they are saved once every {@code checkpointInterval} changes, if positive, and once more at the end.
+     * Blank lines are skipped, and a {@code bye} line ends the script.
+     *
+     * @param script Reader over the script, one command per line.
+     * @param out Where to write the replies. The caller decides how it is buffered and when it is flushed.
+     * @param checkpointInterval Number of changes between saves, or 0 to save only at the end.
+     * @return The number of commands run and saves made, and how long they took.
+     * @throws IOException If reading the script or writing a reply fails.
+     * @throws TinManException If a save fails, in which case the rest of the script is not run.
+     */
+    public BatchReport runBatch(BufferedReader script, Appendable out, int checkpointInterval)
+            throws IOException, TinManException {
+        assert checkpointInterval >= 0 : "Checkpoint interval cannot be negative";
+        long startTime = System.nanoTime();
+        int commandCount = 0;
+        int failedCount = 0;
+        int saveCount = 0;
+        int unsavedChanges = 0;
+        for (String input = script.readLine(); input != null; input = script.readLine()) {
+            if (input.isBlank()) {
+                continue;
+            }
             CommandType commandType = CommandType.parseString(Parser.getCommand(input));
-            if (shouldSaveAfterCommand(commandType)) {
-                storage.save(tasks.getTasks());
+            commandCount++;
+            if (!processInput(input, out, false)) {
+                failedCount++;
+            } else if (shouldSaveAfterCommand(commandType)) {
+                unsavedChanges++;
+            }
+            out.append("\n");
+
+            if (checkpointInterval > 0 && unsavedChanges >= checkpointInterval) {
+                saveChanges();
+                saveCount++;
+                unsavedChanges = 0;
+            }
+            if (commandType == CommandType.BYE) {
+                break;
             }
-            return result;
+        }
+        if (unsavedChanges > 0) {
+            saveChanges();
+            saveCount++;
+        }
+        return new BatchReport(commandCount, failedCount, saveCount, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Saves every change made so far and waits for the save to finish, even with background saving enabled.
+     *
+     * @throws TinManException If the save fails.
+     */
+    private void saveChanges() throws TinManException {
+        Lock writeLock = tasks.getLock().writeLock();
+        writeLock.lock();
+        try {
+            persist();
+        } finally {
+            writeLock.unlock();
+        }
+        if (saveScheduler != null) {
+            saveScheduler.flush();
+        }
+    }
+
+    /**
+     * Runs a command, writing its result or its error message to the given output.
+     *
+     * @return True if the command succeeded.
+     */
+    private boolean runCommand(String input, Appendable out) throws IOException {
+        try {
+            commandProcessor.processCommand(input, tasks, out);
+            return true;
+        } catch (TinManException | LazyTaskList.CorruptedRecordException e) {
+            out.append(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Persists the latest change, either immediately or by handing it to the background save scheduler.
+     *
+     * @throws TinManException If an immediate save fails.
+     */
+    private void persist() throws TinManException {
+        if (saveScheduler != null) {
+            saveScheduler.markDirty();
+        } else {
+            storage.save(tasks.getTasks());
+        }
+    }
+
+    /**
+     * Appends a warning to the result if a background save has failed since the last command.
+     */
+    private void appendSaveFailure(Appendable out) throws IOException {
+        TinManException failure = saveScheduler != null ? saveScheduler.pollFailure() : null;
+        if (failure != null) {
+            out.append("\nWarning: ").append(failure.getMessage());
+        }
+    }
+
+    /**
+     * Returns the background save scheduler, which reports how many mutations each write covered.
+     *
+     * @return The scheduler, or null if background saving is disabled.
+     */
+    public SaveScheduler getSaveScheduler() {
+        return saveScheduler;
+    }
+
+    /**
+     * Returns the latency, volume and failure statistics of every load and save so far.
+     *
+     * @return The storage statistics, also shown by the {@code iostats} command.
+     */
+    public StorageStats getStorageStats() {
+        return storageStats;
+    }
+
+    private void flushQuietly() {
+        try {
+            saveScheduler.close();
         } catch (TinManException e) {
-            return e.getMessage();
+            System.err.println("Warning: " + e.getMessage());
+        }
+    }
+
+    private static void flushOutputQuietly(Writer out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // Standard output is gone, so only the error itself can still be reported
         }
     }
 
@@ -93,6 +342,7 @@ public class TinMan {
     /**
      * Runs the main application loop for CLI mode.
      * Shows welcome message, processes user commands until bye command is received,
+     * writing each response to the console as it is produced,
      * then closes the UI resources.
      */
     public void run() {
@@ -102,8 +352,12 @@ public class TinMan {
             String input = ui.readCommand();
             CommandType commandType = CommandType.parseString(Parser.getCommand(input));
 
-            String result = processInput(input);
-            ui.showMessage(result);
+            try {
+                processInput(input, ui.getMessageWriter(), true);
+            } catch (IOException e) {
+                ui.getMessageWriter().print("Error: " + e.getMessage());
+            }
+            ui.endMessage();
 
             if (commandType == CommandType.BYE) {
                 break;
@@ -115,10 +369,52 @@ public class TinMan {
 
     /**
      * Starts the TinMan application.
+     * With {@code --batch FILE [--checkpoint N]}, runs the commands in the file instead of reading them
+     * from the console, then reports how fast they ran on standard error.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(BATCH_OPTION)) {
+            System.exit(runBatchMode(args));
+        }
         new TinMan("./data/tinman.txt").run();
     }
+
+    /**
+     * Runs a batch script named on the command line, writing the replies to standard output.
+     *
+     * @return The exit status: 0 on success, 1 if the script could not be read or saved, 2 on bad usage.
+     */
+    private static int runBatchMode(String[] args) {
+        int checkpointInterval = 0;
+        boolean isUsageValid = args.length == 2 || (args.length == 4 && args[2].equals(CHECKPOINT_OPTION));
+        if (isUsageValid && args.length == 4) {
+            try {
+                checkpointInterval = Integer.parseInt(args[3]);
+            } catch (NumberFormatException e) {
+                isUsageValid = false;
+            }
+        }
+        if (!isUsageValid || checkpointInterval < 0) {
+            System.err.println("Usage: tinman " + BATCH_OPTION + " FILE [" + CHECKPOINT_OPTION + " N]");
+            return 2;
+        }
+
+        TinMan tinMan = new TinMan("./data/tinman.txt");
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE);
+        try (BufferedReader script = Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8)) {
+            BatchReport report = tinMan.runBatch(script, out, checkpointInterval);
+            out.flush();
+            System.err.println(report);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Error: Could not run " + args[1] + ": " + e);
+            return 1;
+        } catch (TinManException e) {
+            flushOutputQuietly(out);
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
 }
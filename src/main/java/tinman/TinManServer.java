@@ -0,0 +1,31 @@
+package tinman;
+
+import java.io.IOException;
+
+import tinman.server.CommandServer;
+import tinman.server.ServerConfig;
+
+/**
+ * Starts TinMan as a server that accepts commands from local clients instead of from the console.
+ * Every client shares the same task list. Server options are read from {@code tinman.server.*}
+ * system properties and storage options from {@code tinman.storage.*}.
+ */
+public class TinManServer {
+    /**
+     * Starts the server, which keeps running until the JVM is stopped.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        TinMan tinMan = new TinMan("./data/tinman.txt");
+        CommandServer server = new CommandServer(tinMan::processCommand, ServerConfig.fromSystemProperties());
+        try {
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Error: Could not start the server: " + e.getMessage());
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "tinman-server-stop"));
+        System.out.println("TinMan is listening on localhost:" + server.getPort());
+    }
+}
@@ -1,7 +1,11 @@
 package tinman.command;
 
+import java.util.ArrayList;
+
 import tinman.exception.TinManException;
 import tinman.parser.Parser;
+import tinman.storage.Saveable;
+import tinman.task.Event;
 import tinman.task.Task;
 import tinman.task.TaskList;
 
@@ -12,10 +16,31 @@ public class AddTaskCommand implements Command {
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
         Task task = Parser.parseTask(input);
+        ArrayList<Event> conflicts = task instanceof Event
+                ? tasks.findConflictingEvents((Event) task)
+                : new ArrayList<>();
         tasks.addTask(task);
         int taskCount = tasks.getTaskCount();
         return "Got it. I've added this task:\n  " + task
-                + "\nNow you have " + formatTaskCountMessage(taskCount) + " in the list.";
+                + "\nNow you have " + formatTaskCountMessage(taskCount) + " in the list."
+                + formatConflicts(conflicts);
+    }
+
+    /**
+     * Formats a note listing the events that overlap a newly added event.
+     *
+     * @param conflicts The overlapping events.
+     * @return The note, or an empty string if there are no conflicts.
+     */
+    private String formatConflicts(ArrayList<Event> conflicts) {
+        if (conflicts.isEmpty()) {
+            return "";
+        }
+        StringBuilder note = new StringBuilder("\nNote: this event overlaps with:");
+        for (Event conflict : conflicts) {
+            note.append("\n  ").append(conflict).append(" ").append(Saveable.ID_PREFIX).append(conflict.getId());
+        }
+        return note.toString();
     }
 
     /**
@@ -0,0 +1,67 @@
+package tinman.command;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import tinman.exception.TinManException;
+import tinman.storage.Saveable;
+import tinman.task.Event;
+import tinman.task.TaskList;
+import tinman.util.DateParser;
+
+/**
+ * Command to list the events taking place between two dates, in the order they start.
+ * Both dates are included; either may also be a date and time given with {@code /to} between them.
+ */
+public class AgendaCommand implements Command {
+    private static final int AGENDA_COMMAND_LENGTH = 6;
+    private static final String FORMAT = "agenda <from> <to> or agenda <from> /to <to>";
+
+    @Override
+    public String execute(TaskList tasks, String input) throws TinManException {
+        String[] bounds = splitBounds(input.trim().substring(AGENDA_COMMAND_LENGTH).trim());
+        LocalDateTime from = toTime(DateParser.parseFlexible(bounds[0]), false);
+        LocalDateTime to = toTime(DateParser.parseFlexible(bounds[1]), true);
+        if (!from.isBefore(to)) {
+            throw new TinManException("The end of the agenda must come after its start.");
+        }
+
+        ArrayList<Event> events = tasks.findEventsBetween(from, to);
+        if (events.isEmpty()) {
+            return "Here are the events in that period:\n (no events found)";
+        }
+        StringBuilder result = new StringBuilder("Here are the events in that period:");
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            result.append("\n ").append(i + 1).append(".").append(event)
+                    .append(" ").append(Saveable.ID_PREFIX).append(event.getId());
+        }
+        return result.toString();
+    }
+
+    private String[] splitBounds(String arguments) throws TinManException {
+        String[] bounds = arguments.contains(" /to ")
+                ? arguments.split(" /to ", 2)
+                : arguments.split("\\s+");
+        if (bounds.length != 2 || bounds[0].trim().isEmpty() || bounds[1].trim().isEmpty()) {
+            throw new TinManException.InvalidFormatException(FORMAT);
+        }
+        return new String[] { bounds[0].trim(), bounds[1].trim() };
+    }
+
+    /**
+     * Converts a parsed bound to a time, taking a date without a time as the whole of that day.
+     *
+     * @param value A LocalDate or LocalDateTime.
+     * @param isEnd Whether the bound ends the period, so a date covers the rest of that day.
+     * @return The time the period starts or stops at.
+     */
+    private LocalDateTime toTime(Object value, boolean isEnd) {
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        LocalDate date = (LocalDate) value;
+        return isEnd ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+    }
+}
@@ -1,5 +1,7 @@
 package tinman.command;
 
+import java.io.IOException;
+
 import tinman.exception.TinManException;
 import tinman.task.TaskList;
 
@@ -17,4 +19,19 @@ public interface Command {
      * @throws TinManException If the command execution fails.
      */
     String execute(TaskList tasks, String input) throws TinManException;
+
+    /**
+     * Executes the command and writes its result to the given output.
+     * Commands whose results can be long override this to write them piece by piece
+     * instead of building the whole result first.
+     *
+     * @param tasks The task list to operate on.
+     * @param input The full user input string.
+     * @param out Where to write the result message.
+     * @throws TinManException If the command execution fails, in which case nothing has been written.
+     * @throws IOException If writing to the output fails.
+     */
+    default void execute(TaskList tasks, String input, Appendable out) throws TinManException, IOException {
+        out.append(execute(tasks, input));
+    }
 }
@@ -1,7 +1,9 @@
 package tinman.command;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 
 import tinman.exception.TinManException;
 import tinman.parser.Parser;
@@ -10,6 +12,11 @@ import tinman.task.TaskList;
 /**
  * Processes user commands by routing them to appropriate command implementations.
  * Uses the Command Pattern to decouple command parsing from command execution.
+ *
+ * Commands may be processed from several threads at once. Read-only commands run in parallel, each
+ * read taking the task list's read lock for itself. A command that changes the list holds its write
+ * lock from start to finish, so it is applied as a whole, and such commands take effect one at a time
+ * in the order they arrived.
  */
 public class CommandProcessor {
     private final Map<CommandType, Command> commands;
@@ -18,7 +25,7 @@ public class CommandProcessor {
      * Creates a CommandProcessor and registers all available commands.
      */
     public CommandProcessor() {
-        commands = new HashMap<>();
+        commands = new ConcurrentHashMap<>();
         registerCommands();
     }
 
@@ -32,6 +39,9 @@ public class CommandProcessor {
         commands.put(CommandType.DELETE, new DeleteCommand());
         commands.put(CommandType.FIND, new FindCommand());
         commands.put(CommandType.UPDATE, new UpdateCommand());
+        commands.put(CommandType.STATS, new StatsCommand());
+        commands.put(CommandType.AGENDA, new AgendaCommand());
+        commands.put(CommandType.DUE, new DueCommand());
         commands.put(CommandType.BYE, new ByeCommand());
         // Task creation commands
         commands.put(CommandType.TODO, new AddTaskCommand());
@@ -39,6 +49,17 @@ public class CommandProcessor {
         commands.put(CommandType.EVENT, new AddTaskCommand());
     }
 
+    /**
+     * Registers a command that needs more than the task list to run, such as access to storage.
+     * Replaces any command already registered for the same type.
+     *
+     * @param commandType The command type that triggers the command.
+     * @param command The command to run.
+     */
+    public void registerCommand(CommandType commandType, Command command) {
+        commands.put(commandType, command);
+    }
+
     /**
      * Processes a user input command and returns the result.
      *
@@ -49,10 +70,50 @@ public class CommandProcessor {
      */
     public String processCommand(String input, TaskList tasks) throws TinManException {
         CommandType commandType = CommandType.parseString(Parser.getCommand(input));
+        Command command = getCommand(commandType);
+        if (commandType.getIsReadOnly()) {
+            return command.execute(tasks, input);
+        }
+        Lock writeLock = tasks.getLock().writeLock();
+        writeLock.lock();
+        try {
+            return command.execute(tasks, input);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Processes a user input command and writes the result to the given output as it is produced,
+     * so a long result such as a large task list is never built in memory first.
+     *
+     * @param input The user input string.
+     * @param tasks The task list to operate on.
+     * @param out Where to write the result message.
+     * @throws TinManException If command processing fails, in which case nothing has been written.
+     * @throws IOException If writing to the output fails.
+     */
+    public void processCommand(String input, TaskList tasks, Appendable out) throws TinManException, IOException {
+        CommandType commandType = CommandType.parseString(Parser.getCommand(input));
+        Command command = getCommand(commandType);
+        if (commandType.getIsReadOnly()) {
+            command.execute(tasks, input, out);
+            return;
+        }
+        Lock writeLock = tasks.getLock().writeLock();
+        writeLock.lock();
+        try {
+            command.execute(tasks, input, out);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Command getCommand(CommandType commandType) throws TinManException {
         Command command = commands.get(commandType);
         if (command == null) {
             throw new TinManException.UnknownCommandException();
         }
-        return command.execute(tasks, input);
+        return command;
     }
 }
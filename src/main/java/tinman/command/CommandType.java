@@ -19,6 +19,10 @@ public enum CommandType {
     DELETE("delete", ""),
     FIND("find", ""),
     UPDATE("update", ""),
+    IOSTATS("iostats", ""),
+    STATS("stats", ""),
+    AGENDA("agenda", ""),
+    DUE("due", ""),
     BYE("bye", ""),
     UNKNOWN("", "");
 
@@ -34,6 +38,26 @@ public enum CommandType {
         return keyword;
     }
 
+    /**
+     * Checks whether commands of this type only read the task list, so they can run alongside each other.
+     *
+     * @return True for commands that never change the task list.
+     */
+    public boolean getIsReadOnly() {
+        switch (this) {
+        case LIST:
+        case FIND:
+        case IOSTATS:
+        case STATS:
+        case AGENDA:
+        case DUE:
+        case BYE:
+            return true;
+        default:
+            return false;
+        }
+    }
+
     /**
      * Parses a command string to determine the CommandType.
      *
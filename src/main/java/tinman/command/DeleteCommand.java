@@ -11,7 +11,7 @@ import tinman.task.TaskList;
 public class DeleteCommand implements Command {
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
-        int taskIndex = Parser.parseTaskNumber(input);
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
         Task deletedTask = tasks.deleteTask(taskIndex);
         int remainingCount = tasks.getTaskCount();
         return "Noted. I've removed this task:\n  " + deletedTask
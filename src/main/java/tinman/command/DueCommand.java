@@ -0,0 +1,86 @@
+package tinman.command;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import tinman.exception.TinManException;
+import tinman.storage.Saveable;
+import tinman.task.Deadline;
+import tinman.task.TaskList;
+import tinman.util.DateParser;
+
+/**
+ * Command to list the pending deadlines that fall due first, either the next {@code N} of them or
+ * all of those due by a date given with {@code /before}, or both.
+ */
+public class DueCommand implements Command {
+    private static final int DUE_COMMAND_LENGTH = 3;
+    private static final String BEFORE_FLAG = "/before";
+    private static final String FORMAT = "due <count>, due /before <date> or due <count> /before <date>";
+
+    @Override
+    public String execute(TaskList tasks, String input) throws TinManException {
+        String arguments = input.trim().substring(DUE_COMMAND_LENGTH).trim();
+        LocalDateTime latest = LocalDateTime.MAX;
+        int beforeIndex = arguments.indexOf(BEFORE_FLAG);
+        if (beforeIndex >= 0) {
+            latest = parseLatest(arguments.substring(beforeIndex + BEFORE_FLAG.length()).trim());
+            arguments = arguments.substring(0, beforeIndex).trim();
+        }
+        int limit = parseLimit(arguments, beforeIndex >= 0);
+
+        ArrayList<Deadline> deadlines = tasks.findUpcomingDeadlines(limit, latest);
+        if (deadlines.isEmpty()) {
+            return "Here are your upcoming deadlines:\n (no pending deadlines found)";
+        }
+        StringBuilder result = new StringBuilder("Here are your upcoming deadlines:");
+        for (int i = 0; i < deadlines.size(); i++) {
+            Deadline deadline = deadlines.get(i);
+            result.append("\n ").append(i + 1).append(".").append(deadline)
+                    .append(" ").append(Saveable.ID_PREFIX).append(deadline.getId());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Parses how many deadlines to show.
+     *
+     * @param count The count as entered, empty if none was given.
+     * @param isOptional Whether the count may be left out, showing every deadline in range.
+     * @return The most deadlines to show.
+     * @throws TinManException If the count is missing when it is required, or is not a positive number.
+     */
+    private int parseLimit(String count, boolean isOptional) throws TinManException {
+        if (count.isEmpty() && isOptional) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            int limit = Integer.parseInt(count);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with counts that are out of range
+        }
+        throw new TinManException.InvalidFormatException(FORMAT);
+    }
+
+    /**
+     * Parses the latest due time to include, taking a date without a time as the whole of that day.
+     *
+     * @param date The date as entered.
+     * @return The latest due time to include.
+     * @throws TinManException If the date is missing or not recognised.
+     */
+    private LocalDateTime parseLatest(String date) throws TinManException {
+        if (date.isEmpty()) {
+            throw new TinManException.InvalidFormatException(FORMAT);
+        }
+        Object value = DateParser.parseFlexible(date);
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        return ((LocalDate) value).plusDays(1).atStartOfDay();
+    }
+}
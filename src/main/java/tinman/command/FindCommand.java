@@ -7,22 +7,55 @@ import tinman.task.Task;
 import tinman.task.TaskList;
 
 /**
- * Command to find tasks containing a specific keyword.
+ * Command to find tasks containing a specific keyword, either exactly or within
+ * a number of edits when followed by {@code /fuzzy [DISTANCE]}.
  */
 public class FindCommand implements Command {
     private static final int FIND_COMMAND_LENGTH = 4;
+    private static final String FUZZY_FLAG = "/fuzzy";
+    private static final int DEFAULT_FUZZY_DISTANCE = 1;
 
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
         String keyword = extractSearchKeyword(input);
+        int fuzzyIndex = keyword.indexOf(FUZZY_FLAG);
+        int maxDistance = -1;
+        if (fuzzyIndex >= 0) {
+            maxDistance = parseFuzzyDistance(keyword.substring(fuzzyIndex + FUZZY_FLAG.length()).trim());
+            keyword = keyword.substring(0, fuzzyIndex).trim();
+        }
         if (keyword.isEmpty()) {
             throw new TinManException("Please provide a keyword to search for.");
         }
 
-        ArrayList<Task> matchingTasks = tasks.findTasks(keyword);
+        ArrayList<Task> matchingTasks = maxDistance < 0
+                ? tasks.findTasks(keyword)
+                : tasks.findTasksFuzzy(keyword, maxDistance);
         return formatFindResults(matchingTasks);
     }
 
+    /**
+     * Parses the edit distance given after the fuzzy flag.
+     *
+     * @param distance The text after the flag, empty for the default distance.
+     * @return The largest number of edits to allow.
+     * @throws TinManException If the distance is not a non-negative number.
+     */
+    private int parseFuzzyDistance(String distance) throws TinManException {
+        if (distance.isEmpty()) {
+            return DEFAULT_FUZZY_DISTANCE;
+        }
+        try {
+            int maxDistance = Integer.parseInt(distance);
+            if (maxDistance >= 0) {
+                return maxDistance;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with negative distances
+        }
+        throw new TinManException("Edit distance must be a non-negative number: find KEYWORD /fuzzy [DISTANCE]");
+    }
+
     /**
      * Extracts the search keyword from the find command input.
      * Removes the "find" prefix and trims whitespace.
@@ -0,0 +1,20 @@
+package tinman.command;
+
+import tinman.storage.StorageStats;
+import tinman.task.TaskList;
+
+/**
+ * Command to show how long storage loads and saves take, how much data they move and how often they fail.
+ */
+public class IoStatsCommand implements Command {
+    private final StorageStats stats;
+
+    public IoStatsCommand(StorageStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public String execute(TaskList tasks, String input) {
+        return stats.toString();
+    }
+}
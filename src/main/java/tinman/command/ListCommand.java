@@ -1,13 +1,71 @@
 package tinman.command;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import tinman.exception.TinManException;
 import tinman.task.TaskList;
 
 /**
- * Command to list all tasks in the task list.
+ * Command to list the tasks in the task list, either all of them or one page at a time with
+ * {@code /page N} and {@code /size N}. With {@code /ids}, each task is followed by its permanent ID.
  */
 public class ListCommand implements Command {
+    private static final int LIST_COMMAND_LENGTH = 4;
+    private static final String PAGE_FLAG = "/page";
+    private static final String SIZE_FLAG = "/size";
+    private static final String IDS_FLAG = "/ids";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String FORMAT = "list [/ids] or list [/ids] /page <number> /size <tasks per page>";
+
+    @Override
+    public String execute(TaskList tasks, String input) throws TinManException {
+        StringBuilder result = new StringBuilder();
+        try {
+            execute(tasks, input, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Appending to a StringBuilder cannot fail", e);
+        }
+        return result.toString();
+    }
+
     @Override
-    public String execute(TaskList tasks, String input) {
-        return tasks.listTasks();
+    public void execute(TaskList tasks, String input, Appendable out) throws TinManException, IOException {
+        String[] arguments = input.trim().substring(LIST_COMMAND_LENGTH).trim().split("\\s+");
+        int page = 0;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        boolean isShowingIds = false;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i].isEmpty()) {
+                continue;
+            } else if (arguments[i].equals(PAGE_FLAG) && i + 1 < arguments.length) {
+                page = parsePositive(arguments[++i]);
+            } else if (arguments[i].equals(SIZE_FLAG) && i + 1 < arguments.length) {
+                pageSize = parsePositive(arguments[++i]);
+                page = Math.max(page, 1);
+            } else if (arguments[i].equals(IDS_FLAG)) {
+                isShowingIds = true;
+            } else {
+                throw new TinManException.InvalidFormatException(FORMAT);
+            }
+        }
+
+        if (page == 0) {
+            tasks.writeTasks(out, isShowingIds);
+        } else {
+            tasks.writeTaskPage(out, page, pageSize, isShowingIds);
+        }
+    }
+
+    private int parsePositive(String number) throws TinManException {
+        try {
+            int value = Integer.parseInt(number);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with numbers that are out of range
+        }
+        throw new TinManException.InvalidFormatException(FORMAT);
     }
 }
@@ -11,9 +11,8 @@ import tinman.task.TaskList;
 public class MarkCommand implements Command {
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
-        int taskIndex = Parser.parseTaskNumber(input);
-        Task task = tasks.getTask(taskIndex);
-        task.markAsDone();
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
+        Task task = tasks.updateTask(taskIndex, Task::markAsDone);
         return "Nice! I've marked this task as done:\n  " + task;
     }
 }
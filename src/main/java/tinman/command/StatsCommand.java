@@ -0,0 +1,14 @@
+package tinman.command;
+
+import tinman.task.TaskList;
+
+/**
+ * Command to show how many tasks of each type are done and pending, how many deadlines are overdue
+ * and how many events are happening today.
+ */
+public class StatsCommand implements Command {
+    @Override
+    public String execute(TaskList tasks, String input) {
+        return tasks.getStatistics().toString();
+    }
+}
@@ -11,9 +11,8 @@ import tinman.task.TaskList;
 public class UnmarkCommand implements Command {
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
-        int taskIndex = Parser.parseTaskNumber(input);
-        Task task = tasks.getTask(taskIndex);
-        task.markAsNotDone();
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
+        Task task = tasks.updateTask(taskIndex, Task::markAsNotDone);
         return "OK, I've marked this task as not done yet:\n  " + task;
     }
 }
@@ -15,28 +15,32 @@ public class UpdateCommand implements Command {
 
     @Override
     public String execute(TaskList tasks, String input) throws TinManException {
-        try {
-            String[] updateParts = Parser.parseUpdateCommand(input);
-            int taskIndex = Integer.parseInt(updateParts[0]) - 1;
-            String parameters = updateParts[1];
-
-            Task task = tasks.getTask(taskIndex);
-
-            // Parameter-first approach - check what user wants to update
-            if (hasParameter(parameters, "/desc ")) {
-                updateDescription(task, parameters);
-            } else if (hasParameter(parameters, "/by ")) {
-                updateDeadline(task, parameters);
-            } else if (hasParameter(parameters, "/from ") && hasParameter(parameters, "/to ")) {
-                updateEventTimes(task, parameters);
-            } else {
-                throw new TinManException("Invalid update parameters. Available formats: "
-                        + getAvailableOptionsForTask(task));
-            }
-
-            return "Got it! I've updated this task:\n  " + task;
-        } catch (NumberFormatException e) {
-            throw new TinManException("Invalid task number format.");
+        String[] updateParts = Parser.parseUpdateCommand(input);
+        int taskIndex = Parser.resolveTaskIndex(updateParts[0], tasks);
+        String parameters = updateParts[1];
+
+        Task task = tasks.updateTask(taskIndex, t -> applyUpdate(t, parameters));
+        return "Got it! I've updated this task:\n  " + task;
+    }
+
+    /**
+     * Applies the update described by the parameters to the task.
+     *
+     * @param task The task to update.
+     * @param parameters The update parameters.
+     * @throws TinManException If the parameters are invalid for the task.
+     */
+    private void applyUpdate(Task task, String parameters) throws TinManException {
+        // Parameter-first approach - check what user wants to update
+        if (hasParameter(parameters, "/desc ")) {
+            updateDescription(task, parameters);
+        } else if (hasParameter(parameters, "/by ")) {
+            updateDeadline(task, parameters);
+        } else if (hasParameter(parameters, "/from ") && hasParameter(parameters, "/to ")) {
+            updateEventTimes(task, parameters);
+        } else {
+            throw new TinManException("Invalid update parameters. Available formats: "
+                    + getAvailableOptionsForTask(task));
         }
     }
 
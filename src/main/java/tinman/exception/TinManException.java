@@ -62,6 +62,15 @@ public class TinManException extends Exception {
         }
     }
 
+    /**
+     * Represents an exception thrown when stored task data cannot be parsed.
+     */
+    public static class CorruptedDataException extends TinManException {
+        public CorruptedDataException(String message) {
+            super(message);
+        }
+    }
+
     /**
      * Represents an exception thrown when date format is invalid.
      */
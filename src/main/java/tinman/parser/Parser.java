@@ -2,9 +2,11 @@ package tinman.parser;
 
 import tinman.command.CommandType;
 import tinman.exception.TinManException;
+import tinman.storage.Saveable;
 import tinman.task.Deadline;
 import tinman.task.Event;
 import tinman.task.Task;
+import tinman.task.TaskList;
 import tinman.task.Todo;
 
 /**
@@ -155,12 +157,16 @@ public class Parser {
      */
     public static int parseTaskNumber(String input) throws TinManException {
         assert input != null : "Input cannot be null";
+        String[] parts = input.split(" ", 2);
+        if (parts.length <= 1) {
+            throw new TinManException.InvalidTaskNumberException();
+        }
+        return toTaskIndex(parts[1]);
+    }
+
+    private static int toTaskIndex(String taskNumberText) throws TinManException {
         try {
-            String[] parts = input.split(" ", 2);
-            if (parts.length <= 1) {
-                throw new TinManException.InvalidTaskNumberException();
-            }
-            int taskNumber = Integer.parseInt(parts[1]);
+            int taskNumber = Integer.parseInt(taskNumberText);
             if (taskNumber <= 0) {
                 throw new TinManException.InvalidTaskNumberException();
             }
@@ -169,4 +175,45 @@ public class Parser {
             throw new TinManException.InvalidTaskNumberException();
         }
     }
+
+    /**
+     * Parses the task reference from user input for commands that act on one task. The reference is
+     * either a task number as shown by {@code list}, or a permanent task ID such as {@code #12}.
+     *
+     * @param input The user input string containing the task reference.
+     * @param tasks The task list to look task IDs up in.
+     * @return Zero-based index of the task.
+     * @throws TinManException If the reference is invalid or missing, or no task has the given ID.
+     */
+    public static int parseTaskIndex(String input, TaskList tasks) throws TinManException {
+        assert input != null : "Input cannot be null";
+        String[] parts = input.trim().split(" ", 2);
+        if (parts.length <= 1) {
+            throw new TinManException.InvalidTaskNumberException();
+        }
+        return resolveTaskIndex(parts[1].trim(), tasks);
+    }
+
+    /**
+     * Resolves a task number or a permanent task ID such as {@code #12} to the task's current index.
+     *
+     * @param reference The task number or ID.
+     * @param tasks The task list to look task IDs up in.
+     * @return Zero-based index of the task.
+     * @throws TinManException If the reference is invalid, or no task has the given ID.
+     */
+    public static int resolveTaskIndex(String reference, TaskList tasks) throws TinManException {
+        if (!reference.startsWith(Saveable.ID_PREFIX)) {
+            return toTaskIndex(reference);
+        }
+        try {
+            long id = Long.parseLong(reference.substring(Saveable.ID_PREFIX.length()));
+            if (id <= Task.NO_ID) {
+                throw new TinManException.InvalidTaskNumberException();
+            }
+            return tasks.getTaskIndexById(id);
+        } catch (NumberFormatException e) {
+            throw new TinManException.InvalidTaskNumberException();
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package tinman.server;
+
+/**
+ * Runs one command line received by the {@link CommandServer} and returns the reply to send back.
+ * Handlers are called from several worker threads at once, so they must be thread-safe.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Runs the given command.
+     *
+     * @param input The command line, without its line terminator.
+     * @return The reply, which may span several lines.
+     */
+    String handle(String input);
+}
@@ -0,0 +1,411 @@
+package tinman.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tinman.command.CommandType;
+import tinman.parser.Parser;
+
+/**
+ * Serves line-based commands to clients connecting over the loopback interface.
+ *
+ * Each line a client sends is one command. The reply is sent back as one or more lines followed by
+ * a line holding only a dot; reply lines that start with a dot get a second one, which clients remove.
+ * Sending {@code bye} closes the connection after its reply.
+ *
+ * A single selector thread accepts connections and does all reading and writing, so idle clients cost
+ * no threads. Commands run on a fixed pool of worker threads through the {@link CommandHandler}, which
+ * is shared by every connection. Each connection has at most one command running at a time, so its
+ * replies come back in the order its commands were sent, while commands from different connections run
+ * side by side. A connection with many commands waiting is not read from until some have run, and a
+ * connection whose client is not reading its replies has no further commands run or read until it does.
+ */
+public class CommandServer implements Closeable {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int MAX_QUEUED_COMMANDS = 64;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private static final String BUSY_MESSAGE = "OOPS!!! Too many connections. Please try again later.";
+    private static final String LINE_TOO_LONG_MESSAGE = "OOPS!!! Command is too long. Closing the connection.";
+    private static final String COMMAND_FAILED_MESSAGE = "OOPS!!! Something went wrong running that command.";
+
+    private final CommandHandler handler;
+    private final ServerConfig config;
+    private final ConcurrentLinkedQueue<Reply> replies = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workers;
+    private Thread selectorThread;
+    private volatile boolean isRunning = false;
+    private int connectionCount = 0;
+
+    /**
+     * Constructs a server that runs every command it receives through the given handler.
+     *
+     * @param handler The thread-safe handler shared by all connections.
+     * @param config The port and limits to use.
+     */
+    public CommandServer(CommandHandler handler, ServerConfig config) {
+        this.handler = handler;
+        this.config = config;
+    }
+
+    /**
+     * Binds to the configured loopback port and starts serving connections in the background.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public synchronized void start() throws IOException {
+        assert selectorThread == null : "Server has already been started";
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()),
+                config.getMaxConnections());
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(config.getWorkerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "tinman-server-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        isRunning = true;
+        selectorThread = new Thread(this::serve, "tinman-server");
+        selectorThread.start();
+    }
+
+    /**
+     * Returns the port the server is listening on, which is useful when it was started on port 0.
+     *
+     * @return The bound loopback port.
+     */
+    public int getPort() {
+        assert serverChannel != null : "Server has not been started";
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections, closes every open connection and waits for running commands to finish.
+     */
+    @Override
+    public synchronized void close() {
+        if (!isRunning) {
+            return;
+        }
+        isRunning = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+            workers.shutdown();
+            workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void serve() {
+        while (isRunning) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.err.println("Warning: " + e.getMessage());
+                break;
+            }
+            deliverReplies();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    acceptConnections();
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(connection);
+                    }
+                } catch (IOException e) {
+                    closeConnection(connection);
+                }
+            }
+        }
+        shutDownChannels();
+    }
+
+    private void acceptConnections() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                if (connectionCount >= config.getMaxConnections()) {
+                    reject(channel);
+                    continue;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(channel, key));
+                connectionCount++;
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tells a client beyond the connection limit that the server is busy and disconnects it.
+     * The message fits in any socket buffer, so a single non-blocking write sends it. A client that
+     * has already gone only costs a warning, so the connections still waiting to be accepted are not lost.
+     */
+    private void reject(SocketChannel channel) {
+        try {
+            channel.configureBlocking(false);
+            channel.write(encode(BUSY_MESSAGE));
+        } catch (IOException e) {
+            System.err.println("Warning: " + e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The connection is being dropped either way
+            }
+        }
+    }
+
+    /**
+     * Reads what the client has sent and queues every complete line as a command.
+     */
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        int count = connection.channel.read(readBuffer);
+        if (count < 0) {
+            // The client will send nothing more, but still gets the replies to what it has sent
+            if (connection.line.size() > 0) {
+                queueCommand(connection);
+            }
+            connection.isClosing = true;
+        }
+        byte[] bytes = readBuffer.array();
+        for (int i = 0; i < Math.max(count, 0) && !connection.isClosing; i++) {
+            if (bytes[i] == '\n') {
+                queueCommand(connection);
+            } else if (connection.line.size() >= config.getMaxLineLength()) {
+                connection.line.reset();
+                connection.pendingError = encode(LINE_TOO_LONG_MESSAGE);
+                connection.isClosing = true;
+            } else {
+                connection.line.write(bytes[i]);
+            }
+        }
+        write(connection);
+    }
+
+    private void queueCommand(Connection connection) {
+        String command = connection.line.toString(StandardCharsets.UTF_8);
+        connection.line.reset();
+        if (command.endsWith("\r")) {
+            command = command.substring(0, command.length() - 1);
+        }
+        connection.commands.add(command);
+        if (CommandType.parseString(Parser.getCommand(command)) == CommandType.BYE) {
+            // Anything sent after bye is ignored
+            connection.isClosing = true;
+        }
+    }
+
+    /**
+     * Starts the connection's next command on a worker unless one is already running or the client
+     * has too many replies left to read.
+     */
+    private void dispatch(Connection connection) {
+        if (connection.isBusy || isOutputFull(connection)) {
+            return;
+        }
+        String command = connection.commands.poll();
+        if (command == null) {
+            if (connection.pendingError != null) {
+                queueOutput(connection, connection.pendingError);
+                connection.pendingError = null;
+            }
+            return;
+        }
+        connection.isBusy = true;
+        workers.execute(() -> {
+            String reply = COMMAND_FAILED_MESSAGE;
+            try {
+                reply = handler.handle(command);
+            } catch (RuntimeException e) {
+                reply = "Error: " + e.getMessage();
+            } finally {
+                // Even an Error gets a reply, or the connection would wait for this command forever
+                replies.add(new Reply(connection, encode(reply)));
+                selector.wakeup();
+            }
+        });
+    }
+
+    /**
+     * Hands the replies finished by workers to their connections, which then start their next commands.
+     */
+    private void deliverReplies() {
+        Reply reply;
+        while ((reply = replies.poll()) != null) {
+            Connection connection = reply.connection;
+            connection.isBusy = false;
+            if (!connection.channel.isOpen()) {
+                continue;
+            }
+            queueOutput(connection, reply.bytes);
+            try {
+                write(connection);
+            } catch (IOException e) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void queueOutput(Connection connection, ByteBuffer bytes) {
+        connection.output.add(bytes);
+        connection.pendingOutputBytes += bytes.remaining();
+    }
+
+    private boolean isOutputFull(Connection connection) {
+        return connection.pendingOutputBytes > config.getMaxPendingOutput();
+    }
+
+    /**
+     * Writes as much pending output as the socket accepts and starts the next command if there is room
+     * for its reply, closing the connection once a closing connection has nothing left to send.
+     */
+    private void write(Connection connection) throws IOException {
+        while (!connection.output.isEmpty()) {
+            ByteBuffer buffer = connection.output.peek();
+            connection.pendingOutputBytes -= connection.channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+            connection.output.poll();
+        }
+        dispatch(connection);
+        if (connection.isClosing && !connection.isBusy && connection.commands.isEmpty()
+                && connection.pendingError == null && connection.output.isEmpty()) {
+            closeConnection(connection);
+        } else {
+            updateInterest(connection);
+        }
+    }
+
+    private void updateInterest(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        int ops = 0;
+        if (!connection.isClosing && connection.commands.size() < MAX_QUEUED_COMMANDS && !isOutputFull(connection)) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (!connection.output.isEmpty()) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        connection.key.interestOps(ops);
+    }
+
+    private void closeConnection(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // The connection is being dropped either way
+        }
+        connectionCount--;
+    }
+
+    private void shutDownChannels() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection) {
+                closeConnection((Connection) key.attachment());
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Warning: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes a reply as its lines, each starting with a dot escaped, followed by the terminating dot line.
+     */
+    static ByteBuffer encode(String reply) {
+        StringBuilder framed = new StringBuilder(reply.length() + 8);
+        reply.lines().forEach(line -> {
+            if (line.startsWith(".")) {
+                framed.append('.');
+            }
+            framed.append(line).append('\n');
+        });
+        framed.append(".\n");
+        return ByteBuffer.wrap(framed.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Holds the state of one client connection, which only the selector thread touches.
+     */
+    private static class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final ArrayDeque<String> commands = new ArrayDeque<>();
+        private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+        private long pendingOutputBytes = 0;
+        private ByteBuffer pendingError;
+        private boolean isBusy = false;
+        private boolean isClosing = false;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Carries a finished reply from a worker thread back to the selector thread.
+     */
+    private static class Reply {
+        private final Connection connection;
+        private final ByteBuffer bytes;
+
+        Reply(Connection connection, ByteBuffer bytes) {
+            this.connection = connection;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package tinman.server;
+
+/**
+ * Holds the options that control how {@link CommandServer} accepts connections.
+ * The server only ever listens on the loopback address, so the port is the only address option.
+ */
+public class ServerConfig {
+    static final String PROPERTY_PREFIX = "tinman.server.";
+    private static final int DEFAULT_PORT = 8765;
+    private static final int DEFAULT_MAX_CONNECTIONS = 1024;
+    private static final int DEFAULT_MAX_LINE_LENGTH = 64 * 1024;
+    private static final int DEFAULT_MAX_PENDING_OUTPUT = 1024 * 1024;
+
+    private int port = DEFAULT_PORT;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int maxLineLength = DEFAULT_MAX_LINE_LENGTH;
+    private int maxPendingOutput = DEFAULT_MAX_PENDING_OUTPUT;
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Sets the loopback port to listen on.
+     *
+     * @param port Port number, or 0 to let the operating system pick a free port.
+     */
+    public void setPort(int port) {
+        assert port >= 0 && port <= 65535 : "Port must be between 0 and 65535";
+        this.port = port;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the number of clients that may be connected at once.
+     * Clients connecting beyond the limit are sent an error and disconnected.
+     *
+     * @param maxConnections Maximum open connections, must be positive.
+     */
+    public void setMaxConnections(int maxConnections) {
+        assert maxConnections > 0 : "Connection limit must be positive";
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    /**
+     * Sets the longest command line, in bytes, that a client may send.
+     * A client sending a longer line is sent an error and disconnected.
+     *
+     * @param maxLineLength Maximum bytes in one command, must be positive.
+     */
+    public void setMaxLineLength(int maxLineLength) {
+        assert maxLineLength > 0 : "Line length limit must be positive";
+        this.maxLineLength = maxLineLength;
+    }
+
+    public int getMaxPendingOutput() {
+        return maxPendingOutput;
+    }
+
+    /**
+     * Sets how many bytes of replies may wait to be sent to a client before the server stops running
+     * its commands and reading from it. Both resume once the client has read enough of its replies.
+     *
+     * @param maxPendingOutput Maximum unsent reply bytes per connection, must be positive.
+     */
+    public void setMaxPendingOutput(int maxPendingOutput) {
+        assert maxPendingOutput > 0 : "Pending output limit must be positive";
+        this.maxPendingOutput = maxPendingOutput;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Sets the number of threads that run commands.
+     * Connections are served by a single selector thread regardless of this setting.
+     *
+     * @param workerThreads Number of command threads, must be positive.
+     */
+    public void setWorkerThreads(int workerThreads) {
+        assert workerThreads > 0 : "Worker thread count must be positive";
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Reads server options from {@code tinman.server.*} system properties,
+     * falling back to the defaults for missing or invalid values.
+     *
+     * @return The configuration described by the system properties.
+     */
+    public static ServerConfig fromSystemProperties() {
+        ServerConfig config = new ServerConfig();
+        int port = parseInt(property("port", null), DEFAULT_PORT);
+        config.setPort(port >= 0 && port <= 65535 ? port : DEFAULT_PORT);
+        config.setMaxConnections(parsePositiveInt(property("maxConnections", null), DEFAULT_MAX_CONNECTIONS));
+        config.setMaxLineLength(parsePositiveInt(property("maxLineLength", null), DEFAULT_MAX_LINE_LENGTH));
+        config.setMaxPendingOutput(parsePositiveInt(property("maxPendingOutput", null), DEFAULT_MAX_PENDING_OUTPUT));
+        config.setWorkerThreads(parsePositiveInt(property("workers", null), config.getWorkerThreads()));
+        return config;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PROPERTY_PREFIX + name, defaultValue);
+    }
+
+    private static int parsePositiveInt(String value, int defaultValue) {
+        int parsed = parseInt(value, defaultValue);
+        return parsed > 0 ? parsed : defaultValue;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
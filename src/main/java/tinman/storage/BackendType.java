@@ -0,0 +1,29 @@
+package tinman.storage;
+
+/**
+ * Represents the kinds of {@link StorageBackend} that tasks can be kept in.
+ */
+public enum BackendType {
+    /** Keeps tasks in the data file, as configured by the other storage options. */
+    FILE,
+    /** Keeps tasks in memory only, for tests and benchmarks. Nothing survives a restart. */
+    MEMORY,
+    /** Keeps tasks in an embedded page-based B-tree next to the data file. */
+    PAGED;
+
+    /**
+     * Parses a backend type name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultType The type to return if the name is not recognised.
+     * @return The matching type, or the default if there is none.
+     */
+    public static BackendType parse(String name, BackendType defaultType) {
+        for (BackendType type : values()) {
+            if (type.name().equalsIgnoreCase(name.trim())) {
+                return type;
+            }
+        }
+        return defaultType;
+    }
+}
@@ -0,0 +1,319 @@
+package tinman.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.task.Deadline;
+import tinman.task.Event;
+import tinman.task.Task;
+import tinman.task.Todo;
+
+/**
+ * Reads and writes tasks in the compact binary save format.
+ *
+ * The file starts with a header made of the magic number {@code TINB}, a format version, the
+ * number of records and the next free task ID (0 if not recorded). Each record is prefixed with
+ * its length and starts with a single header byte packing the done status (bit 0), the task type
+ * (bits 1-2) and the kind of each date (bits 3-4 and 5-6), followed by the task ID (0 for none),
+ * the description and, for deadlines and events, their dates.
+ * Dates are stored as epoch days, date-times as epoch seconds (UTC), and anything that is not a
+ * recognised date as the original string, so loading never needs to parse a date.
+ * Lengths and dates are written as variable-length integers to keep records small.
+ */
+public class BinaryTaskCodec {
+    static final int MAGIC = 0x54494E42;
+    static final short CURRENT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DONE_FLAG = 1;
+    private static final int TYPE_SHIFT = 1;
+    private static final int FIRST_DATE_SHIFT = 3;
+    private static final int SECOND_DATE_SHIFT = 5;
+    private static final int TWO_BIT_MASK = 0b11;
+    private static final int TODO_TYPE = 0;
+    private static final int DEADLINE_TYPE = 1;
+    private static final int EVENT_TYPE = 2;
+    private static final int RAW_STRING = 0;
+    private static final int EPOCH_DAY = 1;
+    private static final int EPOCH_SECOND = 2;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MAX_VARINT_SHIFT = 63;
+
+    /**
+     * Checks whether a file starts with the binary format's magic number.
+     *
+     * @param path The file to check.
+     * @return True if the file exists and is in the binary format.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isBinaryFile(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < Integer.BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Reads the next free task ID from the header of a binary data file.
+     *
+     * @param path The binary data file.
+     * @return The next free task ID, or {@link Task#NO_ID} if the file does not record one.
+     * @throws IOException If the file cannot be read.
+     */
+    public static long readNextTaskId(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            in.readInt();
+            in.readShort();
+            in.readInt();
+            return Math.max(Task.NO_ID, in.readLong());
+        } catch (EOFException e) {
+            return Task.NO_ID;
+        }
+    }
+
+    /**
+     * Writes the header and all tasks to the stream, without recording the next free task ID.
+     *
+     * @param tasks The tasks to write.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing fails.
+     */
+    public static void write(List<Task> tasks, OutputStream out) throws IOException {
+        write(tasks, Task.NO_ID, out);
+    }
+
+    /**
+     * Writes the header and all tasks to the stream.
+     *
+     * @param tasks The tasks to write.
+     * @param nextId The next free task ID, or {@link Task#NO_ID} if it is not known.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing fails.
+     */
+    public static void write(List<Task> tasks, long nextId, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeShort(CURRENT_VERSION);
+        data.writeInt(tasks.size());
+        data.writeLong(nextId);
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        for (Task task : tasks) {
+            recordBytes.reset();
+            writeRecord(task, record);
+            writeVarLong(data, recordBytes.size());
+            recordBytes.writeTo(data);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads all tasks from a stream positioned at the start of the header.
+     *
+     * @param in The stream to read from; it is not closed.
+     * @return The tasks in the order they were written.
+     * @throws TinManException If the data is not in a supported version of the binary format.
+     * @throws IOException If reading fails.
+     */
+    public static ArrayList<Task> read(InputStream in) throws TinManException, IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        if (data.readInt() != MAGIC) {
+            throw new TinManException("Data file is not in the binary save format");
+        }
+        short version = data.readShort();
+        if (version < 1 || version > CURRENT_VERSION) {
+            throw new TinManException("Unsupported binary data file version: " + version);
+        }
+
+        int recordCount = data.readInt();
+        data.readLong();
+        ArrayList<Task> tasks = new ArrayList<>(recordCount);
+        byte[] recordBytes = new byte[0];
+        for (int i = 0; i < recordCount; i++) {
+            try {
+                long length = readVarLong(data);
+                if (length < 0 || length > Integer.MAX_VALUE) {
+                    throw new TinManException("invalid record length " + length);
+                }
+                if (recordBytes.length < length) {
+                    recordBytes = new byte[(int) length];
+                }
+                data.readFully(recordBytes, 0, (int) length);
+                tasks.add(readRecord(new DataInputStream(new ByteArrayInputStream(recordBytes, 0, (int) length))));
+            } catch (EOFException e) {
+                throw new TinManException.CorruptedDataException(
+                        "Data file is corrupted at record " + (i + 1) + ": record is truncated");
+            } catch (TinManException e) {
+                throw new TinManException.CorruptedDataException(
+                        "Data file is corrupted at record " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return tasks;
+    }
+
+    private static void writeRecord(Task task, DataOutputStream record) throws IOException {
+        Object firstDate = null;
+        Object secondDate = null;
+        int type = TODO_TYPE;
+        if (task instanceof Deadline) {
+            type = DEADLINE_TYPE;
+            firstDate = ((Deadline) task).getByValue();
+        } else if (task instanceof Event) {
+            type = EVENT_TYPE;
+            firstDate = ((Event) task).getFromValue();
+            secondDate = ((Event) task).getToValue();
+        }
+
+        int header = (task.getIsDone() ? DONE_FLAG : 0)
+                | type << TYPE_SHIFT
+                | dateKind(firstDate) << FIRST_DATE_SHIFT
+                | dateKind(secondDate) << SECOND_DATE_SHIFT;
+        record.writeByte(header);
+        writeVarLong(record, task.getId());
+        writeString(record, task.getDescription());
+        if (firstDate != null) {
+            writeDate(record, firstDate);
+        }
+        if (secondDate != null) {
+            writeDate(record, secondDate);
+        }
+    }
+
+    private static Task readRecord(DataInputStream record) throws IOException, TinManException {
+        int header = record.readUnsignedByte();
+        long id = readVarLong(record);
+        if (id < Task.NO_ID) {
+            throw new TinManException("invalid task ID " + id);
+        }
+        String description = readString(record);
+
+        Task task;
+        switch (header >> TYPE_SHIFT & TWO_BIT_MASK) {
+        case TODO_TYPE:
+            task = new Todo(description);
+            break;
+        case DEADLINE_TYPE:
+            task = Deadline.fromValues(description, readDate(record, header >> FIRST_DATE_SHIFT & TWO_BIT_MASK));
+            break;
+        case EVENT_TYPE:
+            Object from = readDate(record, header >> FIRST_DATE_SHIFT & TWO_BIT_MASK);
+            Object to = readDate(record, header >> SECOND_DATE_SHIFT & TWO_BIT_MASK);
+            task = Event.fromValues(description, from, to);
+            break;
+        default:
+            throw new TinManException("Unknown task type in data file: " + (header >> TYPE_SHIFT & TWO_BIT_MASK));
+        }
+
+        if ((header & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if (id != Task.NO_ID) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    private static int dateKind(Object value) {
+        if (value instanceof LocalDateTime) {
+            return EPOCH_SECOND;
+        } else if (value instanceof LocalDate) {
+            return EPOCH_DAY;
+        } else {
+            return RAW_STRING;
+        }
+    }
+
+    private static void writeDate(DataOutputStream record, Object value) throws IOException {
+        if (value instanceof LocalDateTime) {
+            writeVarLong(record, zigZag(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC)));
+        } else if (value instanceof LocalDate) {
+            writeVarLong(record, zigZag(((LocalDate) value).toEpochDay()));
+        } else {
+            writeString(record, (String) value);
+        }
+    }
+
+    private static Object readDate(DataInputStream record, int kind) throws IOException, TinManException {
+        switch (kind) {
+        case EPOCH_SECOND:
+            return LocalDateTime.ofEpochSecond(unZigZag(readVarLong(record)), 0, ZoneOffset.UTC);
+        case EPOCH_DAY:
+            return LocalDate.ofEpochDay(unZigZag(readVarLong(record)));
+        case RAW_STRING:
+            return readString(record);
+        default:
+            throw new TinManException("Unknown date kind: " + kind);
+        }
+    }
+
+    private static void writeString(DataOutputStream record, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(record, bytes.length);
+        record.write(bytes);
+    }
+
+    private static String readString(DataInputStream record) throws IOException {
+        long length = readVarLong(record);
+        if (length < 0 || length > record.available()) {
+            throw new EOFException();
+        }
+        byte[] bytes = new byte[(int) length];
+        record.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative value using 7 bits per byte, with the high bit marking that more bytes follow.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.writeByte((int) (value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift <= MAX_VARINT_SHIFT; shift += VARINT_PAYLOAD_BITS) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & VARINT_PAYLOAD_MASK) << shift;
+            if ((b & VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Maps signed values to unsigned ones so that small negative numbers stay short as varints.
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> MAX_VARINT_SHIFT);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
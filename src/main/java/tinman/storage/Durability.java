@@ -0,0 +1,30 @@
+package tinman.storage;
+
+/**
+ * Represents how hard {@link Storage} tries to make a save survive a crash or power loss.
+ * Stronger levels are slower, so the choice trades save latency against safety.
+ */
+public enum Durability {
+    /** Leaves flushing to the operating system; a power loss may lose recent saves. */
+    NONE,
+    /** Forces file contents to the device before a save completes. */
+    FILE,
+    /** Forces file contents and the directory entry, so a renamed or new file also survives. */
+    FILE_AND_DIRECTORY;
+
+    /**
+     * Parses a durability level name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultDurability The level to return if the name is not recognised.
+     * @return The matching level, or the default if there is none.
+     */
+    public static Durability parse(String name, Durability defaultDurability) {
+        for (Durability durability : values()) {
+            if (durability.name().equalsIgnoreCase(name.trim())) {
+                return durability;
+            }
+        }
+        return defaultDurability;
+    }
+}
@@ -0,0 +1,127 @@
+package tinman.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File writing helpers that honour a {@link Durability} level.
+ */
+public class DurableFiles {
+    static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes content that a {@link DurableFiles#writeAtomically} call streams into a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the full file contents to the stream.
+         *
+         * @param out The stream to write to.
+         * @throws IOException If writing fails.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replaces a file so that readers, and the file after a crash, see either the old or the new
+     * contents in full. The content is written to a temporary file next to the target, forced to
+     * disk according to the durability level, and then renamed over the target.
+     *
+     * @param target The file to replace.
+     * @param durability How far to force the write before returning.
+     * @param content Writes the new contents.
+     * @return The size of the new file in bytes.
+     * @throws IOException If the file cannot be written or renamed, in which case the target is left as it was
+     *         and the temporary file is removed.
+     */
+    public static long writeAtomically(Path target, Durability durability, ContentWriter content)
+            throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        long size;
+        try {
+            size = writeTemporary(temporary, durability, content);
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            throw e;
+        }
+        if (durability == Durability.FILE_AND_DIRECTORY) {
+            syncDirectory(target);
+        }
+        return size;
+    }
+
+    private static long writeTemporary(Path temporary, Durability durability, ContentWriter content)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+            if (durability != Durability.NONE) {
+                channel.force(true);
+            }
+            return channel.size();
+        }
+    }
+
+    /**
+     * Writes bytes to a file, either appending to it or replacing its contents in place.
+     *
+     * @param target The file to write.
+     * @param bytes The bytes to write.
+     * @param isAppend True to append, false to truncate the file first.
+     * @param durability How far to force the write before returning.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path target, byte[] bytes, boolean isAppend, Durability durability)
+            throws IOException {
+        boolean isNewFile = !Files.exists(target);
+        StandardOpenOption mode = isAppend ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, mode)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (durability != Durability.NONE) {
+                channel.force(false);
+            }
+        }
+        if (isNewFile && durability == Durability.FILE_AND_DIRECTORY) {
+            syncDirectory(target);
+        }
+    }
+
+    /**
+     * Forces the directory entry of a file to disk.
+     * Platforms that cannot open directories (such as Windows) are skipped silently.
+     */
+    private static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Directory sync is best effort; the file contents have already been forced
+        }
+    }
+}
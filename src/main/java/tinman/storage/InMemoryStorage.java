@@ -0,0 +1,38 @@
+package tinman.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Keeps saved tasks in memory, for tests and benchmarks that should not touch the file system.
+ * Tasks are stored in their save format, so a load returns fresh copies just as a file would.
+ */
+public class InMemoryStorage implements StorageBackend {
+    private final ArrayList<String> records = new ArrayList<>();
+    private long saveCount = 0;
+
+    @Override
+    public List<Task> load() throws TinManException {
+        ArrayList<Task> tasks = new ArrayList<>(records.size());
+        for (String record : records) {
+            tasks.add(Saveable.fromSaveFormat(record));
+        }
+        return tasks;
+    }
+
+    @Override
+    public void save(List<Task> tasks) {
+        records.clear();
+        for (Task task : tasks) {
+            records.add(task.toSaveFormat());
+        }
+        saveCount++;
+    }
+
+    public long getSaveCount() {
+        return saveCount;
+    }
+}
@@ -0,0 +1,82 @@
+package tinman.storage;
+
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+
+/**
+ * Wraps a storage backend and records the latency, volume and failures of every load and save
+ * in a {@link StorageStats}.
+ */
+public class InstrumentedStorage implements StorageBackend {
+    private final StorageBackend backend;
+    private final StorageStats stats = new StorageStats();
+
+    /**
+     * Constructs an instrumented wrapper around the given backend.
+     *
+     * @param backend The backend that does the actual loading and saving.
+     */
+    public InstrumentedStorage(StorageBackend backend) {
+        assert backend != null : "Backend cannot be null";
+        this.backend = backend;
+    }
+
+    public StorageStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public List<Task> load() throws TinManException {
+        long bytesBefore = backend.getBytesRead();
+        long startTime = System.nanoTime();
+        try {
+            List<Task> tasks = backend.load();
+            stats.recordLoad(System.nanoTime() - startTime, backend.getBytesRead() - bytesBefore, tasks.size());
+            return tasks;
+        } catch (TinManException e) {
+            stats.recordLoadFailure(e instanceof TinManException.CorruptedDataException);
+            throw e;
+        }
+    }
+
+    @Override
+    public void save(List<Task> tasks) throws TinManException {
+        long bytesBefore = backend.getBytesWritten();
+        long startTime = System.nanoTime();
+        try {
+            backend.save(tasks);
+            stats.recordSave(System.nanoTime() - startTime, backend.getBytesWritten() - bytesBefore, tasks.size());
+        } catch (TinManException e) {
+            stats.recordSaveFailure();
+            throw e;
+        }
+    }
+
+    @Override
+    public void attach(TaskList tasks) {
+        backend.attach(tasks);
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return backend.isIncremental();
+    }
+
+    @Override
+    public long getNextTaskId() {
+        return backend.getNextTaskId();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return backend.getBytesRead();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return backend.getBytesWritten();
+    }
+}
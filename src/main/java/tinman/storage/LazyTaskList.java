@@ -0,0 +1,285 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * A list of tasks loaded from the text data file that only parses each task the first time it is read.
+ *
+ * Loading keeps the raw bytes of the file and the position of each record in it, so startup costs a
+ * single scan for line breaks rather than building every task and parsing every date. A record that
+ * turns out to be corrupted is therefore only reported when it is first used, as a
+ * {@link CorruptedRecordException}.
+ *
+ * Reads are synchronized, since parsing a record on first access changes the list, so a list shared
+ * by a {@link tinman.task.TaskListSnapshot} can be read from several threads.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int NOT_FROM_FILE = -1;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte ID_PREFIX = (byte) Saveable.ID_PREFIX.charAt(0);
+    /** Digits that always fit in a long. */
+    private static final int MAX_ID_DIGITS = 18;
+    private static final byte[] SEPARATOR = Saveable.SAVE_FORMAT_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_ID_HEADER_PREFIX = (Saveable.NEXT_ID_CODE + Saveable.SAVE_FORMAT_SEPARATOR)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] data;
+    /** Start of each record in {@code data}, or {@link #NOT_FROM_FILE} once it has been replaced. */
+    private int[] starts;
+    private int[] ends;
+    private int[] lineNumbers;
+    private Task[] tasks;
+    private int size;
+    private int hydratedCount;
+
+    private LazyTaskList(byte[] data, int capacity) {
+        this.data = data;
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.lineNumbers = new int[capacity];
+        this.tasks = new Task[capacity];
+    }
+
+    /**
+     * Reads the given text data file and records where each task is, without parsing any of them.
+     *
+     * @param path The data file to load.
+     * @return The tasks in the file, each parsed on first access.
+     * @throws TinManException If the file cannot be read.
+     */
+    public static LazyTaskList load(Path path) throws TinManException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new TinManException("Error loading tasks from file: " + e.getMessage());
+        }
+
+        LazyTaskList list = new LazyTaskList(data, 16);
+        int lineStart = 0;
+        int lineNumber = 0;
+        for (int i = 0; i <= data.length; i++) {
+            if (i == data.length || data[i] == NEWLINE) {
+                lineNumber++;
+                int lineEnd = i > lineStart && data[i - 1] == CARRIAGE_RETURN ? i - 1 : i;
+                if (!isBlank(data, lineStart, lineEnd) && !isNextIdHeader(data, lineStart, lineEnd)) {
+                    list.appendRecord(lineStart, lineEnd, lineNumber);
+                }
+                lineStart = i + 1;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns the task at the given index, parsing it from its record if this is the first access.
+     *
+     * @throws CorruptedRecordException If the record is not a valid task.
+     */
+    @Override
+    public synchronized Task get(int index) {
+        checkIndex(index, size);
+        Task task = tasks[index];
+        if (task == null) {
+            task = hydrate(index);
+            tasks[index] = task;
+            hydratedCount++;
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        Task previous = get(index);
+        tasks[index] = task;
+        starts[index] = NOT_FROM_FILE;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        tasks[index] = task;
+        starts[index] = NOT_FROM_FILE;
+        hydratedCount++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        tasks[size] = null;
+        hydratedCount--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of this list that can be changed without affecting this one. The raw bytes of the
+     * file are shared, as neither list ever changes them, and so are the tasks parsed so far.
+     *
+     * @return The copy.
+     */
+    public synchronized LazyTaskList copy() {
+        LazyTaskList copy = new LazyTaskList(data, 0);
+        copy.starts = Arrays.copyOf(starts, size);
+        copy.ends = Arrays.copyOf(ends, size);
+        copy.lineNumbers = Arrays.copyOf(lineNumbers, size);
+        copy.tasks = Arrays.copyOf(tasks, size);
+        copy.size = size;
+        copy.hydratedCount = hydratedCount;
+        return copy;
+    }
+
+    /**
+     * Returns how many tasks have been parsed or added so far.
+     *
+     * @return Number of tasks that exist as objects rather than raw records.
+     */
+    public int getHydratedCount() {
+        return hydratedCount;
+    }
+
+    /**
+     * Returns the save format of the task at the given index without parsing it if it has not been read yet.
+     *
+     * @param index Index of the task.
+     * @return The task in the text save format.
+     */
+    public synchronized String getSaveFormat(int index) {
+        checkIndex(index, size);
+        if (tasks[index] != null) {
+            return tasks[index].toSaveFormat();
+        }
+        return new String(data, starts[index], ends[index] - starts[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the ID of the task at the given index without parsing the task if it has not been read yet.
+     * A record whose ID field is not a plain positive number is parsed in full, so that it is reported
+     * as corrupted in the same way as by {@link #get(int)}.
+     *
+     * @param index Index of the task.
+     * @return The ID of the task, or {@link Task#NO_ID} if its record has none.
+     * @throws CorruptedRecordException If the record is not a valid task.
+     */
+    public synchronized long getId(int index) {
+        checkIndex(index, size);
+        if (tasks[index] != null) {
+            return tasks[index].getId();
+        }
+        int start = starts[index];
+        int end = ends[index];
+        if (start == end || data[start] != ID_PREFIX) {
+            return Task.NO_ID;
+        }
+        long id = 0;
+        int i = start + 1;
+        while (i < end && i - start <= MAX_ID_DIGITS && data[i] >= '0' && data[i] <= '9') {
+            id = id * 10 + (data[i] - '0');
+            i++;
+        }
+        if (id > Task.NO_ID && startsWith(data, i, end, SEPARATOR)) {
+            return id;
+        }
+        return get(index).getId();
+    }
+
+    private Task hydrate(int index) {
+        assert starts[index] != NOT_FROM_FILE : "Tasks not from the file are never unparsed";
+        try {
+            return Saveable.fromSaveFormat(getSaveFormat(index));
+        } catch (TinManException e) {
+            throw new CorruptedRecordException(
+                    "Data file is corrupted at line " + lineNumbers[index] + ": " + e.getMessage());
+        }
+    }
+
+    private void appendRecord(int start, int end, int lineNumber) {
+        ensureCapacity(size + 1);
+        starts[size] = start;
+        ends[size] = end;
+        lineNumbers[size] = lineNumber;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= tasks.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, tasks.length * 2);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        lineNumbers = Arrays.copyOf(lineNumbers, newCapacity);
+        tasks = Arrays.copyOf(tasks, newCapacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(starts, from, starts, to, length);
+        System.arraycopy(ends, from, ends, to, length);
+        System.arraycopy(lineNumbers, from, lineNumbers, to, length);
+        System.arraycopy(tasks, from, tasks, to, length);
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    private static boolean isNextIdHeader(byte[] data, int start, int end) {
+        return startsWith(data, start, end, NEXT_ID_HEADER_PREFIX);
+    }
+
+    private static boolean startsWith(byte[] data, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(byte[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((data[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Signals that a record in the data file could not be parsed when it was first used.
+     */
+    public static class CorruptedRecordException extends RuntimeException {
+        public CorruptedRecordException(String message) {
+            super(message);
+        }
+    }
+}
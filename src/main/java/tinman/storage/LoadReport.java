@@ -0,0 +1,53 @@
+package tinman.storage;
+
+/**
+ * Describes how much data the most recent load read and how fast it was read.
+ */
+public class LoadReport {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    private final int recordCount;
+    private final long byteCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a report for a completed load.
+     *
+     * @param recordCount Number of tasks loaded.
+     * @param byteCount Size of the data read, in bytes.
+     * @param elapsedNanos Time taken by the load, in nanoseconds.
+     */
+    public LoadReport(int recordCount, long byteCount, long elapsedNanos) {
+        this.recordCount = recordCount;
+        this.byteCount = byteCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the load throughput in records per second.
+     *
+     * @return Records loaded per second, or 0 if nothing was timed.
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : recordCount * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %d tasks (%d bytes) in %.1f ms (%.0f records/s)",
+                recordCount, byteCount, elapsedNanos / NANOS_PER_MILLISECOND, getRecordsPerSecond());
+    }
+}
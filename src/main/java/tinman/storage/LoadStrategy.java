@@ -0,0 +1,31 @@
+package tinman.storage;
+
+/**
+ * Represents the ways {@link Storage} can read the text data file.
+ */
+public enum LoadStrategy {
+    /** Reads the whole file into a list of lines and parses them one by one. */
+    LINES,
+    /** Memory-maps the file and decodes records straight from its bytes. */
+    MAPPED,
+    /** Parses chunks of the file in parallel on a fork-join pool. */
+    PARALLEL,
+    /** Keeps the raw records and only parses each task the first time it is used. */
+    LAZY;
+
+    /**
+     * Parses a load strategy name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultStrategy The strategy to return if the name is not recognised.
+     * @return The matching strategy, or the default if there is none.
+     */
+    public static LoadStrategy parse(String name, LoadStrategy defaultStrategy) {
+        for (LoadStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(name.trim())) {
+                return strategy;
+            }
+        }
+        return defaultStrategy;
+    }
+}
@@ -0,0 +1,166 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Loads tasks in the text save format by memory-mapping the data file and decoding
+ * each record straight from its bytes, without building an intermediate list of lines
+ * or splitting with a regular expression.
+ *
+ * Files larger than a single mapping are read through a sliding window that always
+ * starts on a record boundary.
+ */
+public class MappedTaskLoader {
+    private static final long DEFAULT_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final int INITIAL_RECORD_BUFFER_SIZE = 256;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte[] SEPARATOR = Saveable.SAVE_FORMAT_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+
+    private final long windowSize;
+    private final ArrayList<String> fields = new ArrayList<>();
+    private byte[] recordBuffer = new byte[INITIAL_RECORD_BUFFER_SIZE];
+
+    /**
+     * Constructs a loader that maps as much of the file at once as the platform allows.
+     */
+    public MappedTaskLoader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a loader that maps at most the given number of bytes at a time.
+     *
+     * @param windowSize Maximum size of each mapping in bytes.
+     */
+    MappedTaskLoader(long windowSize) {
+        assert windowSize > 0 && windowSize <= DEFAULT_WINDOW_SIZE : "Window size must fit in a single mapping";
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Loads all tasks from the given data file.
+     *
+     * @param path The data file to load.
+     * @return Tasks in the order they appear in the file.
+     * @throws TinManException If the file cannot be read or a record is invalid.
+     */
+    public ArrayList<Task> load(Path path) throws TinManException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long windowStart = 0;
+            int lineNumber = 0;
+
+            while (windowStart < fileSize) {
+                long length = Math.min(windowSize, fileSize - windowStart);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+                boolean isLastWindow = windowStart + length == fileSize;
+
+                int lineStart = 0;
+                int limit = window.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (window.get(i) == NEWLINE) {
+                        decodeLine(window, lineStart, i, ++lineNumber, tasks);
+                        lineStart = i + 1;
+                    }
+                }
+
+                if (isLastWindow) {
+                    if (lineStart < limit) {
+                        decodeLine(window, lineStart, limit, ++lineNumber, tasks);
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new TinManException.CorruptedDataException(
+                            "Data file is corrupted: line " + (lineNumber + 1) + " is too long");
+                }
+                // Carry the unfinished line over into the next window
+                windowStart += lineStart;
+            }
+        } catch (IOException e) {
+            throw new TinManException("Error loading tasks from file: " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    private void decodeLine(MappedByteBuffer window, int start, int end, int lineNumber, ArrayList<Task> tasks)
+            throws TinManException {
+        if (end > start && window.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        int length = end - start;
+        if (recordBuffer.length < length) {
+            recordBuffer = new byte[Math.max(length, recordBuffer.length * 2)];
+        }
+        window.get(start, recordBuffer, 0, length);
+        if (isBlank(recordBuffer, length)) {
+            return;
+        }
+
+        String[] parts = splitFields(recordBuffer, length);
+        if (parts.length > 0 && parts[0].equals(Saveable.NEXT_ID_CODE)) {
+            return;
+        }
+        try {
+            tasks.add(Saveable.fromSaveFormatParts(parts));
+        } catch (TinManException e) {
+            throw new TinManException.CorruptedDataException(
+                    "Data file is corrupted at line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Splits a record on the save format separator, matching {@code String.split(" \\| ")}:
+     * fields are taken left to right and trailing empty fields are dropped.
+     */
+    private String[] splitFields(byte[] record, int length) {
+        fields.clear();
+        int fieldStart = 0;
+        int i = 0;
+        while (i <= length - SEPARATOR.length) {
+            if (isSeparatorAt(record, i)) {
+                fields.add(new String(record, fieldStart, i - fieldStart, StandardCharsets.UTF_8));
+                i += SEPARATOR.length;
+                fieldStart = i;
+            } else {
+                i++;
+            }
+        }
+        fields.add(new String(record, fieldStart, length - fieldStart, StandardCharsets.UTF_8));
+
+        int fieldCount = fields.size();
+        while (fieldCount > 0 && fields.get(fieldCount - 1).isEmpty()) {
+            fieldCount--;
+        }
+        return fields.subList(0, fieldCount).toArray(new String[0]);
+    }
+
+    private static boolean isSeparatorAt(byte[] record, int index) {
+        for (int j = 0; j < SEPARATOR.length; j++) {
+            if (record[index + j] != SEPARATOR[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(byte[] record, int length) {
+        for (int i = 0; i < length; i++) {
+            if ((record[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+package tinman.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+/**
+ * A file of fixed-size pages with a crash-safe header, used by {@link PagedTaskStore}.
+ *
+ * The header is kept in two slots that are written alternately, each with a sequence number and
+ * checksum, so a torn header write leaves the previous one readable. Pages are never modified while
+ * the current header can reach them: callers write changes to newly allocated pages, then
+ * {@link #commit} points the header at the new root. Pages given up by a transaction only become
+ * reusable once that commit is done.
+ */
+class PageFile implements Closeable {
+    static final int PAGE_SIZE = 4096;
+    static final int NO_PAGE = -1;
+    private static final int MAGIC = 0x54494E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SLOTS = 2;
+    private static final int HEADER_CHECKSUMMED_BYTES = 32;
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private long sequence = 0;
+    private int rootPage = NO_PAGE;
+    private long nextKey = 0;
+    private int pageCount = HEADER_SLOTS;
+    private final BitSet freePages = new BitSet();
+    private final ArrayList<Integer> pagesFreedOnCommit = new ArrayList<>();
+    private long pageReadCount = 0;
+    private long pageWriteCount = 0;
+
+    private PageFile(FileChannel channel, Durability durability) {
+        this.channel = channel;
+        this.durability = durability;
+    }
+
+    /**
+     * Opens the page file at the given path, creating an empty one if it does not exist.
+     * Until {@link #setReachablePages} is called, no page is considered free.
+     *
+     * @param path Location of the page file.
+     * @param durability How far commits are forced to disk.
+     * @return The opened page file.
+     * @throws IOException If the file cannot be opened or neither header slot is valid.
+     */
+    static PageFile open(Path path, Durability durability) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        PageFile file = new PageFile(channel, durability);
+        try {
+            if (channel.size() > 0) {
+                file.readHeader();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return file;
+    }
+
+    int getRootPage() {
+        return rootPage;
+    }
+
+    long getNextKey() {
+        return nextKey;
+    }
+
+    long getPageReadCount() {
+        return pageReadCount;
+    }
+
+    long getPageWriteCount() {
+        return pageWriteCount;
+    }
+
+    /**
+     * Reads a whole page.
+     *
+     * @param page Number of the page to read.
+     * @return A buffer positioned at the start of the page.
+     * @throws IOException If the page cannot be read.
+     */
+    ByteBuffer read(int page) throws IOException {
+        assert page >= HEADER_SLOTS && page < pageCount : "Page " + page + " is out of range";
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        readFully(buffer, (long) page * PAGE_SIZE);
+        pageReadCount++;
+        return buffer.flip();
+    }
+
+    /**
+     * Writes a whole page. The page must have been allocated since the last commit.
+     *
+     * @param page Number of the page to write.
+     * @param contents Page contents, at most {@link #PAGE_SIZE} bytes.
+     * @throws IOException If the page cannot be written.
+     */
+    void write(int page, ByteBuffer contents) throws IOException {
+        assert contents.remaining() <= PAGE_SIZE : "Page contents are too large";
+        long position = (long) page * PAGE_SIZE;
+        while (contents.hasRemaining()) {
+            position += channel.write(contents, position);
+        }
+        pageWriteCount++;
+    }
+
+    /**
+     * Returns a page that no committed state refers to, growing the file if there is none.
+     *
+     * @return Number of the allocated page.
+     */
+    int allocate() {
+        int page = freePages.nextSetBit(0);
+        if (page < 0) {
+            return pageCount++;
+        }
+        freePages.clear(page);
+        return page;
+    }
+
+    /**
+     * Gives up a page that the committed state still refers to; it becomes reusable after the next commit.
+     *
+     * @param page Number of the page to free.
+     */
+    void freeOnCommit(int page) {
+        pagesFreedOnCommit.add(page);
+    }
+
+    /**
+     * Gives up a page allocated since the last commit, making it reusable straight away.
+     *
+     * @param page Number of the page to free.
+     */
+    void freeNow(int page) {
+        freePages.set(page);
+    }
+
+    /**
+     * Marks every page not reachable from the committed root as free.
+     *
+     * @param reachable The pages reachable from the committed root.
+     */
+    void setReachablePages(BitSet reachable) {
+        freePages.clear();
+        freePages.set(HEADER_SLOTS, pageCount);
+        freePages.andNot(reachable);
+        pagesFreedOnCommit.clear();
+    }
+
+    /**
+     * Makes all pages written since the last commit durable and switches the header to the new root.
+     *
+     * @param newRootPage Root page of the new state, or {@link #NO_PAGE} if it is empty.
+     * @param newNextKey Next key to hand out in the new state.
+     * @throws IOException If the pages or header cannot be written.
+     */
+    void commit(int newRootPage, long newNextKey) throws IOException {
+        if (durability != Durability.NONE) {
+            channel.force(false);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_CHECKSUMMED_BYTES + Long.BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(sequence + 1).putInt(newRootPage).putLong(newNextKey)
+                .putInt(pageCount);
+        header.putLong(checksum(header.array()));
+        write((int) ((sequence + 1) % HEADER_SLOTS), header.flip());
+        if (durability != Durability.NONE) {
+            channel.force(false);
+        }
+
+        sequence++;
+        rootPage = newRootPage;
+        nextKey = newNextKey;
+        for (int page : pagesFreedOnCommit) {
+            freePages.set(page);
+        }
+        pagesFreedOnCommit.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readHeader() throws IOException {
+        boolean isFound = false;
+        boolean hasMagic = false;
+        for (int slot = 0; slot < HEADER_SLOTS; slot++) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_CHECKSUMMED_BYTES + Long.BYTES);
+            readFully(header, (long) slot * PAGE_SIZE);
+            header.flip();
+            if (header.remaining() < header.capacity() || header.getInt() != MAGIC) {
+                continue;
+            }
+            hasMagic = true;
+            if (header.getInt() != VERSION) {
+                throw new IOException("Task store was written by a newer version of TinMan");
+            }
+            long slotSequence = header.getLong();
+            int slotRoot = header.getInt();
+            long slotNextKey = header.getLong();
+            int slotPageCount = header.getInt();
+            if (header.getLong() != checksum(header.array()) || (isFound && slotSequence <= sequence)) {
+                continue;
+            }
+            isFound = true;
+            sequence = slotSequence;
+            rootPage = slotRoot;
+            nextKey = slotNextKey;
+            pageCount = slotPageCount;
+        }
+        // A file without any header is left over from a crash before the first commit
+        if (!isFound && hasMagic) {
+            throw new IOException("Task store header is corrupted");
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+
+    private static long checksum(byte[] header) {
+        CRC32 crc = new CRC32();
+        crc.update(header, 0, HEADER_CHECKSUMMED_BYTES);
+        return crc.getValue();
+    }
+}
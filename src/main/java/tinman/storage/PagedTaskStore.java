@@ -0,0 +1,773 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.TaskListListener;
+
+/**
+ * Stores tasks in an embedded copy-on-write B-tree, keyed by their permanent {@link Task#getId() ID}.
+ *
+ * Each save applies the adds, updates and deletes seen since the last save. Only the pages on the path
+ * from the root to each changed entry are rewritten, to freshly allocated pages, and the tree is switched
+ * over in one header write; see {@link PageFile}. IDs are handed out in increasing order, so key order
+ * is list order and new tasks always land in the rightmost leaf, which is split so the left page stays
+ * full. Pages emptied by deletes are dropped, but pages left underfull are not merged. A single task can
+ * be {@link #getTask(long) looked up} by ID without loading the rest.
+ *
+ * Task text longer than {@link #MAX_INLINE_VALUE_BYTES} is kept in a chain of overflow pages.
+ */
+public class PagedTaskStore implements StorageBackend, TaskListListener {
+    static final String FILE_SUFFIX = ".db";
+    private static final int MAX_INLINE_VALUE_BYTES = PageFile.PAGE_SIZE / 4;
+    private static final int NODE_CACHE_SIZE = 1024;
+    private static final byte LEAF_PAGE = 1;
+    private static final byte INTERNAL_PAGE = 2;
+    private static final byte OVERFLOW_PAGE = 3;
+    private static final int NODE_HEADER_BYTES = Byte.BYTES + Short.BYTES;
+    private static final int OVERFLOW_HEADER_BYTES = Byte.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int OVERFLOW_CAPACITY = PageFile.PAGE_SIZE - OVERFLOW_HEADER_BYTES;
+
+    private final Path path;
+    private final Durability durability;
+    private final StorageBackend legacyStorage;
+    private PageFile file;
+
+    /** Tasks added or updated since the last save, or null for tasks deleted since then, by ID. */
+    private final TreeMap<Long, Task> pendingChanges = new TreeMap<>();
+    private int taskCount = 0;
+    /** One past the highest ID ever stored, which the header keeps even after that task is deleted. */
+    private long nextKey = Task.NO_ID + 1;
+    private boolean isFullRewriteNeeded = true;
+
+    private int rootPage = PageFile.NO_PAGE;
+    private final HashMap<Integer, Node> transactionNodes = new HashMap<>();
+    private final LinkedHashMap<Integer, Node> nodeCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Node> eldest) {
+            return size() > NODE_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Constructs a store kept in a {@code .db} file next to the data file.
+     *
+     * @param dataPath Path of the data file the store replaces.
+     * @param durability How far each save is forced to disk.
+     * @param legacyStorage Storage to load tasks from if the store has not been created yet.
+     */
+    public PagedTaskStore(String dataPath, Durability durability, StorageBackend legacyStorage) {
+        this.path = Paths.get(dataPath + FILE_SUFFIX);
+        this.durability = durability;
+        this.legacyStorage = legacyStorage;
+    }
+
+    @Override
+    public void attach(TaskList tasks) {
+        tasks.addListener(this);
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return true;
+    }
+
+    /**
+     * Loads all tasks in ID order. If the store does not exist yet, loads them from the legacy
+     * storage instead and writes them all to the store on the next save. So does a store written
+     * before tasks were keyed by ID.
+     *
+     * @return The stored tasks.
+     * @throws TinManException If the store cannot be read or is corrupted.
+     */
+    @Override
+    public List<Task> load() throws TinManException {
+        pendingChanges.clear();
+        List<Task> tasks;
+        if (!Files.exists(path)) {
+            tasks = legacyStorage.load();
+            nextKey = Math.max(Task.NO_ID + 1, legacyStorage.getNextTaskId());
+            isFullRewriteNeeded = true;
+        } else {
+            ArrayList<Task> storedTasks = new ArrayList<>();
+            isFullRewriteNeeded = false;
+            try {
+                openFile();
+                rootPage = file.getRootPage();
+                nextKey = file.getNextKey();
+                BitSet reachable = new BitSet();
+                if (rootPage != PageFile.NO_PAGE) {
+                    collectEntries(rootPage, reachable, storedTasks);
+                }
+                file.setReachablePages(reachable);
+            } catch (IOException | RuntimeException e) {
+                throw new TinManException("Error loading task store: " + e.getMessage());
+            }
+            if (isFullRewriteNeeded) {
+                // The header of a tree with positional keys counts keys, not IDs
+                nextKey = Task.NO_ID + 1;
+            }
+            tasks = storedTasks;
+        }
+
+        taskCount = tasks.size();
+        if (isFullRewriteNeeded) {
+            // Until the next save rewrites the tree, lookups by ID are answered from the loaded tasks
+            numberTasksWithoutIds(tasks);
+            for (Task task : tasks) {
+                pendingChanges.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns one past the highest ID ever stored, which the header keeps after that task is deleted.
+     *
+     * @return The next free task ID.
+     */
+    @Override
+    public long getNextTaskId() {
+        return nextKey;
+    }
+
+    /**
+     * Returns the task with the given ID, including changes not saved yet. Only the pages on the path
+     * to the task are read, so the store need not have been loaded first.
+     *
+     * @param id Permanent ID of the task.
+     * @return The task with the ID.
+     * @throws TinManException If no task has the ID, or the store cannot be read.
+     */
+    public Task getTask(long id) throws TinManException {
+        Task task = null;
+        if (pendingChanges.containsKey(id)) {
+            task = pendingChanges.get(id);
+        } else if (Files.exists(path)) {
+            try {
+                openFile();
+                task = find(id);
+            } catch (IOException | RuntimeException e) {
+                throw new TinManException("Error reading task store: " + e.getMessage());
+            }
+        }
+        if (task == null) {
+            throw new TinManException.TaskNotFoundException();
+        }
+        return task;
+    }
+
+    /**
+     * Writes the changes made since the last save in a single transaction.
+     *
+     * @param tasks The full task list, written in full on the first save after a migration.
+     * @throws TinManException If the store cannot be written.
+     */
+    @Override
+    public void save(List<Task> tasks) throws TinManException {
+        try {
+            openFile();
+            if (isFullRewriteNeeded || tasks.size() != taskCount) {
+                rewriteAll(tasks);
+            } else if (!pendingChanges.isEmpty()) {
+                for (Map.Entry<Long, Task> change : pendingChanges.entrySet()) {
+                    if (change.getValue() == null) {
+                        delete(change.getKey());
+                    } else {
+                        put(change.getKey(), change.getValue().toSaveFormat().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                commit();
+            }
+            pendingChanges.clear();
+        } catch (IOException e) {
+            throw new TinManException("Error saving task store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many pages have been read from disk since the store was opened.
+     *
+     * @return Number of page reads.
+     */
+    public long getPageReadCount() {
+        return file == null ? 0 : file.getPageReadCount();
+    }
+
+    /**
+     * Returns how many pages, including header slots, have been written since the store was opened.
+     *
+     * @return Number of page writes.
+     */
+    public long getPageWriteCount() {
+        return file == null ? 0 : file.getPageWriteCount();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return getPageReadCount() * PageFile.PAGE_SIZE;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return getPageWriteCount() * PageFile.PAGE_SIZE;
+    }
+
+    /**
+     * Closes the underlying file. The store reopens it if it is used again.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+            nodeCache.clear();
+        }
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        assert task.getId() != Task.NO_ID : "Tasks are given an ID before they are added";
+        taskCount++;
+        nextKey = Math.max(nextKey, task.getId() + 1);
+        pendingChanges.put(task.getId(), task);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        taskCount--;
+        pendingChanges.put(task.getId(), null);
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        pendingChanges.put(task.getId(), task);
+    }
+
+    private void openFile() throws IOException {
+        if (file == null) {
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            file = PageFile.open(path, durability);
+        }
+    }
+
+    /**
+     * Replaces the whole tree with the given tasks, freeing every page of the old tree.
+     */
+    private void rewriteAll(List<Task> tasks) throws IOException {
+        if (rootPage != PageFile.NO_PAGE) {
+            freeSubtree(rootPage);
+        }
+        rootPage = PageFile.NO_PAGE;
+        for (Task task : tasks) {
+            assert task.getId() != Task.NO_ID : "Loaded tasks are numbered before they are stored";
+            nextKey = Math.max(nextKey, task.getId() + 1);
+            put(task.getId(), task.toSaveFormat().getBytes(StandardCharsets.UTF_8));
+        }
+        taskCount = tasks.size();
+        commit();
+        isFullRewriteNeeded = false;
+    }
+
+    /**
+     * Numbers the tasks loaded from data saved before tasks had IDs in list order, after the highest
+     * existing ID, the same way {@link TaskList} would, since the tree needs an ID for every task.
+     */
+    private void numberTasksWithoutIds(List<Task> tasks) {
+        for (Task task : tasks) {
+            nextKey = Math.max(nextKey, task.getId() + 1);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task.getId() == Task.NO_ID) {
+                task.setId(nextKey++);
+                tasks.set(i, task);
+            }
+        }
+    }
+
+    private void commit() throws IOException {
+        for (Map.Entry<Integer, Node> entry : transactionNodes.entrySet()) {
+            file.write(entry.getKey(), entry.getValue().serialize());
+            nodeCache.put(entry.getKey(), entry.getValue());
+        }
+        transactionNodes.clear();
+        file.commit(rootPage, nextKey);
+    }
+
+    private void put(long key, byte[] value) throws IOException {
+        Value stored = storeValue(value);
+        if (rootPage == PageFile.NO_PAGE) {
+            rootPage = allocateNode(Node.leaf());
+        }
+        Split split = insert(rootPage, key, stored);
+        rootPage = split.page;
+        if (split.rightPage != PageFile.NO_PAGE) {
+            Node root = Node.internal();
+            root.children.add(split.page);
+            root.keys.add(split.separator);
+            root.children.add(split.rightPage);
+            rootPage = allocateNode(root);
+        }
+    }
+
+    private void delete(long key) throws IOException {
+        if (rootPage == PageFile.NO_PAGE) {
+            return;
+        }
+        rootPage = remove(rootPage, key);
+        // Collapse internal roots left with a single child
+        while (rootPage != PageFile.NO_PAGE) {
+            Node root = readNode(rootPage);
+            if (root.isLeaf || root.children.size() > 1) {
+                break;
+            }
+            int onlyChild = root.children.get(0);
+            freeNode(rootPage);
+            rootPage = onlyChild;
+        }
+    }
+
+    private Split insert(int page, long key, Value value) throws IOException {
+        int copy = copyOnWrite(page);
+        Node node = transactionNodes.get(copy);
+        int position = Collections.binarySearch(node.keys, key);
+        boolean isAppend;
+
+        if (node.isLeaf) {
+            if (position >= 0) {
+                freeValue(node.values.get(position));
+                node.replaceEntry(position, value);
+                isAppend = false;
+            } else {
+                position = -position - 1;
+                node.insertEntry(position, key, value);
+                isAppend = position == node.keys.size() - 1;
+            }
+        } else {
+            int child = childIndex(position);
+            Split split = insert(node.children.get(child), key, value);
+            node.children.set(child, split.page);
+            if (split.rightPage == PageFile.NO_PAGE) {
+                return new Split(copy);
+            }
+            node.keys.add(child, split.separator);
+            node.children.add(child + 1, split.rightPage);
+            isAppend = child + 1 == node.children.size() - 1;
+        }
+
+        if (node.getSerializedSize() <= PageFile.PAGE_SIZE) {
+            return new Split(copy);
+        }
+        return splitNode(copy, node, isAppend);
+    }
+
+    /**
+     * Splits an overfull node in two. After an append, the new right node only takes the last entry
+     * so that pages filled by appends stay full.
+     */
+    private Split splitNode(int page, Node node, boolean isAppend) {
+        Node right = node.isLeaf ? Node.leaf() : Node.internal();
+        if (node.isLeaf) {
+            int splitAt = isAppend ? node.keys.size() - 1 : node.getHalfwayEntry();
+            long separator = node.keys.get(splitAt);
+            while (node.keys.size() > splitAt) {
+                right.insertEntry(right.keys.size(), node.keys.get(splitAt), node.values.get(splitAt));
+                node.removeEntry(splitAt);
+            }
+            return new Split(page, separator, allocateNode(right));
+        }
+
+        int splitAt = isAppend ? node.keys.size() - 1 : node.keys.size() / 2;
+        long separator = node.keys.get(splitAt);
+        right.children.addAll(node.children.subList(splitAt + 1, node.children.size()));
+        right.keys.addAll(node.keys.subList(splitAt + 1, node.keys.size()));
+        node.children.subList(splitAt + 1, node.children.size()).clear();
+        node.keys.subList(splitAt, node.keys.size()).clear();
+        return new Split(page, separator, allocateNode(right));
+    }
+
+    /**
+     * Removes a key from the subtree rooted at the given page.
+     *
+     * @return The page now holding the subtree, or {@link PageFile#NO_PAGE} if it became empty.
+     */
+    private int remove(int page, long key) throws IOException {
+        Node original = readNode(page);
+        int position = Collections.binarySearch(original.keys, key);
+        if (original.isLeaf && position < 0) {
+            return page;
+        }
+
+        int copy = copyOnWrite(page);
+        Node node = transactionNodes.get(copy);
+        if (node.isLeaf) {
+            freeValue(node.values.get(position));
+            node.removeEntry(position);
+            if (node.keys.isEmpty()) {
+                freeNode(copy);
+                return PageFile.NO_PAGE;
+            }
+            return copy;
+        }
+
+        int child = childIndex(position);
+        int newChild = remove(node.children.get(child), key);
+        if (newChild != PageFile.NO_PAGE) {
+            node.children.set(child, newChild);
+            return copy;
+        }
+        node.children.remove(child);
+        if (node.children.isEmpty()) {
+            freeNode(copy);
+            return PageFile.NO_PAGE;
+        }
+        node.keys.remove(child > 0 ? child - 1 : 0);
+        return copy;
+    }
+
+    /**
+     * Follows the path from the last committed root to the leaf that would hold the given ID.
+     *
+     * @return The stored task, or null if there is none with the ID.
+     */
+    private Task find(long id) throws IOException, TinManException {
+        if (file.getRootPage() == PageFile.NO_PAGE) {
+            return null;
+        }
+        Node node = readNode(file.getRootPage());
+        while (!node.isLeaf) {
+            node = readNode(node.children.get(childIndex(Collections.binarySearch(node.keys, id))));
+        }
+        int position = Collections.binarySearch(node.keys, id);
+        if (position < 0) {
+            return null;
+        }
+        Task task = decode(id, readValue(node.values.get(position), new BitSet()));
+        // A tree written before tasks were keyed by ID may hold a different task under the key
+        return task.getId() == id ? task : null;
+    }
+
+    private static Task decode(long key, byte[] value) throws TinManException {
+        String record = new String(value, StandardCharsets.UTF_8);
+        try {
+            return Saveable.fromSaveFormat(record);
+        } catch (TinManException e) {
+            throw new TinManException.CorruptedDataException(
+                    "Task store is corrupted at key " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the child to follow for a key, given the result of searching the node's separator keys.
+     */
+    private static int childIndex(int searchResult) {
+        return searchResult >= 0 ? searchResult + 1 : -searchResult - 1;
+    }
+
+    /**
+     * Returns a page holding a writable copy of the given node, copying it if this transaction has not yet.
+     */
+    private int copyOnWrite(int page) throws IOException {
+        if (transactionNodes.containsKey(page)) {
+            return page;
+        }
+        Node copy = readNode(page).copy();
+        file.freeOnCommit(page);
+        return allocateNode(copy);
+    }
+
+    private int allocateNode(Node node) {
+        int page = file.allocate();
+        transactionNodes.put(page, node);
+        nodeCache.remove(page);
+        return page;
+    }
+
+    private void freeNode(int page) {
+        if (transactionNodes.remove(page) != null) {
+            file.freeNow(page);
+        } else {
+            file.freeOnCommit(page);
+        }
+    }
+
+    private Node readNode(int page) throws IOException {
+        Node node = transactionNodes.get(page);
+        if (node == null) {
+            node = nodeCache.get(page);
+        }
+        if (node == null) {
+            node = Node.deserialize(file.read(page));
+            nodeCache.put(page, node);
+        }
+        return node;
+    }
+
+    private Value storeValue(byte[] bytes) throws IOException {
+        if (bytes.length <= MAX_INLINE_VALUE_BYTES) {
+            return new Value(bytes);
+        }
+
+        // Write the chain back to front so each page can point at the one after it
+        int nextPage = PageFile.NO_PAGE;
+        for (int chunk = (bytes.length - 1) / OVERFLOW_CAPACITY; chunk >= 0; chunk--) {
+            int start = chunk * OVERFLOW_CAPACITY;
+            int length = Math.min(OVERFLOW_CAPACITY, bytes.length - start);
+            int page = file.allocate();
+            ByteBuffer buffer = ByteBuffer.allocate(PageFile.PAGE_SIZE);
+            buffer.put(OVERFLOW_PAGE).putInt(nextPage).putShort((short) length).put(bytes, start, length);
+            file.write(page, buffer.flip());
+            nodeCache.remove(page);
+            nextPage = page;
+        }
+        return new Value(nextPage, bytes.length);
+    }
+
+    private byte[] readValue(Value value, BitSet reachable) throws IOException {
+        if (value.overflowPage == PageFile.NO_PAGE) {
+            return value.bytes;
+        }
+        byte[] bytes = new byte[value.length];
+        int offset = 0;
+        for (int page = value.overflowPage; page != PageFile.NO_PAGE; ) {
+            reachable.set(page);
+            ByteBuffer buffer = file.read(page);
+            if (buffer.get() != OVERFLOW_PAGE) {
+                throw new IOException("page " + page + " is not an overflow page");
+            }
+            page = buffer.getInt();
+            int length = buffer.getShort();
+            buffer.get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    private void freeValue(Value value) throws IOException {
+        for (int page = value.overflowPage; page != PageFile.NO_PAGE; ) {
+            int next = file.read(page).position(Byte.BYTES).getInt();
+            file.freeOnCommit(page);
+            page = next;
+        }
+    }
+
+    private void collectEntries(int page, BitSet reachable, ArrayList<Task> tasks) throws IOException, TinManException {
+        reachable.set(page);
+        Node node = readNode(page);
+        if (!node.isLeaf) {
+            for (int child : node.children) {
+                collectEntries(child, reachable, tasks);
+            }
+            return;
+        }
+        for (int i = 0; i < node.keys.size(); i++) {
+            long key = node.keys.get(i);
+            Task task = decode(key, readValue(node.values.get(i), reachable));
+            if (task.getId() != key) {
+                // Written before tasks were keyed by ID, so the tree is rebuilt on the next save
+                isFullRewriteNeeded = true;
+            }
+            tasks.add(task);
+        }
+    }
+
+    private void freeSubtree(int page) throws IOException {
+        Node node = readNode(page);
+        if (node.isLeaf) {
+            for (Value value : node.values) {
+                freeValue(value);
+            }
+        } else {
+            for (int child : node.children) {
+                freeSubtree(child);
+            }
+        }
+        freeNode(page);
+    }
+
+    /**
+     * The result of inserting into a subtree: the page now holding it, and the new right sibling if it split.
+     */
+    private static class Split {
+        private final int page;
+        private final long separator;
+        private final int rightPage;
+
+        Split(int page) {
+            this(page, 0, PageFile.NO_PAGE);
+        }
+
+        Split(int page, long separator, int rightPage) {
+            this.page = page;
+            this.separator = separator;
+            this.rightPage = rightPage;
+        }
+    }
+
+    /**
+     * A stored task, either inline or as the first page of an overflow chain.
+     */
+    private static class Value {
+        private final byte[] bytes;
+        private final int overflowPage;
+        private final int length;
+
+        Value(byte[] bytes) {
+            this.bytes = bytes;
+            this.overflowPage = PageFile.NO_PAGE;
+            this.length = bytes.length;
+        }
+
+        Value(int overflowPage, int length) {
+            this.bytes = null;
+            this.overflowPage = overflowPage;
+            this.length = length;
+        }
+
+        int getSerializedSize() {
+            int size = Long.BYTES + Byte.BYTES;
+            return size + (bytes != null ? Short.BYTES + bytes.length : Integer.BYTES + Integer.BYTES);
+        }
+    }
+
+    /**
+     * A decoded B-tree page. Leaves hold keys and values; internal nodes hold one more child than keys,
+     * where {@code keys[i]} is the smallest key under {@code children[i + 1]}.
+     */
+    private static class Node {
+        private final boolean isLeaf;
+        private final ArrayList<Long> keys = new ArrayList<>();
+        private final ArrayList<Value> values = new ArrayList<>();
+        private final ArrayList<Integer> children = new ArrayList<>();
+        private int entryBytes = 0;
+
+        private Node(boolean isLeaf) {
+            this.isLeaf = isLeaf;
+        }
+
+        static Node leaf() {
+            return new Node(true);
+        }
+
+        static Node internal() {
+            return new Node(false);
+        }
+
+        Node copy() {
+            Node copy = new Node(isLeaf);
+            copy.keys.addAll(keys);
+            copy.values.addAll(values);
+            copy.children.addAll(children);
+            copy.entryBytes = entryBytes;
+            return copy;
+        }
+
+        void insertEntry(int position, long key, Value value) {
+            keys.add(position, key);
+            values.add(position, value);
+            entryBytes += value.getSerializedSize();
+        }
+
+        void replaceEntry(int position, Value value) {
+            entryBytes += value.getSerializedSize() - values.set(position, value).getSerializedSize();
+        }
+
+        void removeEntry(int position) {
+            keys.remove(position);
+            entryBytes -= values.remove(position).getSerializedSize();
+        }
+
+        int getSerializedSize() {
+            if (isLeaf) {
+                return NODE_HEADER_BYTES + entryBytes;
+            }
+            return NODE_HEADER_BYTES + Integer.BYTES + keys.size() * (Long.BYTES + Integer.BYTES);
+        }
+
+        /**
+         * Returns the first entry that would go to the right half when splitting this leaf by size.
+         */
+        int getHalfwayEntry() {
+            int bytes = 0;
+            for (int i = 0; i < values.size(); i++) {
+                bytes += values.get(i).getSerializedSize();
+                if (bytes > entryBytes / 2) {
+                    return Math.max(1, i);
+                }
+            }
+            return values.size() - 1;
+        }
+
+        ByteBuffer serialize() {
+            ByteBuffer buffer = ByteBuffer.allocate(PageFile.PAGE_SIZE);
+            buffer.put(isLeaf ? LEAF_PAGE : INTERNAL_PAGE).putShort((short) keys.size());
+            if (isLeaf) {
+                for (int i = 0; i < keys.size(); i++) {
+                    Value value = values.get(i);
+                    buffer.putLong(keys.get(i));
+                    if (value.bytes != null) {
+                        buffer.put((byte) 0).putShort((short) value.bytes.length).put(value.bytes);
+                    } else {
+                        buffer.put((byte) 1).putInt(value.overflowPage).putInt(value.length);
+                    }
+                }
+            } else {
+                buffer.putInt(children.get(0));
+                for (int i = 0; i < keys.size(); i++) {
+                    buffer.putLong(keys.get(i)).putInt(children.get(i + 1));
+                }
+            }
+            return buffer.flip();
+        }
+
+        static Node deserialize(ByteBuffer buffer) throws IOException {
+            byte type = buffer.get();
+            if (type != LEAF_PAGE && type != INTERNAL_PAGE) {
+                throw new IOException("unexpected page type " + type);
+            }
+            Node node = new Node(type == LEAF_PAGE);
+            int count = buffer.getShort();
+            if (node.isLeaf) {
+                for (int i = 0; i < count; i++) {
+                    long key = buffer.getLong();
+                    Value value;
+                    if (buffer.get() == 0) {
+                        byte[] bytes = new byte[buffer.getShort()];
+                        buffer.get(bytes);
+                        value = new Value(bytes);
+                    } else {
+                        value = new Value(buffer.getInt(), buffer.getInt());
+                    }
+                    node.insertEntry(i, key, value);
+                }
+            } else {
+                node.children.add(buffer.getInt());
+                for (int i = 0; i < count; i++) {
+                    node.keys.add(buffer.getLong());
+                    node.children.add(buffer.getInt());
+                }
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Loads tasks in the text save format by parsing chunks of the data file in parallel.
+ *
+ * The file is cut into chunks that each end on a line break, the chunks are parsed on a fork-join
+ * pool, and their tasks are joined back together in file order. Each chunk counts its own lines, so
+ * a corrupted record is reported with its line number in the whole file once the line counts of the
+ * chunks before it are known.
+ */
+public class ParallelTaskLoader {
+    private static final int MINIMUM_CHUNK_BYTES = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ForkJoinPool pool;
+    private final int minimumChunkBytes;
+
+    /**
+     * Constructs a loader that parses on the common fork-join pool.
+     */
+    public ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a loader that parses on the given pool.
+     *
+     * @param pool The pool to parse chunks on.
+     */
+    public ParallelTaskLoader(ForkJoinPool pool) {
+        this(pool, MINIMUM_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructs a loader that parses on the given pool, never making chunks smaller than the given size.
+     *
+     * @param pool The pool to parse chunks on.
+     * @param minimumChunkBytes Smallest chunk worth handing to another thread.
+     */
+    ParallelTaskLoader(ForkJoinPool pool, int minimumChunkBytes) {
+        assert minimumChunkBytes > 0 : "Chunk size must be positive";
+        this.pool = pool;
+        this.minimumChunkBytes = minimumChunkBytes;
+    }
+
+    /**
+     * Loads all tasks from the given data file.
+     *
+     * @param path The data file to load.
+     * @return Tasks in the order they appear in the file.
+     * @throws TinManException If the file cannot be read or a record is invalid.
+     */
+    public ArrayList<Task> load(Path path) throws TinManException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new TinManException("Error loading tasks from file: " + e.getMessage());
+        }
+
+        ArrayList<Chunk> chunks = split(data);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(chunks);
+            }
+        });
+
+        int taskCount = 0;
+        int linesBefore = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.errorMessage != null) {
+                throw new TinManException.CorruptedDataException("Data file is corrupted at line "
+                        + (linesBefore + chunk.errorLine) + ": " + chunk.errorMessage);
+            }
+            taskCount += chunk.tasks.size();
+            linesBefore += chunk.lineCount;
+        }
+
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+        }
+        return tasks;
+    }
+
+    private ArrayList<Chunk> split(byte[] data) {
+        int targetChunkBytes = Math.max(minimumChunkBytes,
+                data.length / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+        ArrayList<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < data.length) {
+            int end = Math.min(data.length, start + targetChunkBytes);
+            while (end < data.length && data[end - 1] != NEWLINE) {
+                end++;
+            }
+            chunks.add(new Chunk(data, start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses the lines of one chunk, stopping at the first corrupted record.
+     */
+    private static class Chunk extends RecursiveAction {
+        private final byte[] data;
+        private final int start;
+        private final int end;
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private int lineCount = 0;
+        private int errorLine;
+        private String errorMessage;
+
+        Chunk(byte[] data, int start, int end) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            int lineStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i < end && data[i] != NEWLINE) {
+                    continue;
+                }
+                if (i == end && lineStart == end) {
+                    break;
+                }
+                lineCount++;
+                int lineEnd = i > lineStart && data[i - 1] == CARRIAGE_RETURN ? i - 1 : i;
+                String line = new String(data, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                lineStart = i + 1;
+                if (line.trim().isEmpty() || Saveable.isNextIdHeader(line)) {
+                    continue;
+                }
+                try {
+                    tasks.add(Saveable.fromSaveFormat(line));
+                } catch (TinManException | RuntimeException e) {
+                    errorLine = lineCount;
+                    errorMessage = e.getMessage();
+                    return;
+                }
+            }
+        }
+    }
+}
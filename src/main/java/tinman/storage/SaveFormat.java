@@ -0,0 +1,28 @@
+package tinman.storage;
+
+/**
+ * Represents the on-disk formats {@link Storage} can write the data file in.
+ * Either format can always be loaded; this only selects the format used for saving.
+ */
+public enum SaveFormat {
+    /** Human-readable lines of " | " separated fields. */
+    TEXT,
+    /** Compact length-prefixed records, see {@link BinaryTaskCodec}. */
+    BINARY;
+
+    /**
+     * Parses a save format name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultFormat The format to return if the name is not recognised.
+     * @return The matching format, or the default if there is none.
+     */
+    public static SaveFormat parse(String name, SaveFormat defaultFormat) {
+        for (SaveFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        return defaultFormat;
+    }
+}
@@ -0,0 +1,51 @@
+package tinman.storage;
+
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Converts a data file between the text and binary save formats.
+ * Usage: {@code java -cp tinman.jar tinman.storage.SaveFormatConverter <source> <target> <text|binary>}
+ */
+public class SaveFormatConverter {
+    /**
+     * Reads a data file in either format and writes its tasks to another file in the given format.
+     * The source and target may be the same file.
+     *
+     * @param sourcePath The data file to read.
+     * @param targetPath The data file to write.
+     * @param targetFormat The format to write the target in.
+     * @return The number of tasks converted.
+     * @throws TinManException If the source cannot be read or the target cannot be written.
+     */
+    public static int convert(String sourcePath, String targetPath, SaveFormat targetFormat) throws TinManException {
+        Storage source = new Storage(sourcePath);
+        List<Task> tasks = source.load();
+        StorageConfig config = new StorageConfig();
+        config.setSaveFormat(targetFormat);
+        Storage target = new Storage(targetPath, config);
+        target.reserveTaskIds(source.getNextTaskId());
+        target.save(tasks);
+        return tasks.size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: SaveFormatConverter <source> <target> <text|binary>");
+            System.exit(1);
+        }
+        try {
+            SaveFormat format = SaveFormat.valueOf(args[2].toUpperCase());
+            int count = convert(args[0], args[1], format);
+            System.out.println("Converted " + count + " tasks to " + format + " format: " + args[1]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown format: " + args[2]);
+            System.exit(1);
+        } catch (TinManException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
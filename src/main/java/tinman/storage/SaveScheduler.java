@@ -0,0 +1,204 @@
+package tinman.storage;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import tinman.exception.TinManException;
+import tinman.task.TaskList;
+
+/**
+ * Saves a task list in the background, coalescing many mutations into a single write.
+ *
+ * Each mutating command only marks the list dirty. A background thread saves the list once
+ * the oldest unsaved mutation is {@code maxDelayMillis} old, or as soon as {@code maxPendingMutations}
+ * have piled up, whichever comes first. The delay bounds how much work a crash can lose.
+ *
+ * A backend that rewrites the whole list saves a {@link tinman.task.TaskListSnapshot}, so the write
+ * runs without any lock on the task list and commands are not held up by the disk. An incremental
+ * backend, whose save depends on the changes it tracked, saves while holding the task list's read
+ * lock, which keeps changes out but lets searches go on. Saves never overlap, and each writes a later
+ * version than the last. The scheduler's own counters are synchronized on the scheduler.
+ */
+public class SaveScheduler {
+    private final StorageBackend storage;
+    private final TaskList tasks;
+    private final long maxDelayMillis;
+    private final int maxPendingMutations;
+    private final ScheduledExecutorService executor;
+    private final Object saveLock = new Object();
+
+    private int pendingMutations = 0;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean isImmediateFlushQueued = false;
+    private long writeCount = 0;
+    private long savedMutationCount = 0;
+    private int lastBatchSize = 0;
+    private int largestBatchSize = 0;
+    private volatile TinManException lastFailure;
+
+    /**
+     * Constructs a scheduler that saves the given task list through the given storage.
+     *
+     * @param storage The storage to save to.
+     * @param tasks The task list to save.
+     * @param maxDelayMillis Longest time a mutation may wait before being saved.
+     * @param maxPendingMutations Number of unsaved mutations that triggers an immediate save.
+     */
+    public SaveScheduler(StorageBackend storage, TaskList tasks, long maxDelayMillis, int maxPendingMutations) {
+        assert maxDelayMillis >= 0 : "Save delay cannot be negative";
+        assert maxPendingMutations > 0 : "Pending mutation limit must be positive";
+        this.storage = storage;
+        this.tasks = tasks;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxPendingMutations = maxPendingMutations;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tinman-save");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records that the task list has changed and arranges for it to be saved.
+     */
+    public void markDirty() {
+        synchronized (this) {
+            pendingMutations++;
+            if (pendingMutations >= maxPendingMutations && !isImmediateFlushQueued) {
+                cancelScheduledFlush();
+                isImmediateFlushQueued = true;
+                scheduledFlush = executor.schedule(this::flushInBackground, 0, TimeUnit.MILLISECONDS);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = executor.schedule(this::flushInBackground, maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Saves any unsaved mutations immediately on the calling thread.
+     * The caller must not hold the task list's write lock, as the save waits for any save in progress.
+     *
+     * @throws TinManException If the save fails; the mutations stay pending and are retried on the next flush.
+     */
+    public void flush() throws TinManException {
+        assert !tasks.getLock().isWriteLockedByCurrentThread() : "Flushing while holding the write lock can deadlock";
+        synchronized (saveLock) {
+            int batchSize;
+            synchronized (this) {
+                cancelScheduledFlush();
+                if (pendingMutations == 0) {
+                    return;
+                }
+                batchSize = pendingMutations;
+            }
+
+            // Mutations made after the batch was counted stay pending for the next save, even if it includes them
+            if (storage.isIncremental()) {
+                Lock readLock = tasks.getLock().readLock();
+                readLock.lock();
+                try {
+                    storage.save(tasks.getTasks());
+                } finally {
+                    readLock.unlock();
+                }
+            } else {
+                storage.save(tasks.snapshot().getTasks());
+            }
+            synchronized (this) {
+                recordWrite(batchSize);
+            }
+        }
+    }
+
+    private void recordWrite(int batchSize) {
+        pendingMutations -= batchSize;
+        writeCount++;
+        savedMutationCount += batchSize;
+        lastBatchSize = batchSize;
+        largestBatchSize = Math.max(largestBatchSize, batchSize);
+    }
+
+    /**
+     * Flushes any unsaved mutations and stops the background thread.
+     *
+     * @throws TinManException If the final save fails.
+     */
+    public void close() throws TinManException {
+        try {
+            flush();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns and clears the error from the most recent failed background save, if any.
+     *
+     * @return The failure, or null if no background save has failed since the last call.
+     */
+    public TinManException pollFailure() {
+        TinManException failure = lastFailure;
+        lastFailure = null;
+        return failure;
+    }
+
+    public int getPendingMutations() {
+        synchronized (this) {
+            return pendingMutations;
+        }
+    }
+
+    public long getWriteCount() {
+        synchronized (this) {
+            return writeCount;
+        }
+    }
+
+    public long getSavedMutationCount() {
+        synchronized (this) {
+            return savedMutationCount;
+        }
+    }
+
+    public int getLastBatchSize() {
+        synchronized (this) {
+            return lastBatchSize;
+        }
+    }
+
+    public int getLargestBatchSize() {
+        synchronized (this) {
+            return largestBatchSize;
+        }
+    }
+
+    /**
+     * Returns the average number of mutations covered by each write so far.
+     *
+     * @return Mutations per write, or 0 if nothing has been written yet.
+     */
+    public double getAverageBatchSize() {
+        synchronized (this) {
+            return writeCount == 0 ? 0 : (double) savedMutationCount / writeCount;
+        }
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        isImmediateFlushQueued = false;
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (TinManException e) {
+            lastFailure = e;
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package tinman.storage;
 
+import java.util.Arrays;
+
 import tinman.command.CommandType;
 import tinman.exception.TinManException;
 import tinman.task.Task;
 
 /**
  * Interface for objects that can be saved to and loaded from a file format.
+ * A saved task may start with an ID field such as {@code #12}; data written before tasks had IDs
+ * has none, and its tasks are given IDs by the task list they are loaded into.
+ *
+ * A text data file may also start with a header line such as {@code N | 15}, recording the next free
+ * task ID when it is higher than the saved tasks imply, so that the IDs of deleted tasks are not handed
+ * out again.
  */
 public interface Saveable {
     String SAVE_FORMAT_SEPARATOR = " | ";
+    String ID_PREFIX = "#";
+    String NEXT_ID_CODE = "N";
     String DONE_INDICATOR = "1";
     int MINIMUM_SAVE_FORMAT_PARTS = 3;
     int TYPE_CODE_INDEX = 0;
@@ -23,7 +33,22 @@ public interface Saveable {
      * @throws TinManException If the save format is invalid.
      */
     static Task fromSaveFormat(String line) throws TinManException {
-        String[] parts = line.split(" \\| ");
+        return fromSaveFormatParts(line.split(" \\| "));
+    }
+
+    /**
+     * Creates a Task from the fields of a save format line that has already been split on the separator.
+     *
+     * @param parts The fields of the line, with trailing empty fields removed.
+     * @return Task object created from the save format.
+     * @throws TinManException If the save format is invalid.
+     */
+    static Task fromSaveFormatParts(String[] parts) throws TinManException {
+        long id = Task.NO_ID;
+        if (parts.length > 0 && parts[0].startsWith(ID_PREFIX)) {
+            id = parseId(parts[0]);
+            parts = Arrays.copyOfRange(parts, 1, parts.length);
+        }
         if (parts.length < MINIMUM_SAVE_FORMAT_PARTS) {
             throw new TinManException("Invalid task format in data file");
         }
@@ -36,7 +61,63 @@ public interface Saveable {
             throw new TinManException("Unknown task type in data file: " + typeCode);
         }
 
-        return commandType.createFromSaveFormat(parts, isDone);
+        Task task = commandType.createFromSaveFormat(parts, isDone);
+        if (id != Task.NO_ID) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Checks whether a line of a text data file is the header recording the next free task ID.
+     *
+     * @param line A line of the data file.
+     * @return True if the line is the header rather than a task.
+     */
+    static boolean isNextIdHeader(String line) {
+        return line.startsWith(NEXT_ID_CODE + SAVE_FORMAT_SEPARATOR);
+    }
+
+    /**
+     * Returns the header line recording the next free task ID.
+     *
+     * @param nextId The next free task ID.
+     * @return The header, without a line separator.
+     */
+    static String toNextIdHeader(long nextId) {
+        return NEXT_ID_CODE + SAVE_FORMAT_SEPARATOR + nextId;
+    }
+
+    /**
+     * Reads the next free task ID from a header line.
+     *
+     * @param line A line for which {@link #isNextIdHeader} holds.
+     * @return The next free task ID.
+     * @throws TinManException If the ID is not a positive number.
+     */
+    static long parseNextIdHeader(String line) throws TinManException {
+        String field = line.substring(NEXT_ID_CODE.length() + SAVE_FORMAT_SEPARATOR.length());
+        try {
+            long nextId = Long.parseLong(field.trim());
+            if (nextId > Task.NO_ID) {
+                return nextId;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with IDs that are out of range
+        }
+        throw new TinManException.CorruptedDataException("Invalid next task ID in data file: " + field);
+    }
+
+    private static long parseId(String field) throws TinManException {
+        try {
+            long id = Long.parseLong(field.substring(ID_PREFIX.length()).trim());
+            if (id > Task.NO_ID) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with IDs that are out of range
+        }
+        throw new TinManException("Invalid task ID in data file: " + field);
     }
 }
 
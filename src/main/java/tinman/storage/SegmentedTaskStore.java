@@ -0,0 +1,394 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskListListener;
+
+/**
+ * Stores tasks across fixed-size segment files plus a small manifest, so a save only rewrites
+ * the segments that hold changed tasks.
+ *
+ * Every task occupies a stable slot that never changes when other tasks are deleted, unlike its
+ * display index. Segment {@code n} holds slots {@code n * segmentSize} up to the next segment, one
+ * line per slot, with a blank line for a deleted slot. Deleting a task near the end of a large list
+ * therefore only rewrites the last segment. Once more than half of all slots are deleted, the next
+ * save renumbers the slots densely and rewrites every segment.
+ *
+ * Segment files are never overwritten. Each save is a new generation: its changed segments are written
+ * to new files named after the generation, and the manifest, which names the file holding each segment,
+ * is then replaced atomically. Only after that are the files it no longer names deleted. A crash at any
+ * point leaves a manifest that names complete files of either the old or the new generation, plus at
+ * worst some unreferenced files, which the next save removes.
+ */
+public class SegmentedTaskStore implements TaskListListener {
+    static final String DIRECTORY_SUFFIX = ".segments";
+    static final String MANIFEST_NAME = "manifest";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SIZE_CODE = "S";
+    private static final String GENERATION_CODE = "G";
+    private static final String NEXT_SLOT_CODE = "N";
+    private static final String NEXT_TASK_ID_CODE = "I";
+    private static final String SEGMENT_CODE = "F";
+    private static final int SEGMENT_FIELD_COUNT = 3;
+
+    private final Path directory;
+    private final int configuredSegmentSize;
+    private final Durability durability;
+
+    /** Slot of the task at each display index, in ascending order. */
+    private final ArrayList<Long> slots = new ArrayList<>();
+    private final TreeSet<Long> dirtySegments = new TreeSet<>();
+    /** Generation of the file holding each segment that has tasks, as named by the manifest. */
+    private final TreeMap<Long, Long> segmentGenerations = new TreeMap<>();
+    /** Files replaced by a save whose manifest may not have been written yet. */
+    private final ArrayList<Path> obsoleteFiles = new ArrayList<>();
+    private int segmentSize;
+    private long nextSlot = 0;
+    /** One past the highest task ID ever tracked, kept in the manifest so deleted IDs stay used. */
+    private long nextTaskId = Task.NO_ID;
+    private long generation = 0;
+    private boolean isFullRewriteNeeded = true;
+    private boolean isCleanupNeeded = true;
+    private int segmentsWrittenByLastSave = 0;
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
+
+    /**
+     * Constructs a segmented store kept in a {@code .segments} directory next to the data file.
+     *
+     * @param dataPath Path of the data file the store replaces.
+     * @param segmentSize Number of slots in each segment file.
+     * @param durability How far each segment and manifest write is forced to disk.
+     */
+    public SegmentedTaskStore(String dataPath, int segmentSize, Durability durability) {
+        assert segmentSize > 0 : "Segment size must be positive";
+        this.directory = Paths.get(dataPath + DIRECTORY_SUFFIX);
+        this.configuredSegmentSize = segmentSize;
+        this.segmentSize = segmentSize;
+        this.durability = durability;
+    }
+
+    /**
+     * Checks whether a segmented store has been written before.
+     *
+     * @return True if the manifest exists.
+     */
+    public boolean exists() {
+        return Files.exists(directory.resolve(MANIFEST_NAME));
+    }
+
+    /**
+     * Loads all tasks from the segment files listed in the manifest.
+     *
+     * @return Tasks in slot order, which is the display order.
+     * @throws TinManException If the manifest or a segment cannot be read or is corrupted.
+     */
+    public ArrayList<Task> load() throws TinManException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        slots.clear();
+        nextTaskId = Task.NO_ID;
+        segmentGenerations.clear();
+        dirtySegments.clear();
+        try {
+            readManifest();
+            for (Map.Entry<Long, Long> file : segmentGenerations.entrySet()) {
+                long segment = file.getKey();
+                Path path = segmentPath(file.getValue(), segment);
+                bytesRead += Files.size(path);
+                List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+                for (int offset = 0; offset < lines.size(); offset++) {
+                    if (lines.get(offset).trim().isEmpty()) {
+                        continue;
+                    }
+                    tasks.add(parseLine(lines.get(offset), segment, offset));
+                    slots.add(segment * segmentSize + offset);
+                }
+            }
+        } catch (IOException e) {
+            throw new TinManException("Error loading task segments: " + e.getMessage());
+        }
+        isFullRewriteNeeded = segmentSize != configuredSegmentSize;
+        isCleanupNeeded = true;
+        return tasks;
+    }
+
+    /**
+     * Returns the next free task ID recorded in the manifest by the last load.
+     *
+     * @return The next free task ID, or {@link Task#NO_ID} if none is recorded.
+     */
+    public long getNextTaskId() {
+        return nextTaskId;
+    }
+
+    /**
+     * Starts tracking tasks that were loaded from elsewhere, such as the single data file,
+     * so that they are all written on the next save.
+     *
+     * @param taskCount Number of tasks in the list being tracked.
+     * @param nextTaskId The next free task ID recorded with those tasks, or {@link Task#NO_ID}.
+     */
+    public void adopt(int taskCount, long nextTaskId) {
+        this.nextTaskId = nextTaskId;
+        slots.clear();
+        for (long slot = 0; slot < taskCount; slot++) {
+            slots.add(slot);
+        }
+        nextSlot = taskCount;
+        dirtySegments.clear();
+        isFullRewriteNeeded = true;
+    }
+
+    /**
+     * Writes every segment touched since the last save as new files, then switches the manifest over
+     * to them and deletes the files they replace. The first save after starting from a non-segmented
+     * data file writes every segment.
+     *
+     * @param tasks The full task list, used to read the current contents of dirty segments.
+     * @throws TinManException If a segment or the manifest cannot be written. The previous manifest and
+     *         its files are then left as they were, and the changes are written again by the next save.
+     */
+    public void save(List<Task> tasks) throws TinManException {
+        try {
+            Files.createDirectories(directory);
+            if (isFullRewriteNeeded || isMostlyDeleted()) {
+                rewriteAll(tasks);
+                return;
+            }
+            if (dirtySegments.isEmpty()) {
+                segmentsWrittenByLastSave = 0;
+                return;
+            }
+
+            generation++;
+            for (long segment : dirtySegments) {
+                writeSegment(segment, tasks);
+            }
+            writeManifest();
+            segmentsWrittenByLastSave = dirtySegments.size();
+            dirtySegments.clear();
+            deleteObsoleteFiles();
+        } catch (IOException e) {
+            throw new TinManException("Error saving task segments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many segment files the last save rewrote.
+     *
+     * @return Number of segments written by the most recent save.
+     */
+    public int getSegmentsWrittenByLastSave() {
+        return segmentsWrittenByLastSave;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        assert index == slots.size() : "Tasks are only ever appended";
+        long slot = nextSlot++;
+        slots.add(slot);
+        dirtySegments.add(slot / segmentSize);
+        nextTaskId = Math.max(nextTaskId, task.getId() + 1);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        dirtySegments.add(slots.remove(index) / segmentSize);
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        dirtySegments.add(slots.get(index) / segmentSize);
+        nextTaskId = Math.max(nextTaskId, task.getId() + 1);
+    }
+
+    private boolean isMostlyDeleted() {
+        return nextSlot > segmentSize && (long) slots.size() * 2 < nextSlot;
+    }
+
+    /**
+     * Renumbers all slots densely and writes them as a new generation of segment files.
+     */
+    private void rewriteAll(List<Task> tasks) throws IOException {
+        generation++;
+        segmentSize = configuredSegmentSize;
+        slots.clear();
+        segmentGenerations.clear();
+        for (long slot = 0; slot < tasks.size(); slot++) {
+            slots.add(slot);
+        }
+        nextSlot = tasks.size();
+        // Until the new manifest is written, the loaded slots no longer describe the list,
+        // so a failure part way through must be retried as a full rewrite
+        isFullRewriteNeeded = true;
+
+        for (long segment = 0; segment * segmentSize < tasks.size(); segment++) {
+            writeSegment(segment, tasks);
+        }
+        writeManifest();
+        segmentsWrittenByLastSave = segmentGenerations.size();
+        dirtySegments.clear();
+        isFullRewriteNeeded = false;
+        isCleanupNeeded = true;
+        deleteObsoleteFiles();
+    }
+
+    /**
+     * Writes the current contents of a segment to a new file of the current generation,
+     * or drops the segment if none of its slots hold a task any more.
+     * The file it replaces stays on disk until the manifest no longer names it.
+     */
+    private void writeSegment(long segment, List<Task> tasks) throws IOException {
+        long firstSlot = segment * segmentSize;
+        long endSlot = firstSlot + segmentSize;
+        int index = Collections.binarySearch(slots, firstSlot);
+        int firstIndex = index >= 0 ? index : -index - 1;
+
+        Long replacedGeneration = segmentGenerations.remove(segment);
+        if (replacedGeneration != null && replacedGeneration != generation) {
+            obsoleteFiles.add(segmentPath(replacedGeneration, segment));
+        }
+        if (firstIndex >= slots.size() || slots.get(firstIndex) >= endSlot) {
+            return;
+        }
+
+        Path path = segmentPath(generation, segment);
+        bytesWritten += DurableFiles.writeAtomically(path, durability, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            long slot = firstSlot;
+            for (int i = firstIndex; i < slots.size() && slots.get(i) < endSlot; i++, slot++) {
+                for (; slot < slots.get(i); slot++) {
+                    writer.write(System.lineSeparator());
+                }
+                writer.write(tasks.get(i).toSaveFormat() + System.lineSeparator());
+            }
+            writer.flush();
+        });
+        segmentGenerations.put(segment, generation);
+    }
+
+    private void writeManifest() throws IOException {
+        String separator = Saveable.SAVE_FORMAT_SEPARATOR;
+        StringBuilder manifest = new StringBuilder()
+                .append(SEGMENT_SIZE_CODE).append(separator).append(segmentSize).append(System.lineSeparator())
+                .append(GENERATION_CODE).append(separator).append(generation).append(System.lineSeparator())
+                .append(NEXT_SLOT_CODE).append(separator).append(nextSlot).append(System.lineSeparator())
+                .append(NEXT_TASK_ID_CODE).append(separator).append(nextTaskId).append(System.lineSeparator());
+        for (Map.Entry<Long, Long> file : segmentGenerations.entrySet()) {
+            manifest.append(SEGMENT_CODE).append(separator).append(file.getKey())
+                    .append(separator).append(file.getValue()).append(System.lineSeparator());
+        }
+        byte[] bytes = manifest.toString().getBytes(StandardCharsets.UTF_8);
+        bytesWritten += DurableFiles.writeAtomically(directory.resolve(MANIFEST_NAME), durability,
+                out -> out.write(bytes));
+    }
+
+    private void readManifest() throws IOException, TinManException {
+        Path manifestPath = directory.resolve(MANIFEST_NAME);
+        bytesRead += Files.size(manifestPath);
+        // Manifests written before segments had their own generations name the segment only
+        ArrayList<Long> segmentsOfManifestGeneration = new ArrayList<>();
+        for (String line : Files.readAllLines(manifestPath, StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(" \\| ");
+            try {
+                long value = Long.parseLong(parts[1].trim());
+                switch (parts[0]) {
+                case SEGMENT_SIZE_CODE:
+                    segmentSize = (int) value;
+                    break;
+                case GENERATION_CODE:
+                    generation = value;
+                    break;
+                case NEXT_SLOT_CODE:
+                    nextSlot = value;
+                    break;
+                case NEXT_TASK_ID_CODE:
+                    nextTaskId = value;
+                    break;
+                case SEGMENT_CODE:
+                    if (parts.length >= SEGMENT_FIELD_COUNT) {
+                        segmentGenerations.put(value, Long.parseLong(parts[2].trim()));
+                    } else {
+                        segmentsOfManifestGeneration.add(value);
+                    }
+                    break;
+                default:
+                    throw new TinManException.CorruptedDataException("Segment manifest is corrupted: " + line);
+                }
+            } catch (RuntimeException e) {
+                throw new TinManException.CorruptedDataException("Segment manifest is corrupted: " + line);
+            }
+        }
+        for (long segment : segmentsOfManifestGeneration) {
+            segmentGenerations.put(segment, generation);
+        }
+    }
+
+    private Task parseLine(String line, long segment, int offset) throws TinManException {
+        try {
+            return Saveable.fromSaveFormat(line);
+        } catch (TinManException e) {
+            throw new TinManException("Segment " + segment + " is corrupted at line " + (offset + 1)
+                    + ": " + e.getMessage());
+        }
+    }
+
+    private Path segmentPath(long segmentGeneration, long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segmentGeneration + "-" + segment);
+    }
+
+    /**
+     * Deletes the files replaced by saves whose manifest is now on disk. After loading or a full rewrite,
+     * also sweeps the directory for any segment file the manifest does not name, such as those left
+     * by a save that crashed before switching the manifest.
+     */
+    private void deleteObsoleteFiles() throws IOException {
+        for (Path file : obsoleteFiles) {
+            Files.deleteIfExists(file);
+        }
+        obsoleteFiles.clear();
+        if (!isCleanupNeeded) {
+            return;
+        }
+
+        HashSet<Path> referenced = new HashSet<>();
+        for (Map.Entry<Long, Long> file : segmentGenerations.entrySet()) {
+            referenced.add(segmentPath(file.getValue(), file.getKey()));
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                if (!referenced.contains(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        isCleanupNeeded = false;
+    }
+}
@@ -1,8 +1,15 @@
 package tinman.storage;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,58 +19,249 @@ import java.util.stream.Collectors;
 
 import tinman.exception.TinManException;
 import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.TaskListListener;
 
 /**
  * Handles the loading and saving of task data to and from file storage.
  * Manages file I/O operations for task persistence.
+ *
+ * The data file is written in the configured {@link SaveFormat}; either format is recognised on load,
+ * so switching formats migrates the file on the next save.
+ *
+ * When journaling is enabled, saves append the changes made since the last save to a
+ * {@link TaskJournal} instead of rewriting the data file, and the journal is folded back
+ * into the data file once it grows past the configured compaction threshold.
+ *
+ * With the {@link StorageLayout#SEGMENTED} layout, tasks are kept in a {@link SegmentedTaskStore}
+ * instead and the journal is not used; an existing data file is migrated on the first save.
+ *
+ * The next free task ID is saved with the tasks, so the IDs of deleted tasks are not handed out again
+ * after a restart. The binary format always records it; the text format only adds a header line for it
+ * once deleting the tasks with the highest IDs has left it higher than the remaining tasks imply.
  */
-public class Storage {
+public class Storage implements StorageBackend, TaskListListener {
+    private static final int MAX_NEXT_ID_HEADER_BYTES = 64;
+
     private final String filePath;
+    private final StorageConfig config;
+    private final TaskJournal journal;
+    private final SegmentedTaskStore segments;
+    /** One past the highest task ID loaded or added since, read by saves made on other threads. */
+    private volatile long nextTaskId = Task.NO_ID;
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
 
     /**
-     * Constructs a Storage instance with the specified file path.
+     * Constructs a Storage instance with the specified file path and default options.
      *
      * @param filePath Path to the file where tasks will be stored.
      */
     public Storage(String filePath) {
+        this(filePath, new StorageConfig());
+    }
+
+    /**
+     * Constructs a Storage instance with the specified file path and options.
+     *
+     * @param filePath Path to the file where tasks will be stored.
+     * @param config Options controlling how tasks are persisted.
+     */
+    public Storage(String filePath, StorageConfig config) {
         assert filePath != null : "Precondition: file path cannot be null";
         assert !filePath.trim().isEmpty() : "Precondition: file path cannot be empty";
+        assert config != null : "Precondition: storage config cannot be null";
         this.filePath = filePath;
+        this.config = config;
+        this.segments = config.getLayout() == StorageLayout.SEGMENTED
+                ? new SegmentedTaskStore(filePath, config.getSegmentSize(), config.getDurability())
+                : null;
+        this.journal = segments == null && config.getIsJournalEnabled()
+                ? new TaskJournal(filePath, config.getDurability())
+                : null;
         assert this.filePath != null : "Class invariant: filePath should never be null after construction";
     }
 
     /**
-     * Saves the list of tasks to the file.
-     * Creates the parent directory if it does not exist.
+     * Starts tracking changes to the given task list so that later saves only need to
+     * persist what changed, and so that saves know the next free task ID.
+     * Only journaling and the segmented layout save just what changed.
+     *
+     * @param tasks The task list whose changes should be persisted.
+     */
+    @Override
+    public void attach(TaskList tasks) {
+        tasks.addListener(this);
+        if (journal != null) {
+            tasks.addListener(journal);
+        }
+        if (segments != null) {
+            tasks.addListener(segments);
+        }
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return journal != null || segments != null;
+    }
+
+    @Override
+    public long getNextTaskId() {
+        return nextTaskId;
+    }
+
+    /**
+     * Makes later saves record at least the given next free task ID, for tasks copied from another store.
+     *
+     * @param nextTaskId The next free task ID of the copied tasks, or {@link Task#NO_ID}.
+     */
+    void reserveTaskIds(long nextTaskId) {
+        this.nextTaskId = Math.max(this.nextTaskId, nextTaskId);
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        reserveTaskIds(task.getId() + 1);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        // Tasks loaded without IDs are numbered through updates
+        reserveTaskIds(task.getId() + 1);
+    }
+
+    /**
+     * Saves the list of tasks.
+     * With journaling enabled, only the changes since the last save are appended to the journal,
+     * unless the journal has grown large enough to be compacted into the data file.
+     * With the segmented layout, only the segments holding changed tasks are rewritten.
      *
      * @param tasks List of tasks to save.
      * @throws TinManException If there is an error writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws TinManException {
+    @Override
+    public void save(List<Task> tasks) throws TinManException {
         assert tasks != null : "Precondition: task list cannot be null";
+        if (segments != null) {
+            segments.save(tasks);
+            return;
+        }
+        if (journal == null) {
+            writeSnapshot(tasks);
+            return;
+        }
+
         try {
             ensureDirectoryExists();
-
-            FileWriter writer = new FileWriter(filePath);
-            for (Task task : tasks) {
-                assert task != null : "Internal invariant: task in list should not be null";
-                writer.write(taskToString(task) + System.lineSeparator());
+            if (journal.getRecordCount() >= config.getJournalCompactionThreshold()) {
+                writeSnapshot(tasks);
+                journal.reset();
+            } else {
+                journal.flush();
             }
-            writer.close();
+        } catch (IOException e) {
+            throw new TinManException("Error saving tasks to journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the data file with the full list of tasks.
+     * The new contents are written to a temporary file and renamed over the data file, so a crash
+     * part-way through a save leaves the previous contents intact.
+     * Creates the parent directory if it does not exist.
+     *
+     * @param tasks List of tasks to save.
+     * @throws TinManException If there is an error writing to the file.
+     */
+    private void writeSnapshot(List<Task> tasks) throws TinManException {
+        try {
+            ensureDirectoryExists();
+            bytesWritten += DurableFiles.writeAtomically(Paths.get(filePath), config.getDurability(), out -> {
+                if (config.getSaveFormat() == SaveFormat.BINARY) {
+                    BinaryTaskCodec.write(tasks, nextTaskId, out);
+                } else {
+                    writeText(tasks, out);
+                }
+            });
         } catch (IOException e) {
             throw new TinManException("Error saving tasks to file: " + e.getMessage());
         }
     }
 
+    private void writeText(List<Task> tasks, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        // IDs increase along the list, so the header is only needed once the last tasks have been deleted
+        long impliedNextId = tasks.isEmpty() ? Task.NO_ID + 1 : tasks.get(tasks.size() - 1).getId() + 1;
+        long nextId = nextTaskId;
+        if (nextId > impliedNextId) {
+            writer.write(Saveable.toNextIdHeader(nextId) + System.lineSeparator());
+        }
+        if (tasks instanceof LazyTaskList) {
+            // Copy records that were never used straight through instead of parsing them
+            LazyTaskList lazyTasks = (LazyTaskList) tasks;
+            for (int i = 0; i < lazyTasks.size(); i++) {
+                writer.write(lazyTasks.getSaveFormat(i) + System.lineSeparator());
+            }
+            writer.flush();
+            return;
+        }
+        for (Task task : tasks) {
+            assert task != null : "Internal invariant: task in list should not be null";
+            writer.write(taskToString(task) + System.lineSeparator());
+        }
+        writer.flush();
+    }
+
     /**
-     * Loads tasks from the file.
+     * Loads tasks from the file, replaying the journal on top of it when journaling is enabled.
      * Returns an empty list if the file does not exist.
      *
      * @return List of tasks loaded from the file.
      * @throws TinManException If there is an error reading from the file or if the data is corrupted.
      */
-    public ArrayList<Task> load() throws TinManException {
+    @Override
+    public List<Task> load() throws TinManException {
+        List<Task> tasks;
+        if (segments != null && segments.exists()) {
+            tasks = segments.load();
+            nextTaskId = segments.getNextTaskId();
+        } else {
+            tasks = readSnapshot();
+            if (segments != null) {
+                segments.adopt(tasks.size(), nextTaskId);
+            }
+        }
+        if (journal != null) {
+            journal.replay(tasks);
+            reserveTaskIds(journal.getNextTaskId());
+        }
+        assert tasks != null : "Postcondition: loaded task list should never be null";
+        return tasks;
+    }
+
+    @Override
+    public long getBytesRead() {
+        long total = bytesRead;
+        total += journal != null ? journal.getBytesRead() : 0;
+        total += segments != null ? segments.getBytesRead() : 0;
+        return total;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        long total = bytesWritten;
+        total += journal != null ? journal.getBytesWritten() : 0;
+        total += segments != null ? segments.getBytesWritten() : 0;
+        return total;
+    }
+
+    private List<Task> readSnapshot() throws TinManException {
         ArrayList<Task> tasks = new ArrayList<>();
+        nextTaskId = Task.NO_ID;
 
         File file = new File(filePath);
         if (!file.exists()) {
@@ -71,10 +269,28 @@ public class Storage {
             return tasks;
         }
 
+        bytesRead += file.length();
         try {
+            if (BinaryTaskCodec.isBinaryFile(file.toPath())) {
+                nextTaskId = BinaryTaskCodec.readNextTaskId(file.toPath());
+                try (InputStream in = new FileInputStream(file)) {
+                    return BinaryTaskCodec.read(in);
+                }
+            }
+            nextTaskId = readNextIdHeader(file.toPath());
+            if (config.getLoadStrategy() == LoadStrategy.LAZY) {
+                return LazyTaskList.load(file.toPath());
+            }
+            if (config.getLoadStrategy() == LoadStrategy.PARALLEL) {
+                return new ParallelTaskLoader().load(file.toPath());
+            }
+            if (config.getLoadStrategy() == LoadStrategy.MAPPED) {
+                return new MappedTaskLoader().load(file.toPath());
+            }
+
             List<String> lines = Files.readAllLines(Paths.get(filePath));
             tasks = lines.stream()
-                    .filter(line -> !line.trim().isEmpty())
+                    .filter(line -> !line.trim().isEmpty() && !Saveable.isNextIdHeader(line))
                     .map(this::parseTaskFromLine)
                     .peek(task -> {
                         assert task != null : "Internal invariant: parsed task should not be null";
@@ -82,19 +298,36 @@ public class Storage {
                     .collect(Collectors.toCollection(ArrayList::new));
         } catch (IOException e) {
             throw new TinManException("Error loading tasks from file: " + e.getMessage());
+        } catch (TinManException e) {
+            throw e;
         } catch (RuntimeException e) {
             if (e.getCause() instanceof TinManException) {
-                throw (TinManException) e.getCause();
+                throw new TinManException.CorruptedDataException(e.getCause().getMessage());
             }
-            throw new TinManException("Data file is corrupted: " + e.getMessage());
+            throw new TinManException.CorruptedDataException("Data file is corrupted: " + e.getMessage());
         } catch (Exception e) {
-            throw new TinManException("Data file is corrupted: " + e.getMessage());
+            throw new TinManException.CorruptedDataException("Data file is corrupted: " + e.getMessage());
         }
-
-        assert tasks != null : "Postcondition: loaded task list should never be null";
         return tasks;
     }
 
+    /**
+     * Reads the next free task ID from the header line of a text data file, without decoding the rest.
+     */
+    private static long readNextIdHeader(Path path) throws IOException, TinManException {
+        ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            for (int b = in.read(); b != -1 && b != '\n'; b = in.read()) {
+                if (firstLine.size() == MAX_NEXT_ID_HEADER_BYTES) {
+                    return Task.NO_ID;
+                }
+                firstLine.write(b);
+            }
+        }
+        String line = firstLine.toString(StandardCharsets.UTF_8).trim();
+        return Saveable.isNextIdHeader(line) ? Saveable.parseNextIdHeader(line) : Task.NO_ID;
+    }
+
     private void ensureDirectoryExists() throws IOException {
         Path path = Paths.get(filePath);
         Path directory = path.getParent();
@@ -0,0 +1,93 @@
+package tinman.storage;
+
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+
+/**
+ * Represents a place where tasks can be loaded from and saved to.
+ */
+public interface StorageBackend {
+    /**
+     * Loads all stored tasks.
+     *
+     * @return Stored tasks in list order.
+     * @throws TinManException If the tasks cannot be read or are corrupted.
+     */
+    List<Task> load() throws TinManException;
+
+    /**
+     * Saves the given tasks, replacing whatever was stored before.
+     *
+     * @param tasks The full task list.
+     * @throws TinManException If the tasks cannot be written.
+     */
+    void save(List<Task> tasks) throws TinManException;
+
+    /**
+     * Starts tracking changes to the given task list, for backends that only save what changed.
+     *
+     * @param tasks The task list whose changes should be persisted.
+     */
+    default void attach(TaskList tasks) {
+    }
+
+    /**
+     * Checks whether saving depends on the changes tracked since {@link #attach}, rather than only on
+     * the tasks passed in. Such a save must not run while the list is changing, so it cannot be made
+     * from a snapshot without holding the lock on the task list.
+     *
+     * @return True if saves write only what changed.
+     */
+    default boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * Returns the next free task ID recorded with the tasks by the last load, so that a task list
+     * restarted from them does not hand out the IDs of tasks deleted before the restart.
+     *
+     * @return The next free task ID, or {@link Task#NO_ID} if the stored tasks do not record one.
+     */
+    default long getNextTaskId() {
+        return Task.NO_ID;
+    }
+
+    /**
+     * Returns the total number of bytes this backend has read from disk.
+     *
+     * @return Bytes read so far, or 0 for backends that do not touch the disk.
+     */
+    default long getBytesRead() {
+        return 0;
+    }
+
+    /**
+     * Returns the total number of bytes this backend has written to disk.
+     *
+     * @return Bytes written so far, or 0 for backends that do not touch the disk.
+     */
+    default long getBytesWritten() {
+        return 0;
+    }
+
+    /**
+     * Creates the backend selected by the given options.
+     *
+     * @param filePath Path of the data file, which other backends keep their files next to.
+     * @param config Options choosing and configuring the backend.
+     * @return The selected backend.
+     */
+    static StorageBackend create(String filePath, StorageConfig config) {
+        switch (config.getBackend()) {
+        case MEMORY:
+            return new InMemoryStorage();
+        case PAGED:
+            return new PagedTaskStore(filePath, config.getDurability(), new Storage(filePath, config));
+        default:
+            return new Storage(filePath, config);
+        }
+    }
+}
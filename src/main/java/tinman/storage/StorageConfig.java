@@ -0,0 +1,175 @@
+package tinman.storage;
+
+/**
+ * Holds the options that control how {@link Storage} persists tasks.
+ * Defaults reproduce the original behaviour of rewriting the whole data file on every save.
+ */
+public class StorageConfig {
+    static final String PROPERTY_PREFIX = "tinman.storage.";
+    private static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 1000;
+    private static final int DEFAULT_SAVE_DELAY_MILLIS = 500;
+    private static final int DEFAULT_SAVE_MAX_PENDING = 100;
+    private static final int DEFAULT_SEGMENT_SIZE = 1000;
+
+    private boolean isJournalEnabled = false;
+    private int journalCompactionThreshold = DEFAULT_JOURNAL_COMPACTION_THRESHOLD;
+    private LoadStrategy loadStrategy = LoadStrategy.LINES;
+    private SaveFormat saveFormat = SaveFormat.TEXT;
+    private Durability durability = Durability.NONE;
+    private boolean isAsyncSaveEnabled = false;
+    private long saveDelayMillis = DEFAULT_SAVE_DELAY_MILLIS;
+    private int saveMaxPending = DEFAULT_SAVE_MAX_PENDING;
+    private StorageLayout layout = StorageLayout.FILE;
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private BackendType backend = BackendType.FILE;
+    private TaskListBacking listBacking = TaskListBacking.ARRAY;
+
+    public boolean getIsJournalEnabled() {
+        return isJournalEnabled;
+    }
+
+    public void setJournalEnabled(boolean isJournalEnabled) {
+        this.isJournalEnabled = isJournalEnabled;
+    }
+
+    public int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    /**
+     * Sets the number of journal records after which the journal is folded back into the data file.
+     *
+     * @param journalCompactionThreshold Maximum journal records before compaction, must be positive.
+     */
+    public void setJournalCompactionThreshold(int journalCompactionThreshold) {
+        assert journalCompactionThreshold > 0 : "Compaction threshold must be positive";
+        this.journalCompactionThreshold = journalCompactionThreshold;
+    }
+
+    public LoadStrategy getLoadStrategy() {
+        return loadStrategy;
+    }
+
+    public void setLoadStrategy(LoadStrategy loadStrategy) {
+        this.loadStrategy = loadStrategy;
+    }
+
+    public SaveFormat getSaveFormat() {
+        return saveFormat;
+    }
+
+    public void setSaveFormat(SaveFormat saveFormat) {
+        this.saveFormat = saveFormat;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    public boolean getIsAsyncSaveEnabled() {
+        return isAsyncSaveEnabled;
+    }
+
+    public void setAsyncSaveEnabled(boolean isAsyncSaveEnabled) {
+        this.isAsyncSaveEnabled = isAsyncSaveEnabled;
+    }
+
+    public long getSaveDelayMillis() {
+        return saveDelayMillis;
+    }
+
+    public void setSaveDelayMillis(long saveDelayMillis) {
+        this.saveDelayMillis = saveDelayMillis;
+    }
+
+    public int getSaveMaxPending() {
+        return saveMaxPending;
+    }
+
+    public void setSaveMaxPending(int saveMaxPending) {
+        this.saveMaxPending = saveMaxPending;
+    }
+
+    public StorageLayout getLayout() {
+        return layout;
+    }
+
+    public void setLayout(StorageLayout layout) {
+        this.layout = layout;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the number of task slots kept in each segment file of the segmented layout.
+     *
+     * @param segmentSize Slots per segment, must be positive.
+     */
+    public void setSegmentSize(int segmentSize) {
+        assert segmentSize > 0 : "Segment size must be positive";
+        this.segmentSize = segmentSize;
+    }
+
+    public BackendType getBackend() {
+        return backend;
+    }
+
+    public void setBackend(BackendType backend) {
+        this.backend = backend;
+    }
+
+    public TaskListBacking getListBacking() {
+        return listBacking;
+    }
+
+    public void setListBacking(TaskListBacking listBacking) {
+        this.listBacking = listBacking;
+    }
+
+    /**
+     * Creates a configuration from {@code tinman.storage.*} system properties,
+     * falling back to the defaults for any property that is not set.
+     * For example, {@code -Dtinman.storage.journal=true} enables the mutation journal.
+     *
+     * @return The configuration described by the system properties.
+     */
+    public static StorageConfig fromSystemProperties() {
+        StorageConfig config = new StorageConfig();
+        config.setJournalEnabled(Boolean.parseBoolean(property("journal", "false")));
+        config.setJournalCompactionThreshold(
+                parsePositiveInt(property("journalLimit", null), DEFAULT_JOURNAL_COMPACTION_THRESHOLD));
+        config.setLoadStrategy(LoadStrategy.parse(property("loader", ""), LoadStrategy.LINES));
+        config.setSaveFormat(SaveFormat.parse(property("format", ""), SaveFormat.TEXT));
+        config.setDurability(Durability.parse(property("durability", ""), Durability.NONE));
+        config.setAsyncSaveEnabled(Boolean.parseBoolean(property("asyncSave", "false")));
+        config.setSaveDelayMillis(parsePositiveInt(property("saveDelayMillis", null), DEFAULT_SAVE_DELAY_MILLIS));
+        config.setSaveMaxPending(parsePositiveInt(property("saveMaxPending", null), DEFAULT_SAVE_MAX_PENDING));
+        config.setLayout(StorageLayout.parse(property("layout", ""), StorageLayout.FILE));
+        config.setSegmentSize(parsePositiveInt(property("segmentSize", null), DEFAULT_SEGMENT_SIZE));
+        config.setBackend(BackendType.parse(property("backend", ""), BackendType.FILE));
+        config.setListBacking(TaskListBacking.parse(property("list", ""), TaskListBacking.ARRAY));
+        return config;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PROPERTY_PREFIX + name, defaultValue);
+    }
+
+    private static int parsePositiveInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
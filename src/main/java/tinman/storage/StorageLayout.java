@@ -0,0 +1,27 @@
+package tinman.storage;
+
+/**
+ * Represents the ways {@link Storage} can lay tasks out on disk.
+ */
+public enum StorageLayout {
+    /** Keeps every task in the single data file. */
+    FILE,
+    /** Splits tasks across fixed-size segment files so a save only rewrites the segments that changed. */
+    SEGMENTED;
+
+    /**
+     * Parses a storage layout name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultLayout The layout to return if the name is not recognised.
+     * @return The matching layout, or the default if there is none.
+     */
+    public static StorageLayout parse(String name, StorageLayout defaultLayout) {
+        for (StorageLayout layout : values()) {
+            if (layout.name().equalsIgnoreCase(name.trim())) {
+                return layout;
+            }
+        }
+        return defaultLayout;
+    }
+}
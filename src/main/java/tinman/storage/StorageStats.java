@@ -0,0 +1,157 @@
+package tinman.storage;
+
+/**
+ * Collects timing, volume and failure statistics for the loads and saves of a storage backend.
+ * All methods are thread-safe, since saves may run on a background thread.
+ */
+public class StorageStats {
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+    private static final double MEDIAN = 50;
+    private static final double TAIL = 99;
+
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LatencyHistogram saveLatency = new LatencyHistogram();
+    private long loadFailureCount = 0;
+    private long saveFailureCount = 0;
+    private long corruptionCount = 0;
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
+    private long tasksLoaded = 0;
+    private int lastSavedTaskCount = 0;
+    private LoadReport lastLoadReport;
+
+    /**
+     * Records a load that succeeded.
+     *
+     * @param nanos How long the load took.
+     * @param bytes How many bytes it read.
+     * @param taskCount How many tasks it loaded.
+     */
+    public synchronized void recordLoad(long nanos, long bytes, int taskCount) {
+        loadLatency.record(nanos);
+        bytesRead += bytes;
+        tasksLoaded += taskCount;
+        lastLoadReport = new LoadReport(taskCount, bytes, nanos);
+    }
+
+    /**
+     * Records a save that succeeded.
+     *
+     * @param nanos How long the save took.
+     * @param bytes How many bytes it wrote.
+     * @param taskCount How many tasks were in the saved list.
+     */
+    public synchronized void recordSave(long nanos, long bytes, int taskCount) {
+        saveLatency.record(nanos);
+        bytesWritten += bytes;
+        lastSavedTaskCount = taskCount;
+    }
+
+    /**
+     * Records a load that failed.
+     *
+     * @param isCorrupted Whether it failed because the stored data is corrupted.
+     */
+    public synchronized void recordLoadFailure(boolean isCorrupted) {
+        loadFailureCount++;
+        if (isCorrupted) {
+            corruptionCount++;
+        }
+    }
+
+    public synchronized void recordSaveFailure() {
+        saveFailureCount++;
+    }
+
+    public synchronized long getLoadCount() {
+        return loadLatency.getCount();
+    }
+
+    public synchronized long getSaveCount() {
+        return saveLatency.getCount();
+    }
+
+    /**
+     * Returns a percentile of successful load latencies.
+     *
+     * @param percentile The percentile to report, between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if nothing has been loaded.
+     */
+    public synchronized long getLoadLatencyPercentile(double percentile) {
+        return loadLatency.getPercentile(percentile);
+    }
+
+    /**
+     * Returns a percentile of successful save latencies.
+     *
+     * @param percentile The percentile to report, between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if nothing has been saved.
+     */
+    public synchronized long getSaveLatencyPercentile(double percentile) {
+        return saveLatency.getPercentile(percentile);
+    }
+
+    public synchronized long getMaxLoadLatency() {
+        return loadLatency.getMax();
+    }
+
+    public synchronized long getMaxSaveLatency() {
+        return saveLatency.getMax();
+    }
+
+    public synchronized long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public synchronized long getSaveFailureCount() {
+        return saveFailureCount;
+    }
+
+    public synchronized long getCorruptionCount() {
+        return corruptionCount;
+    }
+
+    public synchronized long getBytesRead() {
+        return bytesRead;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public synchronized long getTasksLoaded() {
+        return tasksLoaded;
+    }
+
+    public synchronized int getLastSavedTaskCount() {
+        return lastSavedTaskCount;
+    }
+
+    /**
+     * Returns the size and throughput of the most recent successful load.
+     *
+     * @return The report for the last load, or null if nothing has been loaded yet.
+     */
+    public synchronized LoadReport getLastLoadReport() {
+        return lastLoadReport;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Storage I/O statistics:"
+                + "\n load: " + describe(loadLatency, loadFailureCount)
+                + "\n save: " + describe(saveLatency, saveFailureCount)
+                + "\n bytes read: " + bytesRead + ", bytes written: " + bytesWritten
+                + "\n tasks loaded: " + tasksLoaded + ", tasks in last save: " + lastSavedTaskCount
+                + "\n corrupted data errors: " + corruptionCount
+                + "\n last load: " + (lastLoadReport == null ? "none" : lastLoadReport);
+    }
+
+    private static String describe(LatencyHistogram latency, long failureCount) {
+        return String.format("%d ok, %d failed, p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                latency.getCount(), failureCount,
+                latency.getPercentile(MEDIAN) / NANOS_PER_MILLISECOND,
+                latency.getPercentile(TAIL) / NANOS_PER_MILLISECOND,
+                latency.getMax() / NANOS_PER_MILLISECOND);
+    }
+}
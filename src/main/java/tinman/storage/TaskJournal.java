@@ -0,0 +1,232 @@
+package tinman.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskListListener;
+
+/**
+ * Append-only log of task list mutations kept next to the data file.
+ * Each add, delete and update becomes one small record, so persisting a command
+ * costs the same regardless of how many tasks are in the list.
+ *
+ * The first line of the journal records the checksum of the data file it applies to.
+ * A journal whose checksum does not match the data file on disk is stale (for example,
+ * left behind by a crash during compaction) and is discarded instead of replayed.
+ *
+ * Every added task is recorded with its ID, so replaying the journal also recovers the next free ID,
+ * even if the tasks with the highest IDs were deleted again before the journal was compacted.
+ */
+public class TaskJournal implements TaskListListener {
+    static final String JOURNAL_SUFFIX = ".journal";
+    private static final String HEADER_CODE = "J";
+    private static final String ADD_CODE = "A";
+    private static final String DELETE_CODE = "D";
+    private static final String UPDATE_CODE = "U";
+    private static final String RECORD_SEPARATOR = "\n";
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private final Path dataPath;
+    private final Path journalPath;
+    private final Durability durability;
+    private final ArrayList<String> pendingRecords = new ArrayList<>();
+    private int writtenRecordCount = 0;
+    private long nextTaskId = Task.NO_ID;
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
+    private boolean isHeaderCurrent = false;
+
+    /**
+     * Constructs a journal for the given data file.
+     * The journal itself is stored alongside it with a {@code .journal} suffix.
+     *
+     * @param dataPath Path to the data file the journal applies to.
+     * @param durability How far each append is forced to disk before a save completes.
+     */
+    public TaskJournal(String dataPath, Durability durability) {
+        this.dataPath = Paths.get(dataPath);
+        this.journalPath = Paths.get(dataPath + JOURNAL_SUFFIX);
+        this.durability = durability;
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        pendingRecords.add(ADD_CODE + Saveable.SAVE_FORMAT_SEPARATOR + task.toSaveFormat());
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        pendingRecords.add(DELETE_CODE + Saveable.SAVE_FORMAT_SEPARATOR + index);
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        pendingRecords.add(UPDATE_CODE + Saveable.SAVE_FORMAT_SEPARATOR + index
+                + Saveable.SAVE_FORMAT_SEPARATOR + task.toSaveFormat());
+    }
+
+    /**
+     * Returns the number of records in the journal, including those not yet flushed to disk.
+     *
+     * @return Total journal record count.
+     */
+    public int getRecordCount() {
+        return writtenRecordCount + pendingRecords.size();
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns one past the highest task ID seen by the last replay, including tasks it went on to delete.
+     *
+     * @return The next free task ID, or {@link Task#NO_ID} if no replayed task had an ID.
+     */
+    public long getNextTaskId() {
+        return nextTaskId;
+    }
+
+    /**
+     * Applies the journal on disk to tasks freshly loaded from the data file.
+     * A missing or stale journal leaves the tasks untouched.
+     * A torn final record, left by a crash in the middle of an append, is ignored.
+     *
+     * @param tasks Tasks loaded from the data file, modified in place.
+     * @throws TinManException If the journal cannot be read or contains an invalid record.
+     */
+    public void replay(List<Task> tasks) throws TinManException {
+        writtenRecordCount = 0;
+        nextTaskId = Task.NO_ID;
+        isHeaderCurrent = false;
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        try {
+            byte[] contents = Files.readAllBytes(journalPath);
+            bytesRead += contents.length;
+            String[] records = new String(contents, StandardCharsets.UTF_8).split(RECORD_SEPARATOR, -1);
+            if (!records[0].equals(headerFor(checksumOf(dataPath)))) {
+                return;
+            }
+            // The element after the final separator is empty unless the last append was torn
+            for (int i = 1; i < records.length - 1; i++) {
+                applyRecord(tasks, records[i], i);
+                writtenRecordCount++;
+            }
+            isHeaderCurrent = true;
+        } catch (IOException e) {
+            throw new TinManException("Error loading journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends all pending records to the journal on disk.
+     * Starts a fresh journal if the one on disk does not belong to the current data file.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    public void flush() throws IOException {
+        if (pendingRecords.isEmpty()) {
+            return;
+        }
+
+        StringBuilder batch = new StringBuilder();
+        for (String record : pendingRecords) {
+            batch.append(record).append(RECORD_SEPARATOR);
+        }
+
+        if (!isHeaderCurrent) {
+            batch.insert(0, headerFor(checksumOf(dataPath)) + RECORD_SEPARATOR);
+        }
+        byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        DurableFiles.write(journalPath, bytes, isHeaderCurrent, durability);
+        bytesWritten += bytes.length;
+        isHeaderCurrent = true;
+        writtenRecordCount += pendingRecords.size();
+        pendingRecords.clear();
+    }
+
+    /**
+     * Discards all records after the data file has been rewritten with the full task list,
+     * leaving an empty journal that applies to the new data file.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    public void reset() throws IOException {
+        pendingRecords.clear();
+        byte[] header = (headerFor(checksumOf(dataPath)) + RECORD_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        DurableFiles.write(journalPath, header, false, durability);
+        bytesWritten += header.length;
+        writtenRecordCount = 0;
+        isHeaderCurrent = true;
+    }
+
+    private void applyRecord(List<Task> tasks, String record, int recordNumber) throws TinManException {
+        String[] parts = record.split(" \\| ", 2);
+        try {
+            switch (parts[0]) {
+            case ADD_CODE:
+                tasks.add(recordId(Saveable.fromSaveFormat(parts[1])));
+                break;
+            case DELETE_CODE:
+                tasks.remove(Integer.parseInt(parts[1].trim()));
+                break;
+            case UPDATE_CODE:
+                String[] updateParts = parts[1].split(" \\| ", 2);
+                tasks.set(Integer.parseInt(updateParts[0].trim()), recordId(Saveable.fromSaveFormat(updateParts[1])));
+                break;
+            default:
+                throw new TinManException("unknown record type " + parts[0]);
+            }
+        } catch (RuntimeException | TinManException e) {
+            throw new TinManException.CorruptedDataException(
+                    "Journal is corrupted at record " + recordNumber + ": " + e.getMessage());
+        }
+    }
+
+    private Task recordId(Task task) {
+        if (task.getId() != Task.NO_ID) {
+            nextTaskId = Math.max(nextTaskId, task.getId() + 1);
+        }
+        return task;
+    }
+
+    private static String headerFor(long checksum) {
+        return HEADER_CODE + Saveable.SAVE_FORMAT_SEPARATOR + checksum;
+    }
+
+    /**
+     * Computes the CRC32 checksum of a file, treating a missing file as empty.
+     *
+     * @param path The file to checksum.
+     * @return The checksum of the file contents.
+     * @throws IOException If the file cannot be read.
+     */
+    static long checksumOf(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new CRC32().getValue();
+        }
+        try (CheckedInputStream in = new CheckedInputStream(Files.newInputStream(path), new CRC32())) {
+            byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+            while (in.read(buffer) != -1) {
+                // Reading drives the checksum
+            }
+            return in.getChecksum().getValue();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package tinman.storage;
+
+/**
+ * Represents the ways loaded tasks can be held in memory.
+ */
+public enum TaskListBacking {
+    /**
+     * Keeps tasks in the array-backed list the loader returns, which is compact and fast to read
+     * but shifts every later task on each delete.
+     */
+    ARRAY,
+    /**
+     * Copies loaded tasks into a {@link tinman.task.TreeTaskList}, so reading, adding and deleting
+     * at any position take logarithmic time.
+     */
+    TREE,
+    /**
+     * Copies loaded tasks into a {@link tinman.task.ColumnarTaskList}, which stores them in primitive
+     * columns and a shared string pool instead of one object per task, for very large lists.
+     */
+    COLUMNAR;
+
+    /**
+     * Parses a task list backing name, ignoring case.
+     *
+     * @param name The name to parse.
+     * @param defaultBacking The backing to return if the name is not recognised.
+     * @return The matching backing, or the default if there is none.
+     */
+    public static TaskListBacking parse(String name, TaskListBacking defaultBacking) {
+        for (TaskListBacking backing : values()) {
+            if (backing.name().equalsIgnoreCase(name.trim())) {
+                return backing;
+            }
+        }
+        return defaultBacking;
+    }
+}
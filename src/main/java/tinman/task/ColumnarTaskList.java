@@ -0,0 +1,386 @@
+package tinman.task;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of tasks stored column by column in primitive arrays rather than as one object per task,
+ * for very large lists.
+ *
+ * Each task takes a single flag byte packing its done status (bit 0), type (bits 1-2) and the kind of
+ * each date (bits 3-4 and 5-6), its ID, and a long for each date holding an epoch day, an epoch second
+ * (UTC) or, for a date that was not recognised, a reference to the string as entered. Descriptions and
+ * unrecognised dates are kept as UTF-8 in one shared byte array, referenced by offset and length.
+ *
+ * Task objects are created from the columns when read. A task that is still referenced elsewhere,
+ * such as by an index over the list, is handed out again rather than recreated, so a task with an ID
+ * is always the same object while anyone holds on to it; tasks are looked up by ID for this, which
+ * relies on IDs being unique. Changes made to a task object are only stored once it is {@link #set}
+ * back into the list, which {@link TaskList} does after every update.
+ *
+ * Reads are synchronized, since handing out a task remembers it, so a list shared by a
+ * {@link TaskListSnapshot} can be read from several threads.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DONE_FLAG = 1;
+    private static final int TYPE_SHIFT = 1;
+    private static final int FIRST_DATE_SHIFT = 3;
+    private static final int SECOND_DATE_SHIFT = 5;
+    private static final int TWO_BIT_MASK = 0b11;
+    private static final int TODO_TYPE = 0;
+    private static final int DEADLINE_TYPE = 1;
+    private static final int EVENT_TYPE = 2;
+    private static final int NO_DATE = 0;
+    private static final int RAW_STRING = 1;
+    private static final int EPOCH_DAY = 2;
+    private static final int EPOCH_SECOND = 3;
+    private static final int OFFSET_SHIFT = 32;
+    private static final long LENGTH_MASK = 0xFFFFFFFFL;
+    /** The string pool is only compacted once it holds at least this many bytes that are no longer used. */
+    private static final int MIN_COMPACTION_GARBAGE = 64 * 1024;
+
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] descriptions = new long[INITIAL_CAPACITY];
+    private long[] firstDates = new long[INITIAL_CAPACITY];
+    private long[] secondDates = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /** Task objects handed out that may still be in use, by ID, cleared once they are garbage collected. */
+    private final HashMap<Long, View> views = new HashMap<>();
+    private final ReferenceQueue<Task> collectedViews = new ReferenceQueue<>();
+
+    private byte[] pool = new byte[INITIAL_CAPACITY * INITIAL_CAPACITY];
+    private int poolSize;
+    private int poolBytesInUse;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Constructs a list holding the given tasks in the same order.
+     *
+     * @param tasks The tasks to copy.
+     */
+    public ColumnarTaskList(List<Task> tasks) {
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            // The copied objects are not remembered, as nothing reads them through this list yet
+            store(size++, task);
+        }
+    }
+
+    /**
+     * Returns the task at the given index, creating it from the columns unless the object handed out
+     * for that task before is still in use.
+     */
+    @Override
+    public synchronized Task get(int index) {
+        checkIndex(index, size);
+        View view = views.get(ids[index]);
+        Task task = view != null ? view.get() : null;
+        if (task == null) {
+            task = createTask(index);
+            rememberView(task);
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        Task previous = get(index);
+        releaseStrings(index);
+        views.remove(ids[index]);
+        store(index, task);
+        rememberView(task);
+        compactPoolIfWasteful();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        store(index, task);
+        rememberView(task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        releaseStrings(index);
+        views.remove(ids[index]);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        compactPoolIfWasteful();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        views.clear();
+        size = 0;
+        poolSize = 0;
+        poolBytesInUse = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of this list that can be changed without affecting this one. The columns are
+     * copied but the string pool is shared: strings are only ever written past the end of the part of
+     * the pool a list uses, and compacting moves them to a new pool, so neither list sees the other's.
+     *
+     * @return The copy.
+     */
+    public synchronized ColumnarTaskList copy() {
+        ColumnarTaskList copy = new ColumnarTaskList();
+        copy.flags = Arrays.copyOf(flags, Math.max(size, INITIAL_CAPACITY));
+        copy.ids = Arrays.copyOf(ids, copy.flags.length);
+        copy.descriptions = Arrays.copyOf(descriptions, copy.flags.length);
+        copy.firstDates = Arrays.copyOf(firstDates, copy.flags.length);
+        copy.secondDates = Arrays.copyOf(secondDates, copy.flags.length);
+        copy.size = size;
+        copy.pool = pool;
+        copy.poolSize = poolSize;
+        copy.poolBytesInUse = poolBytesInUse;
+        return copy;
+    }
+
+    /**
+     * Counts the tasks marked as done by scanning the flag column, without creating any task objects.
+     *
+     * @return Number of done tasks.
+     */
+    public int getDoneCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += flags[i] & DONE_FLAG;
+        }
+        return count;
+    }
+
+    /**
+     * Creates a new task object from the columns at the given index, ignoring any object handed out before.
+     */
+    Task createTask(int index) {
+        int flag = flags[index];
+        String description = readString(descriptions[index]);
+        Task task;
+        switch (flag >> TYPE_SHIFT & TWO_BIT_MASK) {
+        case DEADLINE_TYPE:
+            task = Deadline.fromValues(description, readDate(firstDates[index], flag >> FIRST_DATE_SHIFT));
+            break;
+        case EVENT_TYPE:
+            task = Event.fromValues(description, readDate(firstDates[index], flag >> FIRST_DATE_SHIFT),
+                    readDate(secondDates[index], flag >> SECOND_DATE_SHIFT));
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+        if ((flag & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if (ids[index] != Task.NO_ID) {
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    private void store(int index, Task task) {
+        Object firstDate = null;
+        Object secondDate = null;
+        int type = TODO_TYPE;
+        if (task instanceof Deadline) {
+            type = DEADLINE_TYPE;
+            firstDate = ((Deadline) task).getByValue();
+        } else if (task instanceof Event) {
+            type = EVENT_TYPE;
+            firstDate = ((Event) task).getFromValue();
+            secondDate = ((Event) task).getToValue();
+        }
+
+        flags[index] = (byte) ((task.getIsDone() ? DONE_FLAG : 0)
+                | type << TYPE_SHIFT
+                | dateKind(firstDate) << FIRST_DATE_SHIFT
+                | dateKind(secondDate) << SECOND_DATE_SHIFT);
+        ids[index] = task.getId();
+        descriptions[index] = writeString(task.getDescription());
+        firstDates[index] = writeDate(firstDate);
+        secondDates[index] = writeDate(secondDate);
+    }
+
+    private void rememberView(Task task) {
+        removeCollectedViews();
+        if (task.getId() != Task.NO_ID) {
+            views.put(task.getId(), new View(task, collectedViews));
+        }
+    }
+
+    private void removeCollectedViews() {
+        for (View view = (View) collectedViews.poll(); view != null; view = (View) collectedViews.poll()) {
+            views.remove(view.id, view);
+        }
+    }
+
+    private static int dateKind(Object value) {
+        if (value instanceof LocalDateTime) {
+            return EPOCH_SECOND;
+        } else if (value instanceof LocalDate) {
+            return EPOCH_DAY;
+        } else {
+            return value == null ? NO_DATE : RAW_STRING;
+        }
+    }
+
+    private long writeDate(Object value) {
+        if (value instanceof LocalDateTime) {
+            assert ((LocalDateTime) value).getNano() == 0 : "Dates are entered to the minute";
+            return ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay();
+        } else {
+            return value == null ? 0 : writeString((String) value);
+        }
+    }
+
+    private Object readDate(long value, int kind) {
+        switch (kind & TWO_BIT_MASK) {
+        case EPOCH_SECOND:
+            return LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+        case EPOCH_DAY:
+            return LocalDate.ofEpochDay(value);
+        case RAW_STRING:
+            return readString(value);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Appends a string to the pool.
+     *
+     * @return A reference packing the offset of the string in the pool and its length in bytes.
+     */
+    private long writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (poolSize + bytes.length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(poolSize + bytes.length, pool.length * 2));
+        }
+        System.arraycopy(bytes, 0, pool, poolSize, bytes.length);
+        long reference = (long) poolSize << OFFSET_SHIFT | bytes.length;
+        poolSize += bytes.length;
+        poolBytesInUse += bytes.length;
+        return reference;
+    }
+
+    private String readString(long reference) {
+        return new String(pool, (int) (reference >>> OFFSET_SHIFT), (int) (reference & LENGTH_MASK),
+                StandardCharsets.UTF_8);
+    }
+
+    private void releaseStrings(int index) {
+        poolBytesInUse -= (int) (descriptions[index] & LENGTH_MASK);
+        if ((flags[index] >> FIRST_DATE_SHIFT & TWO_BIT_MASK) == RAW_STRING) {
+            poolBytesInUse -= (int) (firstDates[index] & LENGTH_MASK);
+        }
+        if ((flags[index] >> SECOND_DATE_SHIFT & TWO_BIT_MASK) == RAW_STRING) {
+            poolBytesInUse -= (int) (secondDates[index] & LENGTH_MASK);
+        }
+    }
+
+    /**
+     * Copies the strings still in use into a new pool once more than half of the pool is unused,
+     * so the cost of compacting is spread over the removals that made it necessary.
+     */
+    private void compactPoolIfWasteful() {
+        int garbage = poolSize - poolBytesInUse;
+        if (garbage < MIN_COMPACTION_GARBAGE || garbage < poolBytesInUse) {
+            return;
+        }
+        byte[] oldPool = pool;
+        pool = new byte[Math.max(INITIAL_CAPACITY * INITIAL_CAPACITY, poolBytesInUse * 2)];
+        poolSize = 0;
+        poolBytesInUse = 0;
+        for (int i = 0; i < size; i++) {
+            descriptions[i] = moveString(oldPool, descriptions[i]);
+            if ((flags[i] >> FIRST_DATE_SHIFT & TWO_BIT_MASK) == RAW_STRING) {
+                firstDates[i] = moveString(oldPool, firstDates[i]);
+            }
+            if ((flags[i] >> SECOND_DATE_SHIFT & TWO_BIT_MASK) == RAW_STRING) {
+                secondDates[i] = moveString(oldPool, secondDates[i]);
+            }
+        }
+    }
+
+    private long moveString(byte[] oldPool, long reference) {
+        int length = (int) (reference & LENGTH_MASK);
+        System.arraycopy(oldPool, (int) (reference >>> OFFSET_SHIFT), pool, poolSize, length);
+        long moved = (long) poolSize << OFFSET_SHIFT | length;
+        poolSize += length;
+        poolBytesInUse += length;
+        return moved;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= flags.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, flags.length * 2);
+        flags = Arrays.copyOf(flags, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        firstDates = Arrays.copyOf(firstDates, newCapacity);
+        secondDates = Arrays.copyOf(secondDates, newCapacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(flags, from, flags, to, length);
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+        System.arraycopy(firstDates, from, firstDates, to, length);
+        System.arraycopy(secondDates, from, secondDates, to, length);
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    /**
+     * A task object handed out by the list, remembered until it is garbage collected.
+     */
+    private static class View extends WeakReference<Task> {
+        private final long id;
+
+        View(Task task, ReferenceQueue<Task> queue) {
+            super(task, queue);
+            this.id = task.getId();
+        }
+    }
+}
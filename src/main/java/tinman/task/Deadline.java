@@ -5,14 +5,16 @@ import java.time.LocalDateTime;
 
 import tinman.exception.TinManException;
 import tinman.util.DateParser;
+import tinman.util.PackedDate;
 
 /**
  * Represents a deadline task with a specific due date/time.
+ * A recognised due date is held once, as a {@link PackedDate}; the text as entered is only kept
+ * when it is not a recognised date.
  */
 public class Deadline extends Task {
-    private LocalDate by;
-    private LocalDateTime byDateTime;
-    private String byString;
+    private long by = PackedDate.NONE;
+    private String byText;
 
     /**
      * Constructs a Deadline with the given description and due date string.
@@ -23,21 +25,7 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String by) throws TinManException {
         super(description);
-        try {
-            Object parsed = DateParser.parseFlexible(by);
-            if (parsed instanceof LocalDateTime) {
-                this.byDateTime = (LocalDateTime) parsed;
-                this.by = null;
-            } else if (parsed instanceof LocalDate) {
-                this.by = (LocalDate) parsed;
-                this.byDateTime = null;
-            }
-            this.byString = null;
-        } catch (TinManException e) {
-            this.by = null;
-            this.byDateTime = null;
-            this.byString = by;
-        }
+        setByValue(DateParser.parseFlexibleOrKeep(by));
     }
 
     /**
@@ -48,9 +36,7 @@ public class Deadline extends Task {
      */
     public Deadline(String description, LocalDate by) {
         super(description);
-        this.by = by;
-        this.byDateTime = null;
-        this.byString = null;
+        setByValue(by);
     }
 
     /**
@@ -61,21 +47,12 @@ public class Deadline extends Task {
      */
     public Deadline(String description, LocalDateTime byDateTime) {
         super(description);
-        this.by = null;
-        this.byDateTime = byDateTime;
-        this.byString = null;
+        setByValue(byDateTime);
     }
 
     @Override
     public String toString() {
-        String dateDisplay;
-        if (byDateTime != null) {
-            dateDisplay = DateParser.formatDateTime(byDateTime);
-        } else if (by != null) {
-            dateDisplay = DateParser.formatDate(by);
-        } else {
-            dateDisplay = byString;
-        }
+        String dateDisplay = by != PackedDate.NONE ? PackedDate.format(by) : byText;
         return "[D]" + super.toString() + " (by: " + dateDisplay + ")";
     }
 
@@ -91,35 +68,51 @@ public class Deadline extends Task {
      * @throws TinManException If date parsing fails.
      */
     public void updateDeadline(String newBy) throws TinManException {
-        try {
-            Object parsed = DateParser.parseFlexible(newBy);
-            if (parsed instanceof LocalDateTime) {
-                this.byDateTime = (LocalDateTime) parsed;
-                this.by = null;
-            } else if (parsed instanceof LocalDate) {
-                this.by = (LocalDate) parsed;
-                this.byDateTime = null;
-            }
-            this.byString = null;
-        } catch (TinManException e) {
-            this.by = null;
-            this.byDateTime = null;
-            this.byString = newBy;
-        }
+        setByValue(DateParser.parseFlexibleOrKeep(newBy));
+    }
+
+    /**
+     * Returns the due date in whichever form it is stored.
+     *
+     * @return A LocalDateTime, a LocalDate, or the String as entered if it is not a recognised date.
+     */
+    public Object getByValue() {
+        return by != PackedDate.NONE ? PackedDate.unpack(by) : byText;
+    }
+
+    /**
+     * Returns when the deadline falls due, taking a date without a time as due at the end of that day.
+     *
+     * @return The start of the day after a due date, the due date and time, or null if the due date
+     *         is not a recognised date.
+     */
+    public LocalDateTime getDueTime() {
+        return by != PackedDate.NONE ? PackedDate.toEndTime(by) : null;
+    }
+
+    private void setByValue(Object value) {
+        this.by = PackedDate.pack(value);
+        this.byText = value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Creates a Deadline from an already-parsed due value without parsing any date strings.
+     *
+     * @param description Description of the deadline task.
+     * @param byValue A LocalDateTime, a LocalDate, or a String to keep as entered.
+     * @return The new Deadline.
+     */
+    public static Deadline fromValues(String description, Object byValue) {
+        Deadline deadline = new Deadline(description, (LocalDate) null);
+        deadline.setByValue(byValue);
+        return deadline;
     }
 
     @Override
     public String toSaveFormat() {
         String status = isDone ? "1" : "0";
-        String dateToSave;
-        if (byDateTime != null) {
-            dateToSave = DateParser.dateTimeToSaveFormat(byDateTime);
-        } else if (by != null) {
-            dateToSave = DateParser.dateToSaveFormat(by);
-        } else {
-            dateToSave = byString;
-        }
-        return getTaskType() + " | " + status + " | " + getDescription() + " | " + dateToSave;
+        String dateToSave = by != PackedDate.NONE ? PackedDate.toSaveFormat(by) : byText;
+        return getIdSaveFormat() + getTaskType() + " | " + status + " | " + getDescription() + " | " + dateToSave;
     }
 
     /**
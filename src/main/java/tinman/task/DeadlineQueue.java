@@ -0,0 +1,110 @@
+package tinman.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The pending deadlines of a task list ordered by when they fall due, kept up to date through
+ * {@link TaskListListener} events, for finding the next deadlines without scanning the list.
+ *
+ * A deadline joins the queue when it is added or unmarked and leaves it when it is marked, deleted
+ * or given a date that is not recognised; changing its date moves it to its new place. Reading the
+ * next deadlines walks the queue from the front, so the work grows with the number of deadlines
+ * returned rather than with the size of the list.
+ */
+class DeadlineQueue implements TaskListListener {
+    private final TreeSet<Entry> entries = new TreeSet<>();
+    private final HashMap<Long, Entry> entriesById = new HashMap<>();
+    private long nextSequence = 0;
+
+    /**
+     * Constructs a queue of the pending deadlines among the given tasks.
+     *
+     * @param tasks The tasks to queue.
+     */
+    DeadlineQueue(List<Task> tasks) {
+        for (Task task : tasks) {
+            enqueue(task);
+        }
+    }
+
+    /**
+     * Returns the first pending deadlines in the order they fall due.
+     *
+     * @param limit The most deadlines to return.
+     * @param latest The latest due time to include.
+     * @return Up to {@code limit} deadlines due no later than {@code latest}, earliest first.
+     */
+    ArrayList<Deadline> findNext(int limit, LocalDateTime latest) {
+        assert limit >= 0 : "Cannot return a negative number of deadlines";
+        ArrayList<Deadline> deadlines = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (deadlines.size() >= limit || entry.dueAt.isAfter(latest)) {
+                break;
+            }
+            deadlines.add(entry.deadline);
+        }
+        return deadlines;
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        enqueue(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        Entry entry = entriesById.remove(task.getId());
+        if (entry != null) {
+            entries.remove(entry);
+        }
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        onTaskDeleted(index, task);
+        enqueue(task);
+    }
+
+    private void enqueue(Task task) {
+        if (!(task instanceof Deadline) || task.getIsDone()) {
+            return;
+        }
+        Deadline deadline = (Deadline) task;
+        LocalDateTime dueAt = deadline.getDueTime();
+        if (dueAt == null) {
+            return;
+        }
+        Entry entry = new Entry(dueAt, nextSequence++, deadline);
+        entriesById.put(deadline.getId(), entry);
+        entries.add(entry);
+    }
+
+    /**
+     * The due time of one deadline. Deadlines due at the same time are ordered by ID, which is their
+     * order in the list, and then by when they were queued.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final LocalDateTime dueAt;
+        private final long sequence;
+        private final Deadline deadline;
+
+        Entry(LocalDateTime dueAt, long sequence, Deadline deadline) {
+            this.dueAt = dueAt;
+            this.sequence = sequence;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int comparison = dueAt.compareTo(other.dueAt);
+            if (comparison == 0) {
+                comparison = Long.compare(deadline.getId(), other.deadline.getId());
+            }
+            return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package tinman.task;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An inverted index from keys taken from the lowercase task descriptions to the tasks containing them,
+ * kept up to date through {@link TaskListListener} events. Subclasses choose the keys and how a search
+ * combines their postings.
+ *
+ * Tasks are looked up by ID, and each is identified in the postings by a sequence number handed out in
+ * list order. Since tasks are only ever appended, sequence order stays list order however many tasks are
+ * deleted in between, so walking a posting gives its tasks in list order.
+ *
+ * @param <K> The type of key a description is broken into.
+ */
+abstract class DescriptionIndex<K> implements TaskListListener {
+    private final Map<K, TreeSet<Long>> postings;
+    private final TreeMap<Long, Task> tasksBySequence = new TreeMap<>();
+    private final HashMap<Long, Entry> entries = new HashMap<>();
+    private long nextSequence = 0;
+
+    /**
+     * Constructs an empty index that keeps its postings in the given map.
+     *
+     * @param postings The empty map to keep postings in, sorted if subclasses look up key ranges.
+     */
+    DescriptionIndex(Map<K, TreeSet<Long>> postings) {
+        assert postings.isEmpty() : "Postings must start empty";
+        this.postings = postings;
+    }
+
+    /**
+     * Returns the distinct keys of a description.
+     *
+     * @param lowerDescription The lowercase description.
+     * @return The keys to post the task under.
+     */
+    abstract Set<K> keysOf(String lowerDescription);
+
+    /**
+     * Adds tasks to the index. Subclasses call this once their own state is ready.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    void indexAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Returns the sequence numbers of the tasks posted under a key.
+     *
+     * @param key The key to look up.
+     * @return The sequence numbers in list order, or null if no task has the key.
+     */
+    TreeSet<Long> getPosting(K key) {
+        return postings.get(key);
+    }
+
+    /**
+     * Returns the sequence numbers of every indexed task.
+     *
+     * @return The sequence numbers in list order.
+     */
+    NavigableSet<Long> getSequences() {
+        return tasksBySequence.navigableKeySet();
+    }
+
+    Task getTask(long sequence) {
+        return tasksBySequence.get(sequence);
+    }
+
+    /**
+     * Returns the lowercase description a task was indexed with.
+     *
+     * @param sequence The sequence number of an indexed task.
+     * @return Its lowercase description.
+     */
+    String getLowerDescription(long sequence) {
+        return entries.get(tasksBySequence.get(sequence).getId()).lowerDescription;
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        index(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        Entry entry = entries.remove(task.getId());
+        assert entry != null : "Deleted task was never indexed";
+        removePostings(entry);
+        tasksBySequence.remove(entry.sequence);
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        Entry entry = entries.get(task.getId());
+        assert entry != null : "Updated task was never indexed";
+        // An update replaces the task with a changed copy, so searches must return the new object
+        tasksBySequence.put(entry.sequence, task);
+        String lowerDescription = task.getDescription().toLowerCase();
+        if (lowerDescription.equals(entry.lowerDescription)) {
+            return;
+        }
+        removePostings(entry);
+        entry.lowerDescription = lowerDescription;
+        addPostings(entry);
+    }
+
+    private void index(Task task) {
+        Entry entry = new Entry(nextSequence++, task.getDescription().toLowerCase());
+        entries.put(task.getId(), entry);
+        tasksBySequence.put(entry.sequence, task);
+        addPostings(entry);
+    }
+
+    private void addPostings(Entry entry) {
+        for (K key : keysOf(entry.lowerDescription)) {
+            postings.computeIfAbsent(key, k -> new TreeSet<>()).add(entry.sequence);
+        }
+    }
+
+    private void removePostings(Entry entry) {
+        for (K key : keysOf(entry.lowerDescription)) {
+            TreeSet<Long> posting = postings.get(key);
+            posting.remove(entry.sequence);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * What the index knows about one task.
+     */
+    private static class Entry {
+        private final long sequence;
+        private String lowerDescription;
+
+        Entry(long sequence, String lowerDescription) {
+            this.sequence = sequence;
+            this.lowerDescription = lowerDescription;
+        }
+    }
+}
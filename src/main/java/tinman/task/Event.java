@@ -1,21 +1,21 @@
 package tinman.task;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import tinman.exception.TinManException;
 import tinman.util.DateParser;
+import tinman.util.PackedDate;
 
 /**
  * Represents an event task with a start and end time/date.
+ * Each recognised date is held once, as a {@link PackedDate}; the text as entered is only kept
+ * for a date that is not recognised.
  */
 public class Event extends Task {
-    private String from;
-    private String to;
-    private LocalDate fromDate;
-    private LocalDate toDate;
-    private LocalDateTime fromDateTime;
-    private LocalDateTime toDateTime;
+    private long from = PackedDate.NONE;
+    private long to = PackedDate.NONE;
+    private String fromText;
+    private String toText;
 
     /**
      * Constructs an Event with the given description and time period.
@@ -26,59 +26,18 @@ public class Event extends Task {
      */
     public Event(String description, String from, String to) {
         super(description);
-        try {
-            Object parsedFrom = DateParser.parseFlexible(from);
-            if (parsedFrom instanceof LocalDateTime) {
-                this.fromDateTime = (LocalDateTime) parsedFrom;
-                this.fromDate = null;
-            } else if (parsedFrom instanceof LocalDate) {
-                this.fromDate = (LocalDate) parsedFrom;
-                this.fromDateTime = null;
-            }
-            this.from = null;
-        } catch (TinManException e) {
-            this.from = from;
-            this.fromDate = null;
-            this.fromDateTime = null;
-        }
+        setFromValue(DateParser.parseFlexibleOrKeep(from));
+        setToValue(DateParser.parseFlexibleOrKeep(to));
+    }
 
-        try {
-            Object parsedTo = DateParser.parseFlexible(to);
-            if (parsedTo instanceof LocalDateTime) {
-                this.toDateTime = (LocalDateTime) parsedTo;
-                this.toDate = null;
-            } else if (parsedTo instanceof LocalDate) {
-                this.toDate = (LocalDate) parsedTo;
-                this.toDateTime = null;
-            }
-            this.to = null;
-        } catch (TinManException e) {
-            this.to = to;
-            this.toDate = null;
-            this.toDateTime = null;
-        }
+    private Event(String description) {
+        super(description);
     }
 
     @Override
     public String toString() {
-        String fromDisplay;
-        if (fromDateTime != null) {
-            fromDisplay = DateParser.formatDateTime(fromDateTime);
-        } else if (fromDate != null) {
-            fromDisplay = DateParser.formatDate(fromDate);
-        } else {
-            fromDisplay = from;
-        }
-
-        String toDisplay;
-        if (toDateTime != null) {
-            toDisplay = DateParser.formatDateTime(toDateTime);
-        } else if (toDate != null) {
-            toDisplay = DateParser.formatDate(toDate);
-        } else {
-            toDisplay = to;
-        }
-
+        String fromDisplay = from != PackedDate.NONE ? PackedDate.format(from) : fromText;
+        String toDisplay = to != PackedDate.NONE ? PackedDate.format(to) : toText;
         return "[E]" + super.toString() + " (from: " + fromDisplay + " to: " + toDisplay + ")";
     }
 
@@ -93,21 +52,7 @@ public class Event extends Task {
      * @param newFrom The new start time as a string.
      */
     public void updateFrom(String newFrom) {
-        try {
-            Object parsedFrom = DateParser.parseFlexible(newFrom);
-            if (parsedFrom instanceof LocalDateTime) {
-                this.fromDateTime = (LocalDateTime) parsedFrom;
-                this.fromDate = null;
-            } else if (parsedFrom instanceof LocalDate) {
-                this.fromDate = (LocalDate) parsedFrom;
-                this.fromDateTime = null;
-            }
-            this.from = null;
-        } catch (TinManException e) {
-            this.from = newFrom;
-            this.fromDate = null;
-            this.fromDateTime = null;
-        }
+        setFromValue(DateParser.parseFlexibleOrKeep(newFrom));
     }
 
     /**
@@ -116,46 +61,90 @@ public class Event extends Task {
      * @param newTo The new end time as a string.
      */
     public void updateTo(String newTo) {
-        try {
-            Object parsedTo = DateParser.parseFlexible(newTo);
-            if (parsedTo instanceof LocalDateTime) {
-                this.toDateTime = (LocalDateTime) parsedTo;
-                this.toDate = null;
-            } else if (parsedTo instanceof LocalDate) {
-                this.toDate = (LocalDate) parsedTo;
-                this.toDateTime = null;
-            }
-            this.to = null;
-        } catch (TinManException e) {
-            this.to = newTo;
-            this.toDate = null;
-            this.toDateTime = null;
+        setToValue(DateParser.parseFlexibleOrKeep(newTo));
+    }
+
+    /**
+     * Returns the start time in whichever form it is stored.
+     *
+     * @return A LocalDateTime, a LocalDate, or the String as entered if it is not a recognised date.
+     */
+    public Object getFromValue() {
+        return from != PackedDate.NONE ? PackedDate.unpack(from) : fromText;
+    }
+
+    /**
+     * Returns the end time in whichever form it is stored.
+     *
+     * @return A LocalDateTime, a LocalDate, or the String as entered if it is not a recognised date.
+     */
+    public Object getToValue() {
+        return to != PackedDate.NONE ? PackedDate.unpack(to) : toText;
+    }
+
+    /**
+     * Returns when the event starts, taking a date without a time as the start of that day.
+     *
+     * @return The start time, or null if the start is not a recognised date.
+     */
+    public LocalDateTime getStartTime() {
+        return from != PackedDate.NONE ? PackedDate.toDateTime(from) : null;
+    }
+
+    /**
+     * Returns the first moment after the event, taking a date without a time as the whole of that day.
+     * An event whose end is not a recognised date, or is not after its start, lasts until the end of
+     * the day it starts on.
+     *
+     * @return The end time, or null if the start is not a recognised date.
+     */
+    public LocalDateTime getEndTime() {
+        LocalDateTime start = getStartTime();
+        if (start == null) {
+            return null;
+        }
+        LocalDateTime end = to != PackedDate.NONE ? PackedDate.toEndTime(to) : null;
+        if (end == null || !end.isAfter(start)) {
+            end = start.toLocalDate().plusDays(1).atStartOfDay();
         }
+        return end;
+    }
+
+    private void setFromValue(Object value) {
+        this.from = PackedDate.pack(value);
+        this.fromText = value instanceof String ? (String) value : null;
+    }
+
+    private void setToValue(Object value) {
+        this.to = PackedDate.pack(value);
+        this.toText = value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Creates an Event from already-parsed start and end values without parsing any date strings.
+     * Each value is a LocalDateTime, a LocalDate, or a String to keep as entered.
+     *
+     * @param description Description of the event.
+     * @param fromValue Start of the event.
+     * @param toValue End of the event.
+     * @return The new Event.
+     */
+    public static Event fromValues(String description, Object fromValue, Object toValue) {
+        Event event = new Event(description);
+        event.setFromValue(fromValue);
+        event.setToValue(toValue);
+        return event;
     }
 
     @Override
     public String toSaveFormat() {
         String status = isDone ? "1" : "0";
 
-        String fromToSave;
-        if (fromDateTime != null) {
-            fromToSave = DateParser.dateTimeToSaveFormat(fromDateTime);
-        } else if (fromDate != null) {
-            fromToSave = DateParser.dateToSaveFormat(fromDate);
-        } else {
-            fromToSave = from;
-        }
-
-        String toToSave;
-        if (toDateTime != null) {
-            toToSave = DateParser.dateTimeToSaveFormat(toDateTime);
-        } else if (toDate != null) {
-            toToSave = DateParser.dateToSaveFormat(toDate);
-        } else {
-            toToSave = to;
-        }
+        String fromToSave = from != PackedDate.NONE ? PackedDate.toSaveFormat(from) : fromText;
+        String toToSave = to != PackedDate.NONE ? PackedDate.toSaveFormat(to) : toText;
 
-        return getTaskType() + " | " + status + " | " + getDescription() + " | " + fromToSave + " | " + toToSave;
+        return getIdSaveFormat() + getTaskType() + " | " + status + " | " + getDescription()
+                + " | " + fromToSave + " | " + toToSave;
     }
 
     /**
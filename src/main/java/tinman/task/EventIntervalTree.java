@@ -0,0 +1,221 @@
+package tinman.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An interval tree over the time ranges of events, kept up to date through {@link TaskListListener}
+ * events, for finding every event that overlaps a period without scanning the list.
+ *
+ * Events are kept in an AVL tree ordered by start time, and each node records the latest end time in
+ * its subtree. A search skips any subtree that ends before the period starts, and stops going right
+ * once events start after the period ends, so the work grows with the number of events found rather
+ * than with the size of the list.
+ * Events whose start is not a recognised date are left out.
+ */
+class EventIntervalTree implements TaskListListener {
+    private final HashMap<Long, Interval> intervals = new HashMap<>();
+    private Node root;
+    private long nextSequence = 0;
+
+    /**
+     * Constructs an interval tree over the events among the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    EventIntervalTree(List<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Finds the events that overlap the given period.
+     *
+     * @param from Start of the period.
+     * @param to End of the period, which is not part of it.
+     * @return The overlapping events, ordered by start time and then by their order in the list.
+     */
+    ArrayList<Event> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Event> events = new ArrayList<>();
+        collect(root, from, to, events);
+        return events;
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        index(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        Interval interval = intervals.remove(task.getId());
+        if (interval != null) {
+            root = delete(root, interval);
+        }
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        onTaskDeleted(index, task);
+        index(task);
+    }
+
+    private void index(Task task) {
+        if (!(task instanceof Event)) {
+            return;
+        }
+        Event event = (Event) task;
+        LocalDateTime start = event.getStartTime();
+        if (start == null) {
+            return;
+        }
+        Interval interval = new Interval(start, event.getEndTime(), nextSequence++, event);
+        intervals.put(event.getId(), interval);
+        root = insert(root, interval);
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Event> events) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, events);
+        if (!node.interval.start.isBefore(to)) {
+            return;
+        }
+        if (node.interval.end.isAfter(from)) {
+            events.add(node.interval.event);
+        }
+        collect(node.right, from, to, events);
+    }
+
+    private static Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (interval.compareTo(node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, Interval interval) {
+        assert node != null : "Interval to delete must be in the tree";
+        int comparison = interval.compareTo(node.interval);
+        if (comparison < 0) {
+            node.left = delete(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, interval);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            // Take the place of the next interval, which is the first one in the right subtree
+            Node next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            node.interval = next.interval;
+            node.right = delete(node.right, next.interval);
+        }
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * The time range of one event. Events that start at the same time are ordered by ID, which is their
+     * order in the list, and then by when they were indexed.
+     */
+    private static class Interval implements Comparable<Interval> {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long sequence;
+        private final Event event;
+
+        Interval(LocalDateTime start, LocalDateTime end, long sequence, Event event) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        @Override
+        public int compareTo(Interval other) {
+            int comparison = start.compareTo(other.start);
+            if (comparison == 0) {
+                comparison = Long.compare(event.getId(), other.event.getId());
+            }
+            return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * An interval and the subtree of intervals around it.
+     */
+    private static class Node {
+        private Interval interval;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end;
+        }
+
+        void update() {
+            height = Math.max(height(left), height(right)) + 1;
+            maxEnd = interval.end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
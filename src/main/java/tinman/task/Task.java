@@ -6,10 +6,21 @@ import tinman.storage.Saveable;
 /**
  * Represents a task with a description and completion status.
  * This is the base class for all types of tasks.
+ *
+ * Descriptions are interned, so tasks with the same description share one copy of its text
+ * however many times it is typed in or loaded.
+ *
+ * A task in a {@link TaskList} is never changed in place once the list may have been read: updates
+ * are applied to a {@link #copy()} that then takes its place, so a snapshot of the list keeps seeing
+ * the task as it was.
  */
-public class Task implements Saveable {
+public class Task implements Saveable, Cloneable {
+    /** ID of a task that has not been added to a task list yet. */
+    public static final long NO_ID = 0;
+
     protected String description;
     protected boolean isDone;
+    private long id = NO_ID;
 
     /**
      * Constructs a Task with the given description.
@@ -18,7 +29,7 @@ public class Task implements Saveable {
      * @param description Description of the task.
      */
     public Task(String description) {
-        this.description = description;
+        this.description = intern(description);
         this.isDone = false;
     }
 
@@ -53,13 +64,48 @@ public class Task implements Saveable {
         return isDone;
     }
 
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives the task its permanent ID. This is done once, by the task list it is added to
+     * or by the loader that reads it back.
+     *
+     * @param id The ID, which must be positive.
+     */
+    public void setId(long id) {
+        assert id > NO_ID : "Task IDs must be positive";
+        assert this.id == NO_ID || this.id == id : "A task's ID never changes";
+        this.id = id;
+    }
+
     /**
      * Updates the task description.
      *
      * @param newDescription The new description for the task.
      */
     public void updateDescription(String newDescription) {
-        this.description = newDescription;
+        this.description = intern(newDescription);
+    }
+
+    /**
+     * Returns a copy of this task with the same ID, which can be changed without affecting this one.
+     * Every field of a task is a value or an immutable object, so a shallow copy is enough.
+     *
+     * @return The copy.
+     */
+    public Task copy() {
+        try {
+            return (Task) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Tasks are cloneable", e);
+        }
+    }
+
+    private static String intern(String description) {
+        // The JVM's string pool holds its strings weakly, so descriptions no task uses any more are freed
+        return description == null ? null : description.intern();
     }
 
     @Override
@@ -70,7 +116,16 @@ public class Task implements Saveable {
     @Override
     public String toSaveFormat() {
         String status = isDone ? "1" : "0";
-        return getTaskType() + " | " + status + " | " + description;
+        return getIdSaveFormat() + getTaskType() + " | " + status + " | " + description;
+    }
+
+    /**
+     * Returns the leading ID field of the save format, or nothing for a task without an ID.
+     *
+     * @return The ID field followed by the separator, or an empty string.
+     */
+    protected String getIdSaveFormat() {
+        return id == NO_ID ? "" : ID_PREFIX + id + SAVE_FORMAT_SEPARATOR;
     }
 
     public String getTaskType() {
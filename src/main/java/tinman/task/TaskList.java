@@ -1,18 +1,61 @@
 package tinman.task;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import tinman.exception.TinManException;
+import tinman.storage.LazyTaskList;
+import tinman.storage.Saveable;
 
 /**
  * Represents a collection of tasks that can be managed.
  * Provides operations for adding, deleting, retrieving, and searching tasks.
+ *
+ * Every task in the list has a permanent ID, handed out in increasing order as tasks are added.
+ * Changes and listeners work by index, so a hash map from each ID to the task's index answers lookups
+ * by ID in constant time. Deleting a task moves every later task up by one, and rather than shift the
+ * map on every delete, the list remembers the first index that may be out of date. The next lookup of a
+ * task at or after it first re-reads the IDs from there to the end of the list, which takes one list
+ * read per task (logarithmic on the tree backing, and without parsing tasks on the lazy backing).
+ * Tasks loaded from data saved before IDs existed are numbered in list order the first time an ID is
+ * needed.
+ *
+ * The list is safe to use from several threads. Each method takes the read or the write half of a fair
+ * {@link #getLock() read-write lock}, so searches run in parallel with each other while changes are
+ * applied one at a time, in the order they asked for the lock. Callers that need several calls to
+ * apply together, such as a command that checks a task and then deletes it, hold the write lock
+ * around them. Indexes are built the first time they are needed, under the write lock, before the
+ * read lock is taken, since a read lock cannot be upgraded.
+ *
+ * Readers that should not wait for the lock at all take a {@link #snapshot()} instead: the list is
+ * copied on the first change after a snapshot, and updates replace a task with a changed copy, so a
+ * snapshot never changes. Taking a snapshot costs nothing while the list stays unchanged, and the
+ * copy is only made once however many snapshots share it.
  */
 public class TaskList {
     private static final int MINIMUM_VALID_INDEX = 0;
-    private ArrayList<Task> tasks;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+    private List<Task> tasks;
+    private final ArrayList<TaskListListener> listeners = new ArrayList<>();
+    private volatile TrigramIndex trigramIndex;
+    private volatile TaskStatistics statistics;
+    private volatile EventIntervalTree eventIntervals;
+    private volatile DeadlineQueue deadlineQueue;
+    private volatile HashMap<Long, Integer> indexesById;
+    /** Index from which the entries of {@link #indexesById} may be out of date after a delete. */
+    private int firstStaleIndex = 0;
+    private long nextId = Task.NO_ID + 1;
+    private boolean areIdsAssigned = false;
+    /** Whether the backing list belongs to a snapshot, so it must be copied before the next change. */
+    private boolean isShared = false;
+    private volatile long version = 0;
+    private volatile TaskListSnapshot latestSnapshot;
 
     /**
      * Constructs an empty TaskList.
@@ -27,11 +70,23 @@ public class TaskList {
      *
      * @param tasks List of tasks to initialize with.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         this.tasks = tasks != null ? tasks : new ArrayList<>();
         assert this.tasks != null : "Class invariant: tasks list should never be null";
     }
 
+    /**
+     * Constructs a TaskList with the given list of tasks that continues handing out IDs from the given one,
+     * so that the IDs of tasks deleted before the tasks were saved are not reused.
+     *
+     * @param tasks List of tasks to initialize with.
+     * @param nextId The next free ID saved with the tasks, or {@link Task#NO_ID} if none was saved.
+     */
+    public TaskList(List<Task> tasks, long nextId) {
+        this(tasks);
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
     /**
      * Adds a task to the task list.
      *
@@ -39,7 +94,53 @@ public class TaskList {
      */
     public void addTask(Task task) {
         assert task != null : "Cannot add null task to list";
-        tasks.add(task);
+        lockForWriting();
+        try {
+            ensureIdsAssigned();
+            if (task.getId() == Task.NO_ID) {
+                task.setId(nextId);
+            }
+            nextId = Math.max(nextId, task.getId() + 1);
+            copyIfShared();
+            tasks.add(task);
+            version++;
+            int index = tasks.size() - 1;
+            if (indexesById != null) {
+                Integer previous = indexesById.put(task.getId(), index);
+                assert previous == null : "Task IDs must be unique";
+                if (firstStaleIndex == index) {
+                    firstStaleIndex++;
+                }
+            }
+            listeners.forEach(listener -> listener.onTaskAdded(index, task));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a listener to be notified of every subsequent change to this list.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListListener listener) {
+        assert listener != null : "Cannot register null listener";
+        lockForWriting();
+        try {
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the lock guarding this list. Hold its write lock around calls that must apply together;
+     * single calls take the lock they need themselves.
+     *
+     * @return The read-write lock of this list.
+     */
+    public ReentrantReadWriteLock getLock() {
+        return lock;
     }
 
     /**
@@ -50,10 +151,15 @@ public class TaskList {
      * @throws TinManException If the index is invalid.
      */
     public Task getTask(int index) throws TinManException {
-        validateTaskIndex(index);
-        Task task = tasks.get(index);
-        assert task != null : "Tasks in list should never be null - internal invariant violated";
-        return task;
+        lock.readLock().lock();
+        try {
+            validateTaskIndex(index);
+            Task task = tasks.get(index);
+            assert task != null : "Tasks in list should never be null - internal invariant violated";
+            return task;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -64,20 +170,98 @@ public class TaskList {
      * @throws TinManException If the index is invalid.
      */
     public Task deleteTask(int index) throws TinManException {
-        validateTaskIndex(index);
-        int originalSize = tasks.size();
-        Task deletedTask = tasks.remove(index);
-        assert deletedTask != null : "Deleted task should never be null - internal invariant violated";
-        assert tasks.size() == originalSize - 1 : "List size should decrease by exactly 1 after deletion";
-        return deletedTask;
+        lockForWriting();
+        try {
+            validateTaskIndex(index);
+            copyIfShared();
+            int originalSize = tasks.size();
+            Task deletedTask = tasks.remove(index);
+            version++;
+            assert deletedTask != null : "Deleted task should never be null - internal invariant violated";
+            assert tasks.size() == originalSize - 1 : "List size should decrease by exactly 1 after deletion";
+            if (indexesById != null) {
+                indexesById.remove(deletedTask.getId());
+                firstStaleIndex = Math.min(firstStaleIndex, index);
+            }
+            listeners.forEach(listener -> listener.onTaskDeleted(index, deletedTask));
+            return deletedTask;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Modifies the task at the specified index and notifies listeners of the change.
+     * The modification is applied to a copy of the task, which then replaces it, so snapshots holding
+     * the task never see it change. All task modifications should go through this method so that
+     * anything tracking the list (such as the storage journal) sees them.
+     *
+     * @param index Zero-based index of the task to modify.
+     * @param updater The modification to apply.
+     * @return The modified task, which is a different object from the one it replaced.
+     * @throws TinManException If the index is invalid or the modification fails.
+     */
+    public Task updateTask(int index, TaskUpdater updater) throws TinManException {
+        lockForWriting();
+        try {
+            Task task = getTask(index).copy();
+            updater.update(task);
+            copyIfShared();
+            tasks.set(index, task);
+            version++;
+            listeners.forEach(listener -> listener.onTaskUpdated(index, task));
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current index of the task with the given ID. This takes constant time, unless a task
+     * before it has been deleted since the last lookup, in which case the lookup first re-reads the IDs
+     * of the tasks from the earliest such deletion to the end of the list.
+     *
+     * @param id Permanent ID of the task.
+     * @return Zero-based index of the task.
+     * @throws TinManException If no task has the ID, or if the loaded data gives two tasks the same ID.
+     */
+    public int getTaskIndexById(long id) throws TinManException {
+        HashMap<Long, Integer> indexes = getIndexesById();
+        lock.readLock().lock();
+        try {
+            Integer index = indexes.get(id);
+            if (index != null && index < firstStaleIndex) {
+                return index;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // The ID is unknown, or a task before it was deleted since the indexes were last brought up to date
+        lockForWriting();
+        try {
+            refreshIndexes();
+            Integer index = indexesById.get(id);
+            if (index == null) {
+                throw new TinManException.TaskNotFoundException();
+            }
+            return index;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public int getTaskCount() {
-        return tasks.size();
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public boolean isValidIndex(int index) {
-        return index >= MINIMUM_VALID_INDEX && index < tasks.size();
+        return index >= MINIMUM_VALID_INDEX && index < getTaskCount();
     }
 
     /**
@@ -86,26 +270,83 @@ public class TaskList {
      * @return String representation of all tasks in the list.
      */
     public String listTasks() {
-        if (tasks.isEmpty()) {
-            return "Here are the tasks in your list:\n (empty)";
-        }
+        return snapshot().listTasks();
+    }
 
-        String taskListBody = IntStream.range(0, tasks.size())
-                .mapToObj(i -> "\n " + (i + 1) + "." + tasks.get(i))
-                .collect(Collectors.joining());
+    /**
+     * Writes the listing of all tasks to the given output one row at a time, so that a long list is
+     * never held in memory as a single string. The listing is written from a snapshot, so it needs
+     * no lock and does not hold up changes while it is written.
+     *
+     * @param out Where to write the listing.
+     * @param isShowingIds Whether to follow each task with its permanent ID.
+     * @throws IOException If writing to the output fails.
+     */
+    public void writeTasks(Appendable out, boolean isShowingIds) throws IOException {
+        snapshot().writeTasks(out, isShowingIds);
+    }
+
+    /**
+     * Writes the listing of one page of tasks to the given output one row at a time, from a snapshot.
+     * Tasks keep the numbers they have in the full list.
+     *
+     * @param out Where to write the listing.
+     * @param page One-based number of the page to write.
+     * @param pageSize Number of tasks on each page.
+     * @param isShowingIds Whether to follow each task with its permanent ID.
+     * @throws TinManException If the page is not a positive number or lies past the last page.
+     * @throws IOException If writing to the output fails.
+     */
+    public void writeTaskPage(Appendable out, int page, int pageSize, boolean isShowingIds)
+            throws TinManException, IOException {
+        snapshot().writeTaskPage(out, page, pageSize, isShowingIds);
+    }
 
-        return "Here are the tasks in your list:" + taskListBody;
+    /**
+     * Returns the tasks as they are now, which cannot change afterwards.
+     * If nothing has changed since the last snapshot, that snapshot is returned without locking;
+     * otherwise the write lock is held just long enough to publish the current version.
+     *
+     * @return A snapshot of the current version of the list.
+     */
+    public TaskListSnapshot snapshot() {
+        TaskListSnapshot snapshot = latestSnapshot;
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
+        lockForWriting();
+        try {
+            // Listings show IDs, so tasks loaded without them are numbered before the list is shared
+            ensureIdsAssigned();
+            snapshot = latestSnapshot;
+            if (snapshot == null || snapshot.getVersion() != version) {
+                isShared = true;
+                snapshot = new TaskListSnapshot(tasks, version);
+                latestSnapshot = snapshot;
+            }
+            return snapshot;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
-    public ArrayList<Task> getTasks() {
+    /**
+     * Returns the backing list itself, which may only be read while holding the read or write lock.
+     * Readers that do not hold the lock should use {@link #snapshot()}.
+     *
+     * @return The tasks in list order.
+     */
+    public List<Task> getTasks() {
         return tasks;
     }
 
     /**
      * Finds tasks that contain the given keyword in their description.
+     * The first search builds a trigram index over the list, which later changes keep up to date,
+     * so later searches only look at tasks containing every trigram of the keyword.
      *
      * @param keyword The keyword to search for in task descriptions.
-     * @return List of tasks that match the keyword.
+     * @return List of tasks that match the keyword, in list order.
      */
     public ArrayList<Task> findTasks(String keyword) {
         assert keyword != null : "Search keyword cannot be null";
@@ -113,36 +354,326 @@ public class TaskList {
 
         String lowerKeyword = keyword.toLowerCase().trim();
 
-        ArrayList<Task> matchingTasks = tasks.stream()
-                .peek(task -> {
-                    assert task != null : "Internal invariant: task in list should not be null";
-                })
-                .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toCollection(ArrayList::new));
+        TrigramIndex index = lowerKeyword.length() >= TrigramIndex.GRAM_LENGTH ? getTrigramIndex() : null;
+        ArrayList<Task> matchingTasks;
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                matchingTasks = index.find(lowerKeyword);
+            } else {
+                matchingTasks = tasks.stream()
+                        .peek(task -> {
+                            assert task != null : "Internal invariant: task in list should not be null";
+                        })
+                        .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
+                        .collect(Collectors.toCollection(ArrayList::new));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
 
         assert matchingTasks != null : "Postcondition: result should never be null";
         return matchingTasks;
     }
 
+    /**
+     * Finds tasks whose description contains text within the given number of single-character
+     * insertions, deletions or substitutions of the keyword, ignoring case.
+     *
+     * @param keyword The keyword to search for in task descriptions.
+     * @param maxDistance The largest number of edits allowed.
+     * @return List of tasks that match the keyword, in list order.
+     */
+    public ArrayList<Task> findTasksFuzzy(String keyword, int maxDistance) {
+        assert keyword != null : "Search keyword cannot be null";
+        assert !keyword.trim().isEmpty() : "Search keyword cannot be empty";
+        assert maxDistance >= 0 : "Edit distance cannot be negative";
+
+        TrigramIndex index = getTrigramIndex();
+        lock.readLock().lock();
+        try {
+            return index.findFuzzy(keyword.toLowerCase().trim(), maxDistance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private HashMap<Long, Integer> getIndexesById() throws TinManException {
+        if (indexesById != null) {
+            return indexesById;
+        }
+        lockForWriting();
+        try {
+            if (indexesById == null) {
+                ensureIdsAssigned();
+                HashMap<Long, Integer> indexes = new HashMap<>();
+                for (int i = 0; i < tasks.size(); i++) {
+                    long id = getIdAt(i);
+                    if (indexes.put(id, i) != null) {
+                        throw new TinManException.CorruptedDataException(
+                                "Data file has more than one task with ID " + Saveable.ID_PREFIX + id);
+                    }
+                    nextId = Math.max(nextId, id + 1);
+                }
+                firstStaleIndex = tasks.size();
+                indexesById = indexes;
+            }
+            return indexesById;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the indexes of the tasks after the earliest delete since the last refresh up to date.
+     * Must be called with the write lock held.
+     */
+    private void refreshIndexes() {
+        for (int i = firstStaleIndex; i < tasks.size(); i++) {
+            indexesById.put(getIdAt(i), i);
+        }
+        firstStaleIndex = tasks.size();
+    }
+
+    /**
+     * Returns the ID of the task at the given index, without parsing the task if the lazy loader has
+     * not read it yet.
+     */
+    private long getIdAt(int index) {
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).getId(index);
+        }
+        return tasks.get(index).getId();
+    }
+
+    /**
+     * Works out the next ID to hand out, first numbering every task that has no ID if the list was
+     * loaded from data saved before tasks had IDs. Listeners are told about each numbered task so
+     * that the new IDs are saved.
+     */
+    private void ensureIdsAssigned() {
+        if (areIdsAssigned) {
+            return;
+        }
+        areIdsAssigned = true;
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long lastId = getIdAt(tasks.size() - 1);
+        if (lastId != Task.NO_ID) {
+            nextId = Math.max(nextId, lastId + 1);
+            return;
+        }
+
+        nextId = Math.max(nextId, tasks.stream().mapToLong(Task::getId).max().getAsLong() + 1);
+        copyIfShared();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getId() == Task.NO_ID) {
+                Task task = tasks.get(i).copy();
+                task.setId(nextId++);
+                tasks.set(i, task);
+                int index = i;
+                listeners.forEach(listener -> listener.onTaskUpdated(index, task));
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Gives the task list a backing list of its own if the current one belongs to a snapshot.
+     */
+    private void copyIfShared() {
+        if (!isShared) {
+            return;
+        }
+        if (tasks instanceof ColumnarTaskList) {
+            tasks = ((ColumnarTaskList) tasks).copy();
+        } else if (tasks instanceof LazyTaskList) {
+            tasks = ((LazyTaskList) tasks).copy();
+        } else if (tasks instanceof TreeTaskList) {
+            tasks = new TreeTaskList(tasks);
+        } else {
+            tasks = new ArrayList<>(tasks);
+        }
+        isShared = false;
+    }
+
+    /**
+     * Takes the write lock. A thread holding only the read lock would wait for itself forever.
+     */
+    private void lockForWriting() {
+        assert lock.isWriteLockedByCurrentThread() || lock.getReadHoldCount() == 0 : "Read lock cannot be upgraded";
+        lock.writeLock().lock();
+    }
+
+    private EventIntervalTree getEventIntervals() {
+        if (eventIntervals != null) {
+            return eventIntervals;
+        }
+        lockForWriting();
+        try {
+            if (eventIntervals == null) {
+                ensureIdsAssigned();
+                EventIntervalTree index = new EventIntervalTree(tasks);
+                addListener(index);
+                eventIntervals = index;
+            }
+            return eventIntervals;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private DeadlineQueue getDeadlineQueue() {
+        if (deadlineQueue != null) {
+            return deadlineQueue;
+        }
+        lockForWriting();
+        try {
+            if (deadlineQueue == null) {
+                ensureIdsAssigned();
+                DeadlineQueue queue = new DeadlineQueue(tasks);
+                addListener(queue);
+                deadlineQueue = queue;
+            }
+            return deadlineQueue;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private TrigramIndex getTrigramIndex() {
+        if (trigramIndex != null) {
+            return trigramIndex;
+        }
+        lockForWriting();
+        try {
+            if (trigramIndex == null) {
+                ensureIdsAssigned();
+                TrigramIndex index = new TrigramIndex(tasks);
+                addListener(index);
+                trigramIndex = index;
+            }
+            return trigramIndex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events that take place at least partly within the given period.
+     * The first search builds an interval tree over all events, which later changes keep up to date.
+     *
+     * @param from Start of the period.
+     * @param to End of the period, which is not part of it.
+     * @return The events overlapping the period, ordered by start time and then by their order in the list.
+     */
+    public ArrayList<Event> findEventsBetween(LocalDateTime from, LocalDateTime to) {
+        assert from.isBefore(to) : "Period must end after it starts";
+        EventIntervalTree index = getEventIntervals();
+        lock.readLock().lock();
+        try {
+            return index.findOverlapping(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events in the list whose time overlaps the given event's.
+     *
+     * @param event The event to check, which need not be in the list.
+     * @return The other events overlapping it, ordered by start time, or none if its start is not a date.
+     */
+    public ArrayList<Event> findConflictingEvents(Event event) {
+        LocalDateTime start = event.getStartTime();
+        if (start == null) {
+            return new ArrayList<>();
+        }
+        EventIntervalTree index = getEventIntervals();
+        ArrayList<Event> conflicts;
+        lock.readLock().lock();
+        try {
+            conflicts = index.findOverlapping(start, event.getEndTime());
+        } finally {
+            lock.readLock().unlock();
+        }
+        // An event in the list may have been replaced by an updated copy since the caller read it
+        conflicts.removeIf(other -> other == event || other.getId() == event.getId() && event.getId() != Task.NO_ID);
+        return conflicts;
+    }
+
+    /**
+     * Finds the pending deadlines that fall due first, including any that are already overdue.
+     * The first search queues every pending deadline by due time, and later changes keep the queue up to date.
+     *
+     * @param limit The most deadlines to return.
+     * @param latest The latest due time to include.
+     * @return Up to {@code limit} pending deadlines due no later than {@code latest}, ordered by due time
+     *         and then by their order in the list. Deadlines whose date is not recognised are left out.
+     */
+    public ArrayList<Deadline> findUpcomingDeadlines(int limit, LocalDateTime latest) {
+        DeadlineQueue queue = getDeadlineQueue();
+        lock.readLock().lock();
+        try {
+            return queue.findNext(limit, latest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * Checks if any task in the list is marked as done.
      *
      * @return true if at least one task is done, false otherwise.
      */
     public boolean hasCompletedTasks() {
-        return tasks.stream()
-                .anyMatch(Task::getIsDone);
+        return getCompletedTaskCount() > 0;
     }
 
     /**
-     * Returns the count of completed tasks using streams.
+     * Returns the count of completed tasks.
      *
      * @return Number of completed tasks.
      */
     public long getCompletedTaskCount() {
-        return tasks.stream()
-                .filter(Task::getIsDone)
-                .count();
+        if (statistics == null) {
+            lock.readLock().lock();
+            try {
+                if (tasks instanceof ColumnarTaskList) {
+                    // Scanning the done flags is cheaper than creating an object for every task to count it
+                    return ((ColumnarTaskList) tasks).getDoneCount();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return getStatistics().getDoneCount();
+    }
+
+    /**
+     * Returns summary counts over the list, such as done and pending tasks of each type.
+     * The first call counts every task; the counts are then kept up to date as the list changes,
+     * so reading them takes constant time.
+     *
+     * @return The statistics of this list.
+     */
+    public TaskStatistics getStatistics() {
+        if (statistics != null) {
+            return statistics;
+        }
+        lockForWriting();
+        try {
+            if (statistics == null) {
+                ensureIdsAssigned();
+                TaskStatistics counts = new TaskStatistics(tasks, Clock.systemDefaultZone());
+                addListener(counts);
+                statistics = counts;
+            }
+            return statistics;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
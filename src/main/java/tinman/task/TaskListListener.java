@@ -0,0 +1,31 @@
+package tinman.task;
+
+/**
+ * Receives notifications whenever the contents of a {@link TaskList} change.
+ * Listeners are told about every add, delete and update, in the order they happen.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task has been appended to the list.
+     *
+     * @param index Zero-based index the task was added at.
+     * @param task The task that was added.
+     */
+    void onTaskAdded(int index, Task task);
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param index Zero-based index the task was removed from.
+     * @param task The task that was removed.
+     */
+    void onTaskDeleted(int index, Task task);
+
+    /**
+     * Called after a task in the list has been replaced by a modified copy.
+     *
+     * @param index Zero-based index of the modified task.
+     * @param task The task after modification, which has the same ID as the one it replaced.
+     */
+    void onTaskUpdated(int index, Task task);
+}
@@ -0,0 +1,127 @@
+package tinman.task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.storage.Saveable;
+
+/**
+ * A task list as it was at one version, taken with {@link TaskList#snapshot()}.
+ *
+ * Neither the list nor the tasks in it change after the snapshot is taken, as the task list copies
+ * its backing list before the next change and replaces a task with a changed copy when it is updated.
+ * A snapshot can therefore be read from any thread, for as long as needed, without holding up changes.
+ */
+public class TaskListSnapshot {
+    private final List<Task> tasks;
+    private final long version;
+
+    /**
+     * Constructs a snapshot of the given tasks.
+     *
+     * @param tasks The tasks, which nothing changes from now on.
+     * @param version The version of the task list the tasks belong to.
+     */
+    TaskListSnapshot(List<Task> tasks, long version) {
+        this.tasks = tasks;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the task list this snapshot was taken at. Every change to the list
+     * gives it a new, higher version.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the tasks in the snapshot, which must not be changed.
+     *
+     * @return The tasks in list order.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns a formatted string listing all tasks.
+     *
+     * @return String representation of all tasks in the snapshot.
+     */
+    public String listTasks() {
+        StringBuilder result = new StringBuilder();
+        try {
+            writeTasks(result, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Appending to a StringBuilder cannot fail", e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes the listing of all tasks to the given output one row at a time, so that a long list is
+     * never held in memory as a single string.
+     *
+     * @param out Where to write the listing.
+     * @param isShowingIds Whether to follow each task with its permanent ID.
+     * @throws IOException If writing to the output fails.
+     */
+    public void writeTasks(Appendable out, boolean isShowingIds) throws IOException {
+        if (tasks.isEmpty()) {
+            out.append("Here are the tasks in your list:\n (empty)");
+            return;
+        }
+        out.append("Here are the tasks in your list:");
+        writeRows(out, 0, tasks.size(), isShowingIds);
+    }
+
+    /**
+     * Writes the listing of one page of tasks to the given output one row at a time.
+     * Tasks keep the numbers they have in the full list.
+     *
+     * @param out Where to write the listing.
+     * @param page One-based number of the page to write.
+     * @param pageSize Number of tasks on each page.
+     * @param isShowingIds Whether to follow each task with its permanent ID.
+     * @throws TinManException If the page is not a positive number or lies past the last page.
+     * @throws IOException If writing to the output fails.
+     */
+    public void writeTaskPage(Appendable out, int page, int pageSize, boolean isShowingIds)
+            throws TinManException, IOException {
+        assert pageSize > 0 : "Pages must hold at least one task";
+        int pageCount = Math.max(1, (tasks.size() + pageSize - 1) / pageSize);
+        if (page < 1 || page > pageCount) {
+            throw new TinManException("There is no page " + page + "; at " + pageSize + " tasks per page the list has "
+                    + pageCount + " page" + (pageCount == 1 ? "" : "s") + ".");
+        }
+        if (tasks.isEmpty()) {
+            out.append("Here are the tasks in your list:\n (empty)");
+            return;
+        }
+        int from = (page - 1) * pageSize;
+        int to = Math.min(from + pageSize, tasks.size());
+        out.append("Here are tasks ").append(String.valueOf(from + 1)).append("-").append(String.valueOf(to))
+                .append(" of ").append(String.valueOf(tasks.size())).append(" in your list (page ")
+                .append(String.valueOf(page)).append(" of ").append(String.valueOf(pageCount)).append("):");
+        writeRows(out, from, to, isShowingIds);
+    }
+
+    private void writeRows(Appendable out, int from, int to, boolean isShowingIds) throws IOException {
+        for (int i = from; i < to; i++) {
+            Task task = tasks.get(i);
+            out.append("\n ").append(String.valueOf(i + 1)).append(".").append(task.toString());
+            if (isShowingIds) {
+                out.append(" ").append(Saveable.ID_PREFIX).append(String.valueOf(task.getId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package tinman.task;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary counts over a task list that are kept up to date through {@link TaskListListener} events,
+ * so reading them never walks the list.
+ *
+ * Done and pending counts only change when tasks do. Overdue deadlines and today's events also change
+ * as time passes: pending deadlines that are not yet overdue are kept ordered by due time, and each
+ * read moves those that have fallen due into the overdue count, so every deadline is moved at most
+ * once. Today's events are counted for one day at a time and recounted from the tracked events when
+ * the date changes. Dates that were not recognised when entered are never overdue or today.
+ *
+ * Since reading can move deadlines into the overdue count, every method is synchronized, so the
+ * statistics can be read from several threads while the task list reports its changes.
+ */
+public class TaskStatistics implements TaskListListener {
+    private final Clock clock;
+    private final HashMap<Long, Snapshot> snapshots = new HashMap<>();
+    private final HashMap<String, Integer> doneCounts = new HashMap<>();
+    private final HashMap<String, Integer> pendingCounts = new HashMap<>();
+    private int doneCount = 0;
+
+    /** Due times of pending deadlines after {@link #overdueBoundary}, with how many share each. */
+    private final TreeMap<LocalDateTime, Integer> upcomingDeadlines = new TreeMap<>();
+    private LocalDateTime overdueBoundary = LocalDateTime.MIN;
+    private int overdueCount = 0;
+
+    private final HashSet<Snapshot> datedEvents = new HashSet<>();
+    private LocalDate countedDay;
+    private int eventsOnCountedDay = 0;
+
+    /**
+     * Constructs statistics over the given tasks.
+     *
+     * @param tasks The tasks to count.
+     * @param clock The clock that decides which deadlines are overdue and which events are today.
+     */
+    TaskStatistics(List<Task> tasks, Clock clock) {
+        this.clock = clock;
+        this.countedDay = LocalDate.now(clock);
+        for (Task task : tasks) {
+            count(task);
+        }
+    }
+
+    public synchronized int getDoneCount() {
+        return doneCount;
+    }
+
+    /**
+     * Returns how many tasks of the given type are done.
+     *
+     * @param taskType The task type code, such as {@code "T"}, {@code "D"} or {@code "E"}.
+     * @return Number of done tasks of that type.
+     */
+    public synchronized int getDoneCount(String taskType) {
+        return doneCounts.getOrDefault(taskType, 0);
+    }
+
+    /**
+     * Returns how many tasks of the given type are not done yet.
+     *
+     * @param taskType The task type code, such as {@code "T"}, {@code "D"} or {@code "E"}.
+     * @return Number of pending tasks of that type.
+     */
+    public synchronized int getPendingCount(String taskType) {
+        return pendingCounts.getOrDefault(taskType, 0);
+    }
+
+    public synchronized int getTaskCount() {
+        return snapshots.size();
+    }
+
+    /**
+     * Returns how many pending deadlines have reached their due time. A deadline given as a date
+     * without a time is overdue from the start of the following day.
+     *
+     * @return Number of overdue deadlines.
+     */
+    public synchronized int getOverdueDeadlineCount() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.isAfter(overdueBoundary)) {
+            Map<LocalDateTime, Integer> fallenDue = upcomingDeadlines.headMap(now, true);
+            for (int count : fallenDue.values()) {
+                overdueCount += count;
+            }
+            fallenDue.clear();
+            overdueBoundary = now;
+        }
+        return overdueCount;
+    }
+
+    /**
+     * Returns how many events, done or not, take place at least partly today.
+     *
+     * @return Number of events happening today.
+     */
+    public synchronized int getEventsTodayCount() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(countedDay)) {
+            countedDay = today;
+            eventsOnCountedDay = (int) datedEvents.stream().filter(event -> event.isOn(today)).count();
+        }
+        return eventsOnCountedDay;
+    }
+
+    @Override
+    public synchronized void onTaskAdded(int index, Task task) {
+        count(task);
+    }
+
+    @Override
+    public synchronized void onTaskDeleted(int index, Task task) {
+        uncount(task);
+    }
+
+    @Override
+    public synchronized void onTaskUpdated(int index, Task task) {
+        uncount(task);
+        count(task);
+    }
+
+    @Override
+    public synchronized String toString() {
+        int overdue = getOverdueDeadlineCount();
+        int eventsToday = getEventsTodayCount();
+        return "Here is a summary of your tasks:"
+                + formatType("Todos", "T", "")
+                + formatType("Deadlines", "D", ", " + overdue + " overdue")
+                + formatType("Events", "E", ", " + eventsToday + " today")
+                + "\n Total: " + doneCount + " done, " + (getTaskCount() - doneCount) + " pending";
+    }
+
+    private String formatType(String label, String taskType, String extra) {
+        return "\n " + label + ": " + getDoneCount(taskType) + " done, " + getPendingCount(taskType) + " pending"
+                + extra;
+    }
+
+    private void count(Task task) {
+        Snapshot snapshot = new Snapshot(task);
+        Snapshot previous = snapshots.put(task.getId(), snapshot);
+        assert previous == null : "Task is already counted";
+        HashMap<String, Integer> counts = snapshot.isDone ? doneCounts : pendingCounts;
+        counts.merge(snapshot.taskType, 1, Integer::sum);
+        doneCount += snapshot.isDone ? 1 : 0;
+        if (snapshot.dueAt != null) {
+            if (!snapshot.dueAt.isAfter(overdueBoundary)) {
+                overdueCount++;
+            } else {
+                upcomingDeadlines.merge(snapshot.dueAt, 1, Integer::sum);
+            }
+        }
+        if (snapshot.firstDay != null) {
+            datedEvents.add(snapshot);
+            eventsOnCountedDay += snapshot.isOn(countedDay) ? 1 : 0;
+        }
+    }
+
+    private void uncount(Task task) {
+        Snapshot snapshot = snapshots.remove(task.getId());
+        assert snapshot != null : "Task was never counted";
+        HashMap<String, Integer> counts = snapshot.isDone ? doneCounts : pendingCounts;
+        counts.merge(snapshot.taskType, -1, Integer::sum);
+        doneCount -= snapshot.isDone ? 1 : 0;
+        if (snapshot.dueAt != null) {
+            if (!snapshot.dueAt.isAfter(overdueBoundary)) {
+                overdueCount--;
+            } else {
+                upcomingDeadlines.computeIfPresent(snapshot.dueAt, (dueAt, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        if (snapshot.firstDay != null) {
+            datedEvents.remove(snapshot);
+            eventsOnCountedDay -= snapshot.isOn(countedDay) ? 1 : 0;
+        }
+    }
+
+    private static LocalDate toDate(Object value) {
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toLocalDate();
+        }
+        return value instanceof LocalDate ? (LocalDate) value : null;
+    }
+
+    /**
+     * The state a task was counted with, so its counts can be taken back after it has changed.
+     */
+    private static class Snapshot {
+        private final String taskType;
+        private final boolean isDone;
+        /** When a pending deadline becomes overdue, or null if the task is not one or has no known date. */
+        private final LocalDateTime dueAt;
+        /** The days an event spans, or null if the task is not one or has no known start date. */
+        private final LocalDate firstDay;
+        private final LocalDate lastDay;
+
+        Snapshot(Task task) {
+            taskType = task.getTaskType();
+            isDone = task.getIsDone();
+            dueAt = task instanceof Deadline && !isDone ? ((Deadline) task).getDueTime() : null;
+
+            LocalDate first = null;
+            LocalDate last = null;
+            if (task instanceof Event) {
+                first = toDate(((Event) task).getFromValue());
+                last = toDate(((Event) task).getToValue());
+                if (first != null && (last == null || last.isBefore(first))) {
+                    last = first;
+                }
+            }
+            firstDay = first;
+            lastDay = last;
+        }
+
+        boolean isOn(LocalDate day) {
+            return firstDay != null && !day.isBefore(firstDay) && !day.isAfter(lastDay);
+        }
+    }
+}
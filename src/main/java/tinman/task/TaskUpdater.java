@@ -0,0 +1,18 @@
+package tinman.task;
+
+import tinman.exception.TinManException;
+
+/**
+ * Represents a modification applied to a task through {@link TaskList#updateTask}.
+ * The modification is made to a copy of the task, which then replaces it in the list.
+ */
+@FunctionalInterface
+public interface TaskUpdater {
+    /**
+     * Applies the modification to the given task.
+     *
+     * @param task The copy of the task to modify.
+     * @throws TinManException If the modification is invalid for the task.
+     */
+    void update(Task task) throws TinManException;
+}
@@ -0,0 +1,248 @@
+package tinman.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of tasks kept in a balanced binary tree, so that getting, inserting and removing the task at
+ * any position all take logarithmic time. Deleting many tasks from a large {@link TaskList} backed by
+ * an {@link java.util.ArrayList} shifts the rest of the array on every delete; this list does not.
+ *
+ * The tree is an AVL tree ordered by position rather than by any key. Each node records the number
+ * of tasks in its subtree, so the node at a given position is found by comparing the position with
+ * the size of the left subtree on the way down.
+ */
+public class TreeTaskList extends AbstractList<Task> {
+    private Node root;
+
+    /**
+     * Constructs an empty list.
+     */
+    public TreeTaskList() {
+    }
+
+    /**
+     * Constructs a list holding the given tasks in the same order, building a balanced tree in linear time.
+     *
+     * @param tasks The tasks to copy.
+     */
+    public TreeTaskList(List<Task> tasks) {
+        Task[] copy = tasks.toArray(new Task[0]);
+        root = build(copy, 0, copy.length);
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size());
+        return nodeAt(root, index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        checkIndex(index, size());
+        Node node = nodeAt(root, index);
+        Task previous = node.task;
+        node.task = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Cannot store null task";
+        checkIndex(index, size() + 1);
+        root = insert(root, index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        checkIndex(index, size());
+        Task removed = nodeAt(root, index).task;
+        root = delete(root, index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns an iterator that walks the tree in order, taking constant time per task on average
+     * rather than looking each position up from the root.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node> path = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+
+            {
+                descendLeft(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = path.pop();
+                descendLeft(node.right);
+                return node.task;
+            }
+
+            private void descendLeft(Node node) {
+                for (; node != null; node = node.left) {
+                    path.push(node);
+                }
+            }
+        };
+    }
+
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        assert tasks[middle] != null : "Cannot store null task";
+        Node node = new Node(tasks[middle]);
+        node.left = build(tasks, from, middle);
+        node.right = build(tasks, middle + 1, to);
+        node.update();
+        return node;
+    }
+
+    private static Node nodeAt(Node node, int index) {
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return new Node(task);
+        }
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, task);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, task);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            // Take the place of the next task, which is the first one in the right subtree
+            node.task = nodeAt(node.right, 0).task;
+            node.right = delete(node.right, 0);
+        }
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    /**
+     * A task and the subtree of tasks around it.
+     */
+    private static class Node {
+        private Task task;
+        private Node left;
+        private Node right;
+        private int size = 1;
+        private int height = 1;
+
+        Node(Task task) {
+            this.task = task;
+        }
+
+        void update() {
+            size = sizeOf(left) + sizeOf(right) + 1;
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package tinman.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An index from every three-character sequence (trigram) of the lowercase task descriptions to the
+ * tasks containing it.
+ *
+ * A description can only contain a keyword if it contains every trigram of that keyword, so a search
+ * walks the shortest posting list and checks the others for each candidate before comparing the full
+ * text. Each trigram is packed into a long key.
+ */
+class TrigramIndex extends DescriptionIndex<Long> {
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Constructs an index over the given tasks.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    TrigramIndex(List<Task> tasks) {
+        super(new HashMap<>());
+        indexAll(tasks);
+    }
+
+    /**
+     * Finds tasks whose lowercase description contains the given lowercase keyword.
+     *
+     * @param lowerKeyword The keyword to search for, at least {@link #GRAM_LENGTH} characters long.
+     * @return Matching tasks in list order.
+     */
+    ArrayList<Task> find(String lowerKeyword) {
+        assert lowerKeyword.length() >= GRAM_LENGTH : "Keyword is too short to have trigrams";
+        ArrayList<TreeSet<Long>> keywordPostings = new ArrayList<>();
+        for (long gram : grams(lowerKeyword)) {
+            TreeSet<Long> posting = getPosting(gram);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            keywordPostings.add(posting);
+        }
+        keywordPostings.sort(Comparator.comparingInt(TreeSet::size));
+
+        ArrayList<Task> matches = new ArrayList<>();
+        for (long sequence : keywordPostings.get(0)) {
+            if (isInAll(sequence, keywordPostings) && getLowerDescription(sequence).contains(lowerKeyword)) {
+                matches.add(getTask(sequence));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds tasks whose lowercase description contains some text within the given edit distance of the
+     * lowercase keyword, counting each inserted, deleted or substituted character as one edit.
+     *
+     * Each edit can only break the trigrams overlapping it, so a match must still contain at least
+     * all but {@code maxDistance * 3} of the keyword's trigrams. Tasks that share fewer are skipped
+     * without computing the edit distance. When the keyword is too short for that to rule anything
+     * out, every task is checked.
+     *
+     * @param lowerKeyword The keyword to search for.
+     * @param maxDistance The largest number of edits allowed.
+     * @return Matching tasks in list order.
+     */
+    ArrayList<Task> findFuzzy(String lowerKeyword, int maxDistance) {
+        assert maxDistance >= 0 : "Edit distance cannot be negative";
+        long[] keywordGrams = grams(lowerKeyword);
+        int minimumSharedGrams = keywordGrams.length - maxDistance * GRAM_LENGTH;
+
+        Iterable<Long> candidates;
+        if (minimumSharedGrams <= 0) {
+            candidates = getSequences();
+        } else {
+            HashMap<Long, Integer> sharedGrams = new HashMap<>();
+            for (long gram : keywordGrams) {
+                TreeSet<Long> posting = getPosting(gram);
+                if (posting == null) {
+                    continue;
+                }
+                for (long sequence : posting) {
+                    sharedGrams.merge(sequence, 1, Integer::sum);
+                }
+            }
+            TreeSet<Long> likelyMatches = new TreeSet<>();
+            for (Map.Entry<Long, Integer> shared : sharedGrams.entrySet()) {
+                if (shared.getValue() >= minimumSharedGrams) {
+                    likelyMatches.add(shared.getKey());
+                }
+            }
+            candidates = likelyMatches;
+        }
+
+        ArrayList<Task> matches = new ArrayList<>();
+        for (long sequence : candidates) {
+            if (isWithinDistance(lowerKeyword, getLowerDescription(sequence), maxDistance)) {
+                matches.add(getTask(sequence));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    Set<Long> keysOf(String lowerDescription) {
+        HashSet<Long> distinct = new HashSet<>();
+        for (long gram : grams(lowerDescription)) {
+            distinct.add(gram);
+        }
+        return distinct;
+    }
+
+    private static boolean isInAll(long sequence, List<TreeSet<Long>> keywordPostings) {
+        for (int i = 1; i < keywordPostings.size(); i++) {
+            if (!keywordPostings.get(i).contains(sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the trigram at every position of the text, each packed into a long, repeats included.
+     */
+    private static long[] grams(String text) {
+        long[] grams = new long[Math.max(0, text.length() - GRAM_LENGTH + 1)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /**
+     * Checks whether some substring of the text is within the given edit distance of the keyword,
+     * keeping one row of the edit distance table where the match may start anywhere in the text.
+     */
+    private static boolean isWithinDistance(String keyword, String text, int maxDistance) {
+        if (keyword.length() <= maxDistance) {
+            return true;
+        }
+        int[] distances = new int[keyword.length() + 1];
+        Arrays.setAll(distances, i -> i);
+        for (int j = 0; j < text.length(); j++) {
+            int diagonal = distances[0];
+            for (int i = 1; i <= keyword.length(); i++) {
+                int above = distances[i];
+                int cost = keyword.charAt(i - 1) == text.charAt(j) ? 0 : 1;
+                distances[i] = Math.min(diagonal + cost, Math.min(above, distances[i - 1]) + 1);
+                diagonal = above;
+            }
+            if (distances[keyword.length()] <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
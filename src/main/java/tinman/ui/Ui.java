@@ -1,5 +1,6 @@
 package tinman.ui;
 
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -12,6 +13,7 @@ import tinman.task.Task;
 public class Ui {
     private static final int LINE_LENGTH = 60;
     private Scanner scanner;
+    private final PrintWriter messageWriter = new PrintWriter(System.out, false);
 
     public Ui() {
         this.scanner = new Scanner(System.in);
@@ -31,6 +33,25 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Returns a buffered writer for displaying a message piece by piece, such as a long task list
+     * that is written out as it is listed. Call {@link #endMessage()} once the message is complete.
+     *
+     * @return The writer to write the message to.
+     */
+    public PrintWriter getMessageWriter() {
+        return messageWriter;
+    }
+
+    /**
+     * Ends a message written through {@link #getMessageWriter()}, flushing it and adding a line separator.
+     */
+    public void endMessage() {
+        messageWriter.println();
+        messageWriter.flush();
+        showLine();
+    }
+
     /**
      * Displays the welcome message with ASCII art logo and greeting.
      */
@@ -130,4 +130,19 @@ public class DateParser {
         // Neither format matches
         throw new TinManException.InvalidDateFormatException();
     }
+
+    /**
+     * Attempts to parse the input string as either a date or date-time,
+     * keeping the original string if it matches neither format.
+     *
+     * @param input String to parse.
+     * @return LocalDateTime or LocalDate if the input is a recognised format, otherwise the input itself.
+     */
+    public static Object parseFlexibleOrKeep(String input) {
+        try {
+            return parseFlexible(input);
+        } catch (TinManException e) {
+            return input;
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package tinman.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Packs a date or a date and time into a single long, so tasks can hold their dates without keeping
+ * a {@link LocalDate} or {@link LocalDateTime} object (and the objects inside it) for each one.
+ *
+ * The lowest bit tells the two apart: a date is stored as its epoch day shifted left by one, and a
+ * date and time as its epoch second (UTC) shifted left by one with the lowest bit set. Objects and
+ * display strings are created from the packed value when they are needed.
+ */
+public class PackedDate {
+    /** The packed value of anything that is not a recognised date. */
+    public static final long NONE = Long.MIN_VALUE;
+    private static final long DATE_TIME_FLAG = 1;
+
+    /**
+     * Packs a date or a date and time.
+     *
+     * @param value A LocalDate or a LocalDateTime to the second; anything else is not a date.
+     * @return The packed value, or {@link #NONE} if the value is not a date.
+     */
+    public static long pack(Object value) {
+        if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            assert dateTime.getNano() == 0 : "Dates are entered to the minute";
+            return dateTime.toEpochSecond(ZoneOffset.UTC) << 1 | DATE_TIME_FLAG;
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay() << 1;
+        }
+        return NONE;
+    }
+
+    /**
+     * Unpacks a packed value.
+     *
+     * @param packed The packed value.
+     * @return The LocalDate or LocalDateTime it holds, or null for {@link #NONE}.
+     */
+    public static Object unpack(long packed) {
+        if (packed == NONE) {
+            return null;
+        }
+        return hasTime(packed) ? toDateTime(packed) : LocalDate.ofEpochDay(packed >> 1);
+    }
+
+    /**
+     * Checks whether a packed value holds a time as well as a date.
+     *
+     * @param packed A packed value other than {@link #NONE}.
+     * @return True for a date and time, false for a date alone.
+     */
+    public static boolean hasTime(long packed) {
+        assert packed != NONE : "Not a date";
+        return (packed & DATE_TIME_FLAG) != 0;
+    }
+
+    /**
+     * Returns the moment a packed value starts at, taking a date without a time as the start of that day.
+     *
+     * @param packed A packed value other than {@link #NONE}.
+     * @return The date and time.
+     */
+    public static LocalDateTime toDateTime(long packed) {
+        if (hasTime(packed)) {
+            return LocalDateTime.ofEpochSecond(packed >> 1, 0, ZoneOffset.UTC);
+        }
+        return LocalDate.ofEpochDay(packed >> 1).atStartOfDay();
+    }
+
+    /**
+     * Returns the first moment after a packed value, taking a date without a time as the whole of that day.
+     *
+     * @param packed A packed value other than {@link #NONE}.
+     * @return The date and time itself, or the start of the day after a date.
+     */
+    public static LocalDateTime toEndTime(long packed) {
+        return hasTime(packed) ? toDateTime(packed) : LocalDate.ofEpochDay(packed >> 1).plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Formats a packed value for display, as {@link DateParser} does for the unpacked value.
+     *
+     * @param packed A packed value other than {@link #NONE}.
+     * @return The readable date.
+     */
+    public static String format(long packed) {
+        if (hasTime(packed)) {
+            return DateParser.formatDateTime(toDateTime(packed));
+        }
+        return DateParser.formatDate(LocalDate.ofEpochDay(packed >> 1));
+    }
+
+    /**
+     * Formats a packed value for the save file, as {@link DateParser} does for the unpacked value.
+     *
+     * @param packed A packed value other than {@link #NONE}.
+     * @return The date in the save format.
+     */
+    public static String toSaveFormat(long packed) {
+        if (hasTime(packed)) {
+            return DateParser.dateTimeToSaveFormat(toDateTime(packed));
+        }
+        return DateParser.dateToSaveFormat(LocalDate.ofEpochDay(packed >> 1));
+    }
+}
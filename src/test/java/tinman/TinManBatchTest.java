@@ -0,0 +1,72 @@
+package tinman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that batch runs execute a whole script and save only at checkpoints and at the end.
+ */
+public class TinManBatchTest {
+    @TempDir
+    Path tempDir;
+
+    private BatchReport runBatch(TinMan tinMan, String script, StringBuilder out, int checkpointInterval)
+            throws IOException, TinManException {
+        return tinMan.runBatch(new BufferedReader(new StringReader(script)), out, checkpointInterval);
+    }
+
+    @Test
+    public void runBatch_noCheckpoints_savesOnceAtEnd() throws Exception {
+        Path dataFile = tempDir.resolve("tinman.txt");
+        TinMan tinMan = new TinMan(dataFile.toString());
+        StringBuilder out = new StringBuilder();
+
+        BatchReport report = runBatch(tinMan,
+                "todo read book\n\ntodo return book\nmark 1\nunknown\nlist /ids\n", out, 0);
+
+        assertEquals(5, report.getCommandCount());
+        assertEquals(1, report.getFailedCount());
+        assertEquals(1, report.getSaveCount());
+        assertEquals(1L, tinMan.getStorageStats().getSaveCount());
+        assertEquals(List.of("#1 | T | 1 | read book", "#2 | T | 0 | return book"), Files.readAllLines(dataFile));
+        assertTrue(out.toString().contains(" 1.[T][X] read book #1\n 2.[T][ ] return book #2\n"), out.toString());
+    }
+
+    @Test
+    public void runBatch_checkpointInterval_savesEveryIntervalAndAtEnd() throws Exception {
+        TinMan tinMan = new TinMan(tempDir.resolve("tinman.txt").toString());
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            script.append("todo task ").append(i).append("\nlist\n");
+        }
+
+        BatchReport report = runBatch(tinMan, script.toString(), new StringBuilder(), 2);
+
+        assertEquals(10, report.getCommandCount());
+        assertEquals(3, report.getSaveCount());
+        assertEquals(3L, tinMan.getStorageStats().getSaveCount());
+    }
+
+    @Test
+    public void runBatch_bye_skipsRestOfScript() throws Exception {
+        Path dataFile = tempDir.resolve("tinman.txt");
+        TinMan tinMan = new TinMan(dataFile.toString());
+
+        BatchReport report = runBatch(tinMan, "todo read book\nbye\ntodo never run\n", new StringBuilder(), 0);
+
+        assertEquals(2, report.getCommandCount());
+        assertEquals(List.of("#1 | T | 0 | read book"), Files.readAllLines(dataFile));
+    }
+}
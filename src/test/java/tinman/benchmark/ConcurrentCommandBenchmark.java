@@ -0,0 +1,121 @@
+package tinman.benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tinman.command.CommandProcessor;
+import tinman.exception.TinManException;
+import tinman.task.Deadline;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Measures how many commands per second a shared task list handles as more threads send them,
+ * once with searches, statistics and page listings only and once with a share of marks and unmarks
+ * mixed in. Searches hold the read lock together, so their throughput should grow with the number of
+ * cores, while every change waits for the write lock. Run with
+ * {@code gradle benchmark -Pbench=ConcurrentCommandBenchmark} and optional
+ * {@code -Pargs="<task count> <milliseconds per run> <percent of changes>"}.
+ */
+public class ConcurrentCommandBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 20_000;
+    private static final int DEFAULT_RUN_MILLIS = 2_000;
+    private static final int DEFAULT_WRITE_PERCENT = 10;
+    private static final int WARMUP_MILLIS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int runMillis = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUN_MILLIS;
+        int writePercent = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_WRITE_PERCENT;
+        int cores = Runtime.getRuntime().availableProcessors();
+        ArrayList<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads <= Math.max(2, cores * 2); threads *= 2) {
+            threadCounts.add(threads);
+        }
+
+        System.out.printf("%d tasks, %d ms per run, %d cores%n", taskCount, runMillis, cores);
+        System.out.printf("%-16s %8s %14s %10s%n", "workload", "threads", "commands/s", "speedup");
+        run(taskCount, 1, WARMUP_MILLIS, 0);
+        for (int percent : new int[] {0, writePercent}) {
+            String workload = percent == 0 ? "reads only" : percent + "% changes";
+            double single = 0;
+            for (int threads : threadCounts) {
+                double throughput = run(taskCount, threads, runMillis, percent);
+                single = threads == 1 ? throughput : single;
+                System.out.printf("%-16s %8d %14.0f %9.2fx%n", workload, threads, throughput, throughput / single);
+            }
+        }
+    }
+
+    /**
+     * Runs commands from the given number of threads for the given time against a fresh list.
+     *
+     * @return Commands completed per second across all threads.
+     */
+    private static double run(int taskCount, int threads, int runMillis, int writePercent) throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = i % 4 == 0 ? new Deadline("file report " + i, "2025-03-" + (1 + i % 28))
+                    : new Todo("benchmark task " + i);
+            tasks.addTask(task);
+        }
+        CommandProcessor processor = new CommandProcessor();
+        // Build the indexes up front so that no run pays for them
+        processor.processCommand("find task 1", tasks);
+        processor.processCommand("stats", tasks);
+        processor.processCommand("due 1", tasks);
+
+        AtomicLong completed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ArrayList<Thread> workers = new ArrayList<>();
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            Thread worker = new Thread(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        processor.processCommand(nextCommand(random, taskCount, writePercent), tasks);
+                        count++;
+                    }
+                } catch (InterruptedException | TinManException e) {
+                    throw new IllegalStateException(e);
+                }
+                completed.addAndGet(count);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        long startTime = System.nanoTime();
+        deadline[0] = startTime + runMillis * 1_000_000L;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return completed.get() / seconds;
+    }
+
+    private static String nextCommand(Random random, int taskCount, int writePercent) {
+        int number = 1 + random.nextInt(taskCount);
+        if (random.nextInt(100) < writePercent) {
+            return (random.nextBoolean() ? "mark " : "unmark ") + number;
+        }
+        switch (random.nextInt(4)) {
+        case 0:
+            return "find task " + number;
+        case 1:
+            return "stats";
+        case 2:
+            return "due 10";
+        default:
+            return "list /page " + (1 + random.nextInt(taskCount / 20)) + " /size 20";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package tinman.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import tinman.exception.TinManException;
+import tinman.storage.Durability;
+import tinman.storage.Storage;
+import tinman.storage.StorageConfig;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Measures save latency at each {@link Durability} level, both for full snapshot saves and for
+ * single-record journal appends. Run with {@code gradle benchmark -Pbench=DurabilityBenchmark}
+ * and optional {@code -Pargs="<task count> <iterations>"}.
+ */
+public class DurabilityBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 10_000;
+    private static final int DEFAULT_ITERATIONS = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    public static void main(String[] args) throws IOException, TinManException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        Path directory = Files.createTempDirectory("tinman-durability");
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new Todo("benchmark task " + i));
+        }
+
+        // Warm up the JIT so the first level measured is not penalised
+        snapshotSaves(directory, Durability.NONE, tasks, WARMUP_ITERATIONS);
+        journalAppends(directory, Durability.NONE, tasks, WARMUP_ITERATIONS);
+
+        System.out.printf("%d tasks, %d iterations%n", taskCount, iterations);
+        System.out.printf("%-20s %-10s %10s %10s %10s%n", "durability", "save", "p50 ms", "p99 ms", "max ms");
+        for (Durability durability : Durability.values()) {
+            report(durability, "snapshot", snapshotSaves(directory, durability, tasks, iterations));
+            report(durability, "journal", journalAppends(directory, durability, tasks, iterations));
+        }
+    }
+
+    private static long[] snapshotSaves(Path directory, Durability durability, ArrayList<Task> tasks,
+            int iterations) throws TinManException {
+        StorageConfig config = new StorageConfig();
+        config.setDurability(durability);
+        Storage storage = new Storage(directory.resolve("snapshot-" + durability + ".txt").toString(), config);
+
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            storage.save(tasks);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static long[] journalAppends(Path directory, Durability durability, ArrayList<Task> tasks,
+            int iterations) throws TinManException {
+        StorageConfig config = new StorageConfig();
+        config.setDurability(durability);
+        config.setJournalEnabled(true);
+        config.setJournalCompactionThreshold(Integer.MAX_VALUE);
+        Storage storage = new Storage(directory.resolve("journal-" + durability + ".txt").toString(), config);
+        TaskList taskList = new TaskList(new ArrayList<>(tasks));
+        storage.attach(taskList);
+
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            taskList.addTask(new Todo("appended task " + i));
+            long start = System.nanoTime();
+            storage.save(taskList.getTasks());
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static void report(Durability durability, String kind, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-20s %-10s %10.3f %10.3f %10.3f%n", durability, kind,
+                sorted[sorted.length / 2] / NANOS_PER_MILLISECOND,
+                sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / NANOS_PER_MILLISECOND,
+                sorted[sorted.length - 1] / NANOS_PER_MILLISECOND);
+    }
+}
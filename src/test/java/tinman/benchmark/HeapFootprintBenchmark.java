@@ -0,0 +1,71 @@
+package tinman.benchmark;
+
+import java.util.ArrayList;
+
+import tinman.exception.TinManException;
+import tinman.task.Deadline;
+import tinman.task.Event;
+import tinman.task.Task;
+import tinman.task.Todo;
+
+/**
+ * Measures how much heap each kind of task takes, by building a large list of them and comparing the
+ * memory in use before and after. Descriptions are built afresh for every task, as they are when typed
+ * in or loaded, and the repeated kinds draw them from a small set of texts so that any sharing of equal
+ * descriptions shows. Run with {@code gradle benchmark -Pbench=HeapFootprintBenchmark} and optional
+ * {@code -Pargs="<task count>"}.
+ */
+public class HeapFootprintBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 200_000;
+    private static final int REPEATED_DESCRIPTIONS = 100;
+    private static final int GC_ROUNDS = 5;
+
+    public static void main(String[] args) throws TinManException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        System.out.printf("%d tasks of each kind%n", taskCount);
+        System.out.printf("%-28s %12s%n", "kind", "bytes/task");
+        measure("todo", taskCount, i -> new Todo("read chapter " + i + " of the book"));
+        measure("todo, repeated text", taskCount, i -> new Todo("water the plants " + i % REPEATED_DESCRIPTIONS));
+        measure("deadline, date and time", taskCount,
+                i -> new Deadline("submit report " + i, day(i) + " 1800"));
+        measure("deadline, date", taskCount, i -> new Deadline("submit report " + i, day(i)));
+        measure("deadline, unrecognised date", taskCount, i -> new Deadline("submit report " + i, "friday"));
+        measure("event, dates and times", taskCount,
+                i -> new Event("team meeting " + i, day(i) + " 0900", day(i) + " 1000"));
+        measure("event, dates", taskCount, i -> new Event("conference " + i, day(i), day(i + 2)));
+        measure("event, repeated text", taskCount,
+                i -> new Event("weekly sync " + i % REPEATED_DESCRIPTIONS, day(i) + " 0900", day(i) + " 1000"));
+    }
+
+    private static void measure(String kind, int taskCount, TaskFactory createTask) throws TinManException {
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        long before = usedMemory();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(createTask.create(i));
+        }
+        long after = usedMemory();
+        System.out.printf("%-28s %12.1f%n", kind, (double) (after - before) / taskCount);
+        if (tasks.get(taskCount - 1) == null) {
+            System.out.println("Unexpected missing task");
+        }
+    }
+
+    private static String day(int i) {
+        return String.format("2025-%02d-%02d", 1 + i % 12, 1 + i % 28);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Creates the task with the given number.
+     */
+    private interface TaskFactory {
+        Task create(int i) throws TinManException;
+    }
+}
@@ -0,0 +1,84 @@
+package tinman.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import tinman.exception.TinManException;
+import tinman.storage.LoadStrategy;
+import tinman.storage.ParallelTaskLoader;
+import tinman.storage.Storage;
+import tinman.storage.StorageConfig;
+import tinman.task.Task;
+
+/**
+ * Measures how long loading a large text data file takes with each {@link LoadStrategy}, and how the
+ * parallel loader scales with the number of threads. Run with {@code gradle benchmark -Pbench=LoadBenchmark}
+ * and optional {@code -Pargs="<task count> <iterations>"}.
+ */
+public class LoadBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int DEFAULT_ITERATIONS = 3;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    public static void main(String[] args) throws IOException, TinManException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        Path dataPath = Files.createTempDirectory("tinman-load").resolve("tinman.txt");
+        writeDataFile(dataPath, taskCount);
+
+        System.out.printf("%d tasks, %d bytes, best of %d%n", taskCount, Files.size(dataPath), iterations);
+        for (LoadStrategy strategy : LoadStrategy.values()) {
+            StorageConfig config = new StorageConfig();
+            config.setLoadStrategy(strategy);
+            Storage storage = new Storage(dataPath.toString(), config);
+            report(strategy.toString(), iterations, () -> storage.load());
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ParallelTaskLoader loader = new ParallelTaskLoader(pool);
+            report("PARALLEL x" + threads, iterations, () -> loader.load(dataPath));
+            pool.shutdown();
+        }
+    }
+
+    private static void writeDataFile(Path dataPath, int taskCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(dataPath, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < taskCount; i++) {
+                switch (i % 3) {
+                case 0:
+                    writer.write("T | 0 | benchmark task " + i);
+                    break;
+                case 1:
+                    writer.write("D | 1 | benchmark deadline " + i + " | 2024-03-15 1800");
+                    break;
+                default:
+                    writer.write("E | 0 | benchmark event " + i + " | 2024-03-15 | Fri 5pm");
+                    break;
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void report(String name, int iterations, Load load) throws TinManException {
+        long best = Long.MAX_VALUE;
+        int taskCount = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            taskCount = load.run().size();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-14s %10.1f ms %10d tasks%n", name, best / NANOS_PER_MILLISECOND, taskCount);
+    }
+
+    private interface Load {
+        List<Task> run() throws TinManException;
+    }
+}
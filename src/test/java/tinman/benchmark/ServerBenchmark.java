@@ -0,0 +1,187 @@
+package tinman.benchmark;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+import tinman.TinMan;
+import tinman.server.CommandServer;
+import tinman.server.ServerConfig;
+
+/**
+ * Measures how many requests per second the command server answers with 1, 100 and 1000 clients
+ * connected at once, each sending its next command as soon as the previous reply arrives. Commands are
+ * searches, statistics and page listings with a share of marks and unmarks, run against tasks kept in
+ * memory so that the disk does not set the pace. The clients run in the same JVM on one selector thread,
+ * so on a machine with few cores they compete with the server for CPU. Run with
+ * {@code gradle benchmark -Pbench=ServerBenchmark} and optional
+ * {@code -Pargs="<task count> <milliseconds per run> <connection counts...>"}.
+ */
+public class ServerBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 10_000;
+    private static final int DEFAULT_RUN_MILLIS = 3_000;
+    private static final int[] DEFAULT_CONNECTION_COUNTS = {1, 100, 1000};
+    private static final int WARMUP_MILLIS = 1_000;
+    private static final int WRITE_PERCENT = 10;
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int runMillis = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUN_MILLIS;
+        int[] connectionCounts = DEFAULT_CONNECTION_COUNTS;
+        if (args.length > 2) {
+            connectionCounts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                connectionCounts[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.setProperty("tinman.storage.backend", "memory");
+        TinMan tinMan = new TinMan("./data/tinman.txt");
+        for (int i = 0; i < taskCount; i++) {
+            tinMan.processCommand("todo benchmark task " + i);
+        }
+        ServerConfig config = new ServerConfig();
+        config.setPort(0);
+        for (int connections : connectionCounts) {
+            config.setMaxConnections(Math.max(config.getMaxConnections(), connections));
+        }
+
+        try (CommandServer server = new CommandServer(tinMan::processCommand, config)) {
+            server.start();
+            System.out.printf("%d tasks, %d ms per run, %d worker threads, %d cores%n", taskCount, runMillis,
+                    config.getWorkerThreads(), Runtime.getRuntime().availableProcessors());
+            System.out.printf("%12s %14s %16s%n", "connections", "requests/s", "avg latency ms");
+            run(server.getPort(), 1, taskCount, WARMUP_MILLIS);
+            for (int connections : connectionCounts) {
+                Result result = run(server.getPort(), connections, taskCount, runMillis);
+                System.out.printf("%12d %14.0f %16.3f%n", connections, result.requestsPerSecond,
+                        result.averageLatencyMillis);
+            }
+        }
+    }
+
+    /**
+     * Connects the given number of clients and keeps each one sending commands for the given time.
+     */
+    private static Result run(int port, int connections, int taskCount, int runMillis) throws IOException {
+        Random random = new Random(connections);
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        ArrayList<Client> clients = new ArrayList<>();
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < connections; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                Client client = new Client(channel);
+                channel.register(selector, SelectionKey.OP_READ, client);
+                clients.add(client);
+            }
+
+            long startTime = System.nanoTime();
+            long endTime = startTime + runMillis * 1_000_000L;
+            for (Client client : clients) {
+                client.send(nextCommand(random, taskCount));
+            }
+            long completed = 0;
+            long totalLatencyNanos = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (System.nanoTime() < endTime) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+                    buffer.clear();
+                    if (client.channel.read(buffer) < 0) {
+                        throw new IOException("Server closed a connection");
+                    }
+                    buffer.flip();
+                    if (client.receive(buffer)) {
+                        completed++;
+                        totalLatencyNanos += System.nanoTime() - client.sentAt;
+                        client.send(nextCommand(random, taskCount));
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            for (Client client : clients) {
+                client.channel.close();
+            }
+            return new Result(completed / seconds, completed == 0 ? 0 : totalLatencyNanos / 1e6 / completed);
+        }
+    }
+
+    private static String nextCommand(Random random, int taskCount) {
+        int number = 1 + random.nextInt(taskCount);
+        if (random.nextInt(100) < WRITE_PERCENT) {
+            return (random.nextBoolean() ? "mark " : "unmark ") + number;
+        }
+        switch (random.nextInt(3)) {
+        case 0:
+            return "find task " + number;
+        case 1:
+            return "stats";
+        default:
+            return "list /page " + (1 + random.nextInt(taskCount / 20)) + " /size 20";
+        }
+    }
+
+    /**
+     * One connected client, which has at most one command waiting for its reply.
+     */
+    private static class Client {
+        private final SocketChannel channel;
+        private long sentAt;
+        private boolean isAtLineStart = true;
+        private boolean isAfterDot = false;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void send(String command) throws IOException {
+            ByteBuffer request = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.UTF_8));
+            sentAt = System.nanoTime();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+        }
+
+        /**
+         * Consumes reply bytes, returning true once the line holding only a dot has arrived.
+         */
+        boolean receive(ByteBuffer bytes) {
+            boolean isComplete = false;
+            while (bytes.hasRemaining()) {
+                byte b = bytes.get();
+                if (b == '\n') {
+                    isComplete |= isAfterDot;
+                    isAtLineStart = true;
+                    isAfterDot = false;
+                } else {
+                    isAfterDot = isAtLineStart && b == '.';
+                    isAtLineStart = false;
+                }
+            }
+            return isComplete;
+        }
+    }
+
+    private static class Result {
+        private final double requestsPerSecond;
+        private final double averageLatencyMillis;
+
+        Result(double requestsPerSecond, double averageLatencyMillis) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.averageLatencyMillis = averageLatencyMillis;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package tinman.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import tinman.exception.TinManException;
+import tinman.storage.BackendType;
+import tinman.storage.StorageBackend;
+import tinman.storage.StorageConfig;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Measures the latency of saving after a single change with each {@link BackendType}, for a list that
+ * already holds many tasks. Run with {@code gradle benchmark -Pbench=StorageBackendBenchmark} and
+ * optional {@code -Pargs="<task count> <iterations>"}.
+ */
+public class StorageBackendBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 100_000;
+    private static final int DEFAULT_ITERATIONS = 200;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    public static void main(String[] args) throws IOException, TinManException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        Path directory = Files.createTempDirectory("tinman-backends");
+
+        System.out.printf("%d tasks, %d single-change saves each%n", taskCount, iterations);
+        System.out.printf("%-10s %12s %10s %10s %10s%n", "backend", "load ms", "p50 ms", "p99 ms", "max ms");
+        for (BackendType type : BackendType.values()) {
+            StorageConfig config = new StorageConfig();
+            config.setBackend(type);
+            String dataPath = directory.resolve(type + ".txt").toString();
+
+            StorageBackend seeded = StorageBackend.create(dataPath, config);
+            TaskList seedTasks = new TaskList(seeded.load());
+            seeded.attach(seedTasks);
+            for (int i = 0; i < taskCount; i++) {
+                seedTasks.addTask(new Todo("benchmark task " + i));
+            }
+            seeded.save(seedTasks.getTasks());
+
+            // The in-memory backend forgets everything, so it is measured on the list it was seeded with
+            StorageBackend backend = type == BackendType.MEMORY ? seeded : StorageBackend.create(dataPath, config);
+            long loadStart = System.nanoTime();
+            List<Task> loaded = type == BackendType.MEMORY ? seedTasks.getTasks() : backend.load();
+            long loadNanos = System.nanoTime() - loadStart;
+            TaskList tasks = new TaskList(loaded);
+            backend.attach(tasks);
+
+            long[] latencies = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                tasks.updateTask((i * 7919) % tasks.getTaskCount(), Task::markAsDone);
+                long start = System.nanoTime();
+                backend.save(tasks.getTasks());
+                latencies[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %12.1f %10.3f %10.3f %10.3f%n", type, loadNanos / NANOS_PER_MILLISECOND,
+                    latencies[iterations / 2] / NANOS_PER_MILLISECOND,
+                    latencies[(int) Math.ceil(iterations * 0.99) - 1] / NANOS_PER_MILLISECOND,
+                    latencies[iterations - 1] / NANOS_PER_MILLISECOND);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package tinman.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import tinman.exception.TinManException;
+import tinman.storage.TaskListBacking;
+import tinman.task.ColumnarTaskList;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+import tinman.task.TreeTaskList;
+
+/**
+ * Compares a {@link TaskList} backed by an array with ones backed by a {@link TreeTaskList} and a
+ * {@link ColumnarTaskList}, timing lookups, updates and deletes by task number on a large list. Run with
+ * {@code gradle benchmark -Pbench=TaskListBenchmark} and optional {@code -Pargs="<task count> <operations>"}.
+ */
+public class TaskListBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 200_000;
+    private static final int DEFAULT_OPERATIONS = 100_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    public static void main(String[] args) throws TinManException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPERATIONS;
+        operations = Math.min(operations, taskCount);
+        ArrayList<Task> seedTasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            seedTasks.add(new Todo("benchmark task " + i));
+        }
+
+        System.out.printf("%d tasks, %d operations of each kind%n", taskCount, operations);
+        System.out.printf("%-8s %12s %12s %12s %12s%n", "backing", "get ms", "mark ms", "delete ms", "list ms");
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            for (TaskListBacking backing : TaskListBacking.values()) {
+                List<Task> backingList;
+                if (backing == TaskListBacking.TREE) {
+                    backingList = new TreeTaskList(seedTasks);
+                } else if (backing == TaskListBacking.COLUMNAR) {
+                    backingList = new ColumnarTaskList(seedTasks);
+                } else {
+                    backingList = new ArrayList<>(seedTasks);
+                }
+                double[] millis = run(new TaskList(backingList), operations);
+                if (round == WARMUP_ROUNDS) {
+                    System.out.printf("%-8s %12.1f %12.1f %12.1f %12.1f%n", backing, millis[0], millis[1], millis[2],
+                            millis[3]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs each kind of operation on the list at the same pseudo-random task numbers.
+     *
+     * @return Elapsed milliseconds for gets, marks, deletes and one listing, in that order.
+     */
+    private static double[] run(TaskList tasks, int operations) throws TinManException {
+        double[] millis = new double[4];
+        Random random = new Random(1);
+        long checksum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            checksum += tasks.getTask(random.nextInt(tasks.getTaskCount())).getDescription().length();
+        }
+        millis[0] = (System.nanoTime() - start) / NANOS_PER_MILLISECOND;
+
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            tasks.updateTask(random.nextInt(tasks.getTaskCount()), Task::markAsDone);
+        }
+        millis[1] = (System.nanoTime() - start) / NANOS_PER_MILLISECOND;
+
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            tasks.deleteTask(random.nextInt(tasks.getTaskCount()));
+        }
+        millis[2] = (System.nanoTime() - start) / NANOS_PER_MILLISECOND;
+
+        start = System.nanoTime();
+        checksum += tasks.listTasks().length();
+        millis[3] = (System.nanoTime() - start) / NANOS_PER_MILLISECOND;
+
+        if (checksum == 0) {
+            System.out.println("Unexpected empty checksum");
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,143 @@
+package tinman.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests that commands processed from many threads at once leave the task list as some order of
+ * running them one at a time would, while readers only ever see consistent lists.
+ */
+public class ConcurrentCommandTest {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int COMMANDS_PER_WRITER = 400;
+    private static final int INITIAL_TASKS = 50;
+
+    @Test
+    public void processCommand_manyThreads_keepsListConsistent() throws InterruptedException, TinManException {
+        CommandProcessor processor = new CommandProcessor();
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < INITIAL_TASKS; i++) {
+            taskList.addTask(new Todo("seed " + i));
+        }
+
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger addCount = new AtomicInteger();
+        AtomicInteger deleteCount = new AtomicInteger();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ArrayList<Thread> writers = new ArrayList<>();
+        ArrayList<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            Thread thread = new Thread(() -> runSafely(failures, start, () -> {
+                Random random = new Random(writer);
+                for (int i = 0; i < COMMANDS_PER_WRITER; i++) {
+                    int index = 1 + random.nextInt(taskList.getTaskCount() + 5);
+                    try {
+                        switch (random.nextInt(4)) {
+                        case 0:
+                            processor.processCommand("mark " + index, taskList);
+                            break;
+                        case 1:
+                            processor.processCommand("delete " + index, taskList);
+                            deleteCount.incrementAndGet();
+                            break;
+                        default:
+                            processor.processCommand("todo writer" + writer + " item " + i, taskList);
+                            addCount.incrementAndGet();
+                            break;
+                        }
+                    } catch (TinManException e) {
+                        // Another writer deleted the task first, which a sequential run could also do
+                    }
+                }
+            }));
+            writers.add(thread);
+            threads.add(thread);
+        }
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(() -> runSafely(failures, start, () -> {
+                while (isWriting.get()) {
+                    checkListing(processor.processCommand("list /ids", taskList));
+                    String found = processor.processCommand("find writer", taskList);
+                    found.lines().skip(1)
+                            .filter(row -> !row.equals(" (no matching tasks found)"))
+                            .forEach(row -> assertTrue(row.contains("writer"), row));
+                    processor.processCommand("stats", taskList);
+                }
+            })));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        isWriting.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), new ArrayList<>(failures));
+        assertEquals(INITIAL_TASKS + addCount.get() - deleteCount.get(), taskList.getTaskCount());
+        List<Task> tasks = taskList.getTasks();
+        checkListing(processor.processCommand("list /ids", taskList));
+        assertEquals(tasks.stream().filter(Task::getIsDone).count(), (long) taskList.getStatistics().getDoneCount());
+        List<Task> written = tasks.stream()
+                .filter(task -> task.getDescription().contains("writer"))
+                .collect(Collectors.toList());
+        assertEquals(written, taskList.findTasks("writer"));
+    }
+
+    /**
+     * Checks that a listing shows every task once, numbered in order, with IDs increasing as they were handed out.
+     */
+    private static void checkListing(String listing) {
+        long previousId = 0;
+        int number = 0;
+        for (String row : listing.lines().skip(1).collect(Collectors.toList())) {
+            if (row.equals(" (empty)")) {
+                continue;
+            }
+            number++;
+            assertTrue(row.startsWith(" " + number + "."), row);
+            long id = Long.parseLong(row.substring(row.lastIndexOf('#') + 1));
+            assertTrue(id > previousId, row);
+            previousId = id;
+        }
+    }
+
+    private static void runSafely(ConcurrentLinkedQueue<Throwable> failures, CountDownLatch start, Work work) {
+        try {
+            start.await();
+            work.run();
+        } catch (Throwable e) {
+            failures.add(e);
+        }
+    }
+
+    /**
+     * Work done by one thread of the test.
+     */
+    private interface Work {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,189 @@
+package tinman.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the command server frames replies, keeps each connection's replies in order and enforces its limits.
+ */
+public class CommandServerTest {
+    @Test
+    public void commands_severalPerConnection_repliesInOrderWithDotsEscaped() throws IOException {
+        ServerConfig config = createConfig(4);
+        try (CommandServer server = start(input -> "got " + input + "\n.hidden", config);
+                Socket socket = connect(server)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = reader(socket);
+            out.print("list\nfind book\r\n");
+            out.flush();
+
+            assertEquals(List.of("got list", "..hidden"), readReply(in));
+            assertEquals(List.of("got find book", "..hidden"), readReply(in));
+        }
+    }
+
+    @Test
+    public void bye_closesConnectionAfterReply() throws IOException {
+        ServerConfig config = createConfig(4);
+        try (CommandServer server = start(input -> "Bye!", config);
+                Socket socket = connect(server)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = reader(socket);
+            out.print("bye\nlist\n");
+            out.flush();
+
+            assertEquals(List.of("Bye!"), readReply(in));
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void connect_beyondLimit_rejectsConnection() throws IOException {
+        ServerConfig config = createConfig(1);
+        try (CommandServer server = start(input -> "ok", config);
+                Socket first = connect(server);
+                Socket second = connect(server)) {
+            BufferedReader rejected = reader(second);
+            assertEquals(List.of("OOPS!!! Too many connections. Please try again later."), readReply(rejected));
+            assertNull(rejected.readLine());
+
+            PrintWriter out = new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.println("list");
+            assertEquals(List.of("ok"), readReply(reader(first)));
+        }
+    }
+
+    @Test
+    public void connect_beyondLimitClientsReset_keepsServing() throws IOException {
+        ServerConfig config = createConfig(1);
+        try (CommandServer server = start(input -> "ok", config);
+                Socket first = connect(server)) {
+            for (int i = 0; i < 20; i++) {
+                Socket rejected = connect(server);
+                // Closing with a zero linger time resets the connection before the server can reply
+                rejected.setSoLinger(true, 0);
+                rejected.close();
+            }
+
+            PrintWriter out = new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.println("list");
+            assertEquals(List.of("ok"), readReply(reader(first)));
+            try (Socket second = connect(server)) {
+                assertEquals(List.of("OOPS!!! Too many connections. Please try again later."),
+                        readReply(reader(second)));
+            }
+        }
+    }
+
+    @Test
+    public void command_longerThanLimit_closesConnection() throws IOException {
+        ServerConfig config = createConfig(4);
+        config.setMaxLineLength(16);
+        try (CommandServer server = start(input -> "ok", config);
+                Socket socket = connect(server)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = reader(socket);
+            out.println("list");
+            out.println("todo " + "a".repeat(64));
+
+            assertEquals(List.of("ok"), readReply(in));
+            assertEquals(List.of("OOPS!!! Command is too long. Closing the connection."), readReply(in));
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void command_handlerThrowsError_repliesAndRunsNextCommand() throws IOException {
+        ServerConfig config = createConfig(4);
+        CommandHandler handler = input -> {
+            if (input.equals("crash")) {
+                throw new AssertionError("Handler failed");
+            }
+            return "ok";
+        };
+        try (CommandServer server = start(handler, config);
+                Socket socket = connect(server)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = reader(socket);
+            out.print("crash\nlist\n");
+            out.flush();
+
+            assertEquals(List.of("OOPS!!! Something went wrong running that command."), readReply(in));
+            assertEquals(List.of("ok"), readReply(in));
+        }
+    }
+
+    @Test
+    public void commands_clientNotReadingReplies_pausesUntilClientReads() throws Exception {
+        int commandCount = 32;
+        String bigReply = "x".repeat(1024 * 1024);
+        AtomicInteger handledCount = new AtomicInteger();
+        ServerConfig config = createConfig(4);
+        config.setMaxPendingOutput(1024);
+        try (CommandServer server = start(input -> {
+            handledCount.incrementAndGet();
+            return bigReply;
+        }, config); Socket socket = connect(server)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.print("list\n".repeat(commandCount));
+            out.flush();
+            Thread.sleep(300);
+
+            // Only as many replies as the socket buffers hold have been made
+            assertTrue(handledCount.get() < commandCount, "Ran " + handledCount.get() + " commands");
+            BufferedReader in = reader(socket);
+            for (int i = 0; i < commandCount; i++) {
+                assertEquals(List.of(bigReply), readReply(in));
+            }
+            assertEquals(commandCount, handledCount.get());
+        }
+    }
+
+    private static ServerConfig createConfig(int maxConnections) {
+        ServerConfig config = new ServerConfig();
+        config.setPort(0);
+        config.setMaxConnections(maxConnections);
+        config.setWorkerThreads(2);
+        return config;
+    }
+
+    private static CommandServer start(CommandHandler handler, ServerConfig config) throws IOException {
+        CommandServer server = new CommandServer(handler, config);
+        server.start();
+        return server;
+    }
+
+    private static Socket connect(CommandServer server) throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads one reply up to its terminating dot line, leaving escaped dots as sent.
+     */
+    private static List<String> readReply(BufferedReader in) throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        for (String line = in.readLine(); !".".equals(line); line = in.readLine()) {
+            assertTrue(line != null, "Connection closed before the end of the reply");
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,85 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Deadline;
+import tinman.task.Event;
+import tinman.task.Task;
+import tinman.task.Todo;
+
+/**
+ * Tests for the binary save format and conversion to and from the text format.
+ */
+public class BinaryTaskCodecTest {
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> sampleTasks() throws TinManException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", "2023-12-25 1430"));
+        tasks.add(new Deadline("submit report", "2024-02-29"));
+        tasks.add(new Deadline("call mum", "Sunday"));
+        tasks.add(new Event("project meeting", "Mon 2pm", "2024-01-01"));
+        tasks.get(1).markAsDone();
+        tasks.get(0).setId(7);
+        tasks.get(4).setId(300);
+        return tasks;
+    }
+
+    private ArrayList<String> saveFormats(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void writeThenRead_allTaskTypes_roundTripsExactly() throws Exception {
+        ArrayList<Task> tasks = sampleTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTaskCodec.write(tasks, out);
+
+        ArrayList<Task> decoded = BinaryTaskCodec.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(saveFormats(tasks), saveFormats(decoded));
+    }
+
+    @Test
+    public void read_newerVersion_throwsException() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTaskCodec.write(sampleTasks(), out);
+        byte[] bytes = out.toByteArray();
+        bytes[Integer.BYTES + 1] = (byte) (BinaryTaskCodec.CURRENT_VERSION + 1);
+
+        assertThrows(TinManException.class, () -> BinaryTaskCodec.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_preservesTasks() throws Exception {
+        String textPath = tempDir.resolve("tinman.txt").toString();
+        String binaryPath = tempDir.resolve("tinman.bin").toString();
+        String roundTripPath = tempDir.resolve("roundtrip.txt").toString();
+        new Storage(textPath).save(sampleTasks());
+
+        SaveFormatConverter.convert(textPath, binaryPath, SaveFormat.BINARY);
+        SaveFormatConverter.convert(binaryPath, roundTripPath, SaveFormat.TEXT);
+
+        assertTrue(BinaryTaskCodec.isBinaryFile(Path.of(binaryPath)));
+        assertEquals(Files.readAllLines(Path.of(textPath)), Files.readAllLines(Path.of(roundTripPath)));
+    }
+}
@@ -0,0 +1,89 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that atomic writes either replace a file completely or leave it untouched, without leftovers.
+ */
+public class DurableFilesTest {
+    private static final String OLD_CONTENTS = "T | 0 | read book\n";
+    private static final String NEW_CONTENTS = "T | 1 | read book\nT | 0 | return book\n";
+
+    @TempDir
+    Path tempDir;
+
+    private Path createTarget() throws IOException {
+        Path target = tempDir.resolve("tinman.txt");
+        Files.writeString(target, OLD_CONTENTS, StandardCharsets.UTF_8);
+        return target;
+    }
+
+    private Path temporaryOf(Path target) {
+        return target.resolveSibling(target.getFileName() + DurableFiles.TEMPORARY_SUFFIX);
+    }
+
+    @Test
+    public void writeAtomically_everyDurability_replacesContents() throws IOException {
+        for (Durability durability : Durability.values()) {
+            Path target = createTarget();
+
+            long size = DurableFiles.writeAtomically(target, durability,
+                    out -> out.write(NEW_CONTENTS.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(NEW_CONTENTS, Files.readString(target, StandardCharsets.UTF_8));
+            assertEquals(Files.size(target), size);
+            assertFalse(Files.exists(temporaryOf(target)));
+        }
+    }
+
+    @Test
+    public void writeAtomically_writerFailsPartWay_keepsOldContents() throws IOException {
+        Path target = createTarget();
+
+        IOException e = assertThrows(IOException.class, () -> DurableFiles.writeAtomically(target,
+                Durability.FILE, out -> {
+                    out.write("T | 1 | half".getBytes(StandardCharsets.UTF_8));
+                    throw new IOException("Disk is full");
+                }));
+
+        assertEquals("Disk is full", e.getMessage());
+        assertEquals(OLD_CONTENTS, Files.readString(target, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(temporaryOf(target)));
+    }
+
+    @Test
+    public void writeAtomically_writerThrowsUnchecked_removesTemporaryFile() throws IOException {
+        Path target = createTarget();
+
+        assertThrows(IllegalStateException.class, () -> DurableFiles.writeAtomically(target,
+                Durability.NONE, out -> {
+                    out.write('T');
+                    throw new IllegalStateException("Task cannot be encoded");
+                }));
+
+        assertEquals(OLD_CONTENTS, Files.readString(target, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(temporaryOf(target)));
+    }
+
+    @Test
+    public void writeAtomically_renameFails_removesTemporaryFile() throws IOException {
+        // A directory that is not empty cannot be replaced by a file
+        Path target = tempDir.resolve("tinman.txt");
+        Files.createDirectories(target.resolve("occupied"));
+
+        assertThrows(IOException.class, () -> DurableFiles.writeAtomically(target, Durability.NONE,
+                out -> out.write(NEW_CONTENTS.getBytes(StandardCharsets.UTF_8))));
+
+        assertFalse(Files.exists(temporaryOf(target)));
+    }
+}
@@ -0,0 +1,95 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.task.Deadline;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests for lazily loading tasks, covering on-demand parsing, saving and corrupted records.
+ */
+public class LazyTaskListTest {
+    private static final String DATA = "#1 | T | 1 | read book\r\n"
+            + "#2 | D | 0 | return book | 2023-12-25 1430\n"
+            + "\n"
+            + "#3 | E | 0 | project meeting | Mon 2pm | 2024-01-01";
+
+    @TempDir
+    Path tempDir;
+
+    private Storage lazyStorage(Path dataPath) {
+        StorageConfig config = new StorageConfig();
+        config.setLoadStrategy(LoadStrategy.LAZY);
+        return new Storage(dataPath.toString(), config);
+    }
+
+    @Test
+    public void load_textFile_parsesTasksOnlyWhenUsed() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, DATA, StandardCharsets.UTF_8);
+
+        LazyTaskList tasks = LazyTaskList.load(dataPath);
+
+        assertEquals(3, tasks.size());
+        assertEquals(0, tasks.getHydratedCount());
+        assertTrue(tasks.get(1) instanceof Deadline);
+        assertEquals(1, tasks.getHydratedCount());
+        assertTrue(tasks.get(0).getIsDone());
+    }
+
+    @Test
+    public void getId_unreadRecords_readsIdsWithoutParsing() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, DATA + "\nT | 0 | legacy task", StandardCharsets.UTF_8);
+
+        LazyTaskList tasks = LazyTaskList.load(dataPath);
+
+        assertEquals(1, tasks.getId(0));
+        assertEquals(3, tasks.getId(2));
+        assertEquals(Task.NO_ID, tasks.getId(3));
+        assertEquals(0, tasks.getHydratedCount());
+    }
+
+    @Test
+    public void save_afterChanges_keepsUnusedRecordsIntact() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, DATA, StandardCharsets.UTF_8);
+        Storage storage = lazyStorage(dataPath);
+        TaskList tasks = new TaskList(storage.load());
+
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("buy milk"));
+        tasks.updateTask(0, Task::markAsDone);
+        storage.save(tasks.getTasks());
+
+        List<String> lines = Files.readAllLines(dataPath);
+        assertEquals(List.of("#2 | D | 1 | return book | 2023-12-25 1430",
+                "#3 | E | 0 | project meeting | Mon 2pm | 2024-01-01",
+                "#4 | T | 0 | buy milk"), lines);
+        // Only the updated task and the new task were parsed; IDs are read without parsing the task
+        assertEquals(2, ((LazyTaskList) tasks.getTasks()).getHydratedCount());
+    }
+
+    @Test
+    public void get_corruptedRecord_reportsLineNumber() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, "T | 0 | read book\n\nX | 0 | nonsense\n", StandardCharsets.UTF_8);
+        LazyTaskList tasks = LazyTaskList.load(dataPath);
+
+        LazyTaskList.CorruptedRecordException e =
+                assertThrows(LazyTaskList.CorruptedRecordException.class, () -> tasks.get(1));
+        assertTrue(e.getMessage().contains("line 3"));
+    }
+}
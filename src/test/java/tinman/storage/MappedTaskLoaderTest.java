@@ -0,0 +1,109 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Tests for the memory-mapped loader, using a small window so that records straddle window boundaries.
+ */
+public class MappedTaskLoaderTest {
+    private static final int WINDOW_SIZE = 40;
+
+    @TempDir
+    Path tempDir;
+
+    private final MappedTaskLoader loader = new MappedTaskLoader(WINDOW_SIZE);
+
+    private Path write(String data) throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, data, StandardCharsets.UTF_8);
+        return dataPath;
+    }
+
+    private ArrayList<String> saveFormats(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void load_recordsAcrossWindows_matchesLineLoader() throws Exception {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append(i % 2 == 0 ? "T | 0 | task " + i : "D | 1 | deadline " + i + " | 2023-12-25 1430");
+            data.append(i % 7 == 0 ? "\r\n\n" : "\n");
+        }
+        Path dataPath = write(data.toString());
+
+        List<Task> expected = new Storage(dataPath.toString()).load();
+
+        assertEquals(100, expected.size());
+        assertEquals(saveFormats(expected), saveFormats(loader.load(dataPath)));
+    }
+
+    @Test
+    public void load_crlfAndMissingFinalNewline_stripsLineEndings() throws Exception {
+        Path dataPath = write("T | 0 | read book\r\n   \r\nT | 1 | return book");
+
+        List<Task> tasks = loader.load(dataPath);
+
+        assertEquals(List.of("T | 0 | read book", "T | 1 | return book"), saveFormats(tasks));
+    }
+
+    @Test
+    public void load_separatorLikeText_splitsLikeRegexSplit() throws Exception {
+        String[] lines = {
+            "#7 | T | 1 | pipes|and |bars",
+            "E | 0 | party | 2023-12-25 1800 | 2023-12-25 2200",
+            "D | 0 | caf\u00e9 \u2615 | 2023-12-25 | ",
+        };
+        Path dataPath = write(String.join("\n", lines) + "\n");
+
+        List<Task> tasks = new MappedTaskLoader().load(dataPath);
+
+        ArrayList<String> expected = new ArrayList<>();
+        for (String line : lines) {
+            expected.add(Saveable.fromSaveFormat(line).toSaveFormat());
+        }
+        assertEquals(expected, saveFormats(tasks));
+        assertEquals(7L, tasks.get(0).getId());
+        assertEquals("pipes|and |bars", tasks.get(0).getDescription());
+    }
+
+    @Test
+    public void load_corruptedLineInLaterWindow_reportsLineInWholeFile() throws Exception {
+        StringBuilder data = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            data.append(i == 23 ? "X | 0 | nonsense" : "T | 0 | task " + i).append(i % 10 == 0 ? "\n\n" : "\n");
+        }
+        Path dataPath = write(data.toString());
+
+        TinManException e = assertThrows(TinManException.class, () -> loader.load(dataPath));
+
+        assertTrue(e.getMessage().contains("line 25:"), e.getMessage());
+    }
+
+    @Test
+    public void load_lineLongerThanWindow_reportsCorruption() throws Exception {
+        Path dataPath = write("T | 0 | short\nT | 0 | " + "x".repeat(WINDOW_SIZE) + "\n");
+
+        TinManException e = assertThrows(TinManException.CorruptedDataException.class, () -> loader.load(dataPath));
+
+        assertTrue(e.getMessage().contains("line 2 is too long"), e.getMessage());
+    }
+}
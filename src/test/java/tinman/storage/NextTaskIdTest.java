@@ -0,0 +1,143 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests that every storage option saves the next free task ID, so that deleting the newest tasks and
+ * restarting never hands their IDs out again.
+ */
+public class NextTaskIdTest {
+    @TempDir
+    Path tempDir;
+
+    private String dataPath() {
+        return tempDir.resolve("tinman.txt").toString();
+    }
+
+    private Supplier<StorageBackend> storage(StorageConfig config) {
+        return () -> StorageBackend.create(dataPath(), config);
+    }
+
+    private StorageConfig config() {
+        return new StorageConfig();
+    }
+
+    private TaskList loadAttached(StorageBackend storage) throws TinManException {
+        TaskList tasks = new TaskList(storage.load(), storage.getNextTaskId());
+        storage.attach(tasks);
+        return tasks;
+    }
+
+    /**
+     * Adds three tasks, deletes the two newest, restarts and adds another task.
+     *
+     * @return The ID given to the task added after the restart.
+     */
+    private long addTaskAfterDeletingNewestAndRestarting(Supplier<StorageBackend> storage) throws Exception {
+        StorageBackend first = storage.get();
+        TaskList tasks = loadAttached(first);
+        for (int i = 1; i <= 3; i++) {
+            tasks.addTask(new Todo("task " + i));
+            first.save(tasks.getTasks());
+        }
+        tasks.deleteTask(2);
+        tasks.deleteTask(1);
+        first.save(tasks.getTasks());
+        if (first instanceof PagedTaskStore) {
+            PagedTaskStore pagedStore = (PagedTaskStore) first;
+            pagedStore.close();
+        }
+
+        TaskList restarted = loadAttached(storage.get());
+        assertEquals(1, restarted.getTaskCount());
+        restarted.addTask(new Todo("task 4"));
+        return restarted.getTask(1).getId();
+    }
+
+    @Test
+    public void restart_textFile_writesHeaderOnlyWhenNeeded() throws Exception {
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config())));
+        assertEquals(List.of("N | 4", "#1 | T | 0 | task 1"), Files.readAllLines(Path.of(dataPath())));
+
+        Storage storage = new Storage(dataPath());
+        TaskList tasks = loadAttached(storage);
+        tasks.addTask(new Todo("task 4"));
+        storage.save(tasks.getTasks());
+        assertEquals(List.of("#1 | T | 0 | task 1", "#4 | T | 0 | task 4"), Files.readAllLines(Path.of(dataPath())));
+    }
+
+    @Test
+    public void restart_everyTextLoader_skipsHeader() throws Exception {
+        Files.writeString(Path.of(dataPath()), "N | 9\n#1 | T | 0 | task 1\n\n#2 | T | 1 | task 2\n");
+        for (LoadStrategy strategy : LoadStrategy.values()) {
+            StorageConfig config = config();
+            config.setLoadStrategy(strategy);
+            StorageBackend storage = storage(config).get();
+
+            List<Task> tasks = storage.load();
+
+            assertEquals(2, tasks.size(), strategy.toString());
+            assertEquals("task 2", tasks.get(1).getDescription());
+            assertEquals(9L, storage.getNextTaskId());
+        }
+    }
+
+    @Test
+    public void restart_binaryFile_restoresNextId() throws Exception {
+        StorageConfig config = config();
+        config.setSaveFormat(SaveFormat.BINARY);
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config)));
+    }
+
+    @Test
+    public void restart_journal_restoresNextIdBeforeAndAfterCompaction() throws Exception {
+        StorageConfig config = config();
+        config.setJournalEnabled(true);
+        config.setJournalCompactionThreshold(1000);
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config)));
+
+        Files.deleteIfExists(Path.of(dataPath()));
+        Files.delete(Path.of(dataPath() + TaskJournal.JOURNAL_SUFFIX));
+        config.setJournalCompactionThreshold(1);
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config)));
+    }
+
+    @Test
+    public void restart_segmentedLayout_restoresNextId() throws Exception {
+        StorageConfig config = config();
+        config.setLayout(StorageLayout.SEGMENTED);
+        config.setSegmentSize(2);
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config)));
+    }
+
+    @Test
+    public void restart_pagedBackend_restoresNextId() throws Exception {
+        StorageConfig config = config();
+        config.setBackend(BackendType.PAGED);
+        assertEquals(4, addTaskAfterDeletingNewestAndRestarting(storage(config)));
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_keepsNextId() throws Exception {
+        Files.writeString(Path.of(dataPath()), "N | 9\n#1 | T | 0 | task 1\n");
+        String binaryPath = tempDir.resolve("tinman.bin").toString();
+
+        SaveFormatConverter.convert(dataPath(), binaryPath, SaveFormat.BINARY);
+        SaveFormatConverter.convert(binaryPath, dataPath(), SaveFormat.TEXT);
+
+        assertEquals(List.of("N | 9", "#1 | T | 0 | task 1"), Files.readAllLines(Path.of(dataPath())));
+    }
+}
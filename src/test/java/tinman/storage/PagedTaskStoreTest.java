@@ -0,0 +1,187 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Deadline;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests for the page-based task store, covering page splits, overflow values, incremental saves and migration.
+ */
+public class PagedTaskStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private PagedTaskStore openStore() {
+        String dataPath = tempDir.resolve("tinman.txt").toString();
+        return new PagedTaskStore(dataPath, Durability.NONE, new Storage(dataPath));
+    }
+
+    private TaskList loadAttached(PagedTaskStore store) throws TinManException {
+        TaskList tasks = new TaskList(store.load());
+        store.attach(tasks);
+        return tasks;
+    }
+
+    private ArrayList<String> saveFormats(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void saveThenLoad_manyPagesAndLongDescriptions_roundTripsInOrder() throws Exception {
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        for (int i = 0; i < 3000; i++) {
+            String description = i % 500 == 0 ? "long ".repeat(2000) + i : "task " + i;
+            tasks.addTask(i % 2 == 0 ? new Todo(description) : new Deadline(description, "2023-12-25 1430"));
+        }
+        store.save(tasks.getTasks());
+        store.close();
+
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(openStore().load()));
+    }
+
+    @Test
+    public void save_singleChange_writesOnlyPagesOnItsPath() throws Exception {
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        for (int i = 0; i < 5000; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        store.save(tasks.getTasks());
+        store.close();
+
+        PagedTaskStore reopened = openStore();
+        TaskList reloaded = loadAttached(reopened);
+        long writesBefore = reopened.getPageWriteCount();
+        reloaded.deleteTask(2500);
+        reloaded.updateTask(10, Task::markAsDone);
+        reopened.save(reloaded.getTasks());
+
+        // Two leaf-to-root paths in a tree of height two, plus the header
+        assertTrue(reopened.getPageWriteCount() - writesBefore <= 5);
+        assertEquals(saveFormats(reloaded.getTasks()), saveFormats(openStore().load()));
+    }
+
+    @Test
+    public void save_repeatedUpdatesAndDeletes_reusesFreedPages() throws Exception {
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        for (int i = 0; i < 1000; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        store.save(tasks.getTasks());
+        Path storePath = tempDir.resolve("tinman.txt" + PagedTaskStore.FILE_SUFFIX);
+        long initialSize = Files.size(storePath);
+
+        for (int i = 0; i < 200; i++) {
+            tasks.updateTask(i, Task::markAsDone);
+            store.save(tasks.getTasks());
+        }
+        assertTrue(Files.size(storePath) <= initialSize + 4 * PageFile.PAGE_SIZE);
+
+        while (tasks.getTaskCount() > 0) {
+            tasks.deleteTask(0);
+        }
+        store.save(tasks.getTasks());
+        assertEquals(0, openStore().load().size());
+    }
+
+    @Test
+    public void load_existingDataFile_migratesOnFirstSave() throws Exception {
+        ArrayList<Task> original = new ArrayList<>();
+        original.add(new Todo("read book"));
+        original.add(new Deadline("return book", "Sunday"));
+        new Storage(tempDir.resolve("tinman.txt").toString()).save(original);
+
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        tasks.addTask(new Todo("buy milk"));
+        tasks.deleteTask(0);
+        store.save(tasks.getTasks());
+        store.close();
+
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(openStore().load()));
+    }
+
+    @Test
+    public void getTask_afterDeletesBeforeIt_findsTaskByIdReadingOnePath() throws Exception {
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        for (int i = 0; i < 5000; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        long id = tasks.getTask(4000).getId();
+        store.save(tasks.getTasks());
+        store.close();
+
+        PagedTaskStore reopened = openStore();
+        TaskList reloaded = loadAttached(reopened);
+        for (int i = 0; i < 10; i++) {
+            reloaded.deleteTask(0);
+        }
+        reloaded.updateTask(reloaded.getTaskIndexById(id), Task::markAsDone);
+        reopened.save(reloaded.getTasks());
+        reopened.close();
+
+        PagedTaskStore lookup = openStore();
+        Task found = lookup.getTask(id);
+        assertEquals("task 4000", found.getDescription());
+        assertTrue(found.getIsDone());
+        // The header, then one page per level of a tree of height two
+        assertTrue(lookup.getPageReadCount() <= 4);
+        long deletedId = reloaded.getTask(0).getId() - 1;
+        assertThrows(TinManException.TaskNotFoundException.class, () -> lookup.getTask(deletedId));
+    }
+
+    @Test
+    public void getTask_unsavedChanges_seenBeforeSave() throws Exception {
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        store.save(tasks.getTasks());
+
+        long firstId = tasks.getTask(0).getId();
+        long secondId = tasks.getTask(1).getId();
+        tasks.deleteTask(0);
+        tasks.updateTask(0, task -> task.updateDescription("return books"));
+
+        assertThrows(TinManException.TaskNotFoundException.class, () -> store.getTask(firstId));
+        assertEquals("return books", store.getTask(secondId).getDescription());
+    }
+
+    @Test
+    public void load_dataFileWithoutIds_numbersTasksForTheTree() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, "T | 0 | read book\nT | 1 | return book\n");
+
+        PagedTaskStore store = openStore();
+        TaskList tasks = loadAttached(store);
+        assertEquals("return book", store.getTask(2).getDescription());
+        store.save(tasks.getTasks());
+        store.close();
+
+        PagedTaskStore reopened = openStore();
+        assertEquals("read book", reopened.getTask(1).getDescription());
+        assertEquals(List.of("#1 | T | 0 | read book", "#2 | T | 1 | return book"),
+                saveFormats(reopened.load()));
+    }
+}
@@ -0,0 +1,66 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+
+/**
+ * Tests for the parallel loader, using tiny chunks so that every file spans many of them.
+ */
+public class ParallelTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    private final ParallelTaskLoader loader = new ParallelTaskLoader(new ForkJoinPool(4), 16);
+
+    private ArrayList<String> saveFormats(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void load_manyChunks_matchesSequentialLoadInOrder() throws Exception {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            data.append(i % 2 == 0 ? "T | 0 | task " + i : "D | 1 | deadline " + i + " | 2023-12-25 1430");
+            data.append(i % 7 == 0 ? "\r\n\n" : "\n");
+        }
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, data.toString(), StandardCharsets.UTF_8);
+
+        List<Task> expected = new Storage(dataPath.toString()).load();
+
+        assertEquals(200, expected.size());
+        assertEquals(saveFormats(expected), saveFormats(loader.load(dataPath)));
+    }
+
+    @Test
+    public void load_corruptedLineInLaterChunk_reportsLineInWholeFile() throws Exception {
+        StringBuilder data = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            data.append(i == 73 ? "X | 0 | nonsense" : "T | 0 | task " + i).append(i % 10 == 0 ? "\n\n" : "\n");
+        }
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, data.toString(), StandardCharsets.UTF_8);
+
+        TinManException e = assertThrows(TinManException.class, () -> loader.load(dataPath));
+
+        assertTrue(e.getMessage().contains("line 80:"), e.getMessage());
+    }
+}
@@ -0,0 +1,224 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.TinMan;
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests that the save scheduler coalesces mutations, saves on its delay and pending limits,
+ * flushes on demand and retries failed saves.
+ */
+public class SaveSchedulerTest {
+    private static final long NEVER_MILLIS = 60_000;
+    private static final long WAIT_TIMEOUT_MILLIS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    private final TaskList tasks = new TaskList();
+    private final CountingStorage storage = new CountingStorage();
+
+    private void addTasks(SaveScheduler scheduler, int count) {
+        for (int i = 0; i < count; i++) {
+            tasks.addTask(new Todo("task " + tasks.getTaskCount()));
+            scheduler.markDirty();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean(), "Timed out waiting for the scheduler");
+    }
+
+    @Test
+    public void flush_manyMutations_savedInOneWrite() throws TinManException {
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 1000);
+        addTasks(scheduler, 20);
+
+        assertEquals(0, storage.getSaveCount());
+        assertEquals(20, scheduler.getPendingMutations());
+        scheduler.flush();
+
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(20, storage.getLastSavedTaskCount());
+        assertEquals(0, scheduler.getPendingMutations());
+        assertEquals(1L, scheduler.getWriteCount());
+        assertEquals(20, scheduler.getLastBatchSize());
+        scheduler.flush();
+        assertEquals(1, storage.getSaveCount());
+        scheduler.close();
+    }
+
+    @Test
+    public void markDirty_reachesPendingLimit_savesWithoutWaitingForDelay() throws Exception {
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 5);
+        addTasks(scheduler, 4);
+        Thread.sleep(50);
+        assertEquals(0, storage.getSaveCount());
+
+        addTasks(scheduler, 1);
+        waitUntil(() -> scheduler.getWriteCount() == 1);
+
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(5, scheduler.getLastBatchSize());
+        scheduler.close();
+    }
+
+    @Test
+    public void markDirty_belowPendingLimit_savesAfterDelay() throws Exception {
+        long delayMillis = 100;
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, delayMillis, 1000);
+        long start = System.nanoTime();
+        addTasks(scheduler, 3);
+
+        waitUntil(() -> scheduler.getWriteCount() == 1);
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= delayMillis, "Saved before the delay");
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(3, scheduler.getLastBatchSize());
+        scheduler.close();
+    }
+
+    @Test
+    public void close_pendingMutations_flushesThem() throws TinManException {
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 1000);
+        addTasks(scheduler, 2);
+
+        scheduler.close();
+
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(2, storage.getLastSavedTaskCount());
+        assertEquals(0, scheduler.getPendingMutations());
+    }
+
+    @Test
+    public void bye_backgroundSaving_flushesBeforeReplying() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        System.setProperty(StorageConfig.PROPERTY_PREFIX + "asyncSave", "true");
+        System.setProperty(StorageConfig.PROPERTY_PREFIX + "saveDelayMillis", String.valueOf(NEVER_MILLIS));
+        TinMan tinMan;
+        try {
+            tinMan = new TinMan(dataPath.toString());
+        } finally {
+            System.clearProperty(StorageConfig.PROPERTY_PREFIX + "asyncSave");
+            System.clearProperty(StorageConfig.PROPERTY_PREFIX + "saveDelayMillis");
+        }
+
+        tinMan.processCommand("todo read book");
+        assertEquals(1, tinMan.getSaveScheduler().getPendingMutations());
+        tinMan.processCommand("bye");
+
+        assertEquals(0, tinMan.getSaveScheduler().getPendingMutations());
+        assertEquals(List.of("#1 | T | 0 | read book"), Files.readAllLines(dataPath));
+    }
+
+    @Test
+    public void flush_afterFailedBackgroundSave_retriesPendingMutations() throws Exception {
+        storage.failNextSaves(1);
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 3);
+        addTasks(scheduler, 3);
+
+        waitUntil(() -> storage.getFailureCount() == 1);
+        waitUntil(() -> scheduler.getPendingMutations() == 3);
+        TinManException failure = scheduler.pollFailure();
+        assertTrue(failure != null, "Background failure was not reported");
+        assertNull(scheduler.pollFailure());
+        assertEquals(0L, scheduler.getWriteCount());
+
+        scheduler.flush();
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(0, scheduler.getPendingMutations());
+        assertEquals(3, scheduler.getLastBatchSize());
+        scheduler.close();
+    }
+
+    @Test
+    public void flush_failingSave_keepsMutationsPending() {
+        storage.failNextSaves(1);
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 1000);
+        addTasks(scheduler, 2);
+
+        TinManException e = assertThrows(TinManException.class, scheduler::flush);
+
+        assertEquals(CountingStorage.FAILURE_MESSAGE, e.getMessage());
+        assertEquals(2, scheduler.getPendingMutations());
+    }
+
+    @Test
+    public void batchStatistics_severalWrites_describeEachBatch() throws TinManException {
+        SaveScheduler scheduler = new SaveScheduler(storage, tasks, NEVER_MILLIS, 1000);
+        addTasks(scheduler, 3);
+        scheduler.flush();
+        addTasks(scheduler, 5);
+        scheduler.flush();
+
+        assertEquals(2L, scheduler.getWriteCount());
+        assertEquals(8L, scheduler.getSavedMutationCount());
+        assertEquals(5, scheduler.getLastBatchSize());
+        assertEquals(5, scheduler.getLargestBatchSize());
+        assertEquals(4.0, scheduler.getAverageBatchSize());
+        scheduler.close();
+    }
+
+    /**
+     * Counts saves, and fails a given number of them, from whichever thread the scheduler saves on.
+     */
+    private static class CountingStorage implements StorageBackend {
+        private static final String FAILURE_MESSAGE = "Disk is full";
+
+        private int saveCount = 0;
+        private int failureCount = 0;
+        private int failuresLeft = 0;
+        private int lastSavedTaskCount = 0;
+
+        synchronized void failNextSaves(int count) {
+            failuresLeft = count;
+        }
+
+        @Override
+        public List<Task> load() {
+            return List.of();
+        }
+
+        @Override
+        public synchronized void save(List<Task> tasks) throws TinManException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                failureCount++;
+                throw new TinManException(FAILURE_MESSAGE);
+            }
+            saveCount++;
+            lastSavedTaskCount = tasks.size();
+        }
+
+        synchronized int getSaveCount() {
+            return saveCount;
+        }
+
+        synchronized int getFailureCount() {
+            return failureCount;
+        }
+
+        synchronized int getLastSavedTaskCount() {
+            return lastSavedTaskCount;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests for the segmented storage layout, covering dirty-segment saves, deletes and migration.
+ */
+public class SegmentedTaskStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage segmentedStorage(int segmentSize) {
+        StorageConfig config = new StorageConfig();
+        config.setLayout(StorageLayout.SEGMENTED);
+        config.setSegmentSize(segmentSize);
+        return new Storage(tempDir.resolve("tinman.txt").toString(), config);
+    }
+
+    private TaskList loadAttached(Storage storage) throws TinManException {
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        return tasks;
+    }
+
+    private Path segmentDirectory() {
+        return tempDir.resolve("tinman.txt" + SegmentedTaskStore.DIRECTORY_SUFFIX);
+    }
+
+    private long countFiles(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private ArrayList<String> saveFormats(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void save_singleChange_rewritesOnlyItsSegment() throws Exception {
+        SegmentedTaskStore store = new SegmentedTaskStore(tempDir.resolve("tinman.txt").toString(), 10,
+                Durability.NONE);
+        TaskList tasks = new TaskList();
+        tasks.addListener(store);
+        for (int i = 0; i < 35; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        store.save(tasks.getTasks());
+        assertEquals(4, store.getSegmentsWrittenByLastSave());
+
+        tasks.deleteTask(33);
+        store.save(tasks.getTasks());
+        assertEquals(1, store.getSegmentsWrittenByLastSave());
+
+        tasks.updateTask(2, Task::markAsDone);
+        tasks.addTask(new Todo("task 35"));
+        store.save(tasks.getTasks());
+        assertEquals(2, store.getSegmentsWrittenByLastSave());
+    }
+
+    @Test
+    public void load_afterDeletesAndUpdates_matchesInMemoryList() throws Exception {
+        Storage storage = segmentedStorage(4);
+        TaskList tasks = loadAttached(storage);
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks.getTasks());
+
+        tasks.deleteTask(0);
+        tasks.deleteTask(4);
+        tasks.updateTask(6, Task::markAsDone);
+        storage.save(tasks.getTasks());
+
+        TaskList reloaded = loadAttached(segmentedStorage(4));
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(reloaded.getTasks()));
+
+        reloaded.deleteTask(reloaded.getTaskCount() - 1);
+        reloaded.addTask(new Todo("task 10"));
+        assertEquals("task 10", reloaded.getTask(reloaded.getTaskCount() - 1).getDescription());
+    }
+
+    @Test
+    public void save_mostlyDeleted_compactsIntoNewGeneration() throws Exception {
+        Storage storage = segmentedStorage(2);
+        TaskList tasks = loadAttached(storage);
+        for (int i = 0; i < 8; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks.getTasks());
+        for (int i = 0; i < 5; i++) {
+            tasks.deleteTask(0);
+        }
+        storage.save(tasks.getTasks());
+
+        Path directory = tempDir.resolve("tinman.txt" + SegmentedTaskStore.DIRECTORY_SUFFIX);
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(segmentedStorage(2).load()));
+    }
+
+    @Test
+    public void load_existingDataFile_migratesOnFirstSave() throws Exception {
+        ArrayList<Task> original = new ArrayList<>();
+        original.add(new Todo("read book"));
+        original.add(new Todo("return book"));
+        new Storage(tempDir.resolve("tinman.txt").toString()).save(original);
+
+        Storage storage = segmentedStorage(10);
+        TaskList tasks = loadAttached(storage);
+        assertEquals(2, tasks.getTaskCount());
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("buy milk"));
+        storage.save(tasks.getTasks());
+
+        assertTrue(Files.exists(tempDir.resolve("tinman.txt" + SegmentedTaskStore.DIRECTORY_SUFFIX)));
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(segmentedStorage(10).load()));
+    }
+
+    @Test
+    public void save_manifestWriteFails_previousSaveStillLoads() throws Exception {
+        Storage storage = segmentedStorage(2);
+        TaskList tasks = loadAttached(storage);
+        for (int i = 0; i < 6; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks.getTasks());
+        ArrayList<String> saved = saveFormats(tasks.getTasks());
+
+        // Empties the last segment and changes the first, then stops the save before the manifest is replaced
+        tasks.deleteTask(5);
+        tasks.deleteTask(4);
+        tasks.updateTask(0, Task::markAsDone);
+        Path blocker = segmentDirectory().resolve(SegmentedTaskStore.MANIFEST_NAME + DurableFiles.TEMPORARY_SUFFIX);
+        Files.createDirectories(blocker.resolve("occupied"));
+        assertThrows(TinManException.class, () -> storage.save(tasks.getTasks()));
+
+        assertEquals(saved, saveFormats(segmentedStorage(2).load()));
+
+        Files.delete(blocker.resolve("occupied"));
+        Files.delete(blocker);
+        storage.save(tasks.getTasks());
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(segmentedStorage(2).load()));
+        assertEquals(3, countFiles(segmentDirectory()));
+    }
+
+    @Test
+    public void load_unreferencedSegmentFiles_ignoredAndRemovedBySave() throws Exception {
+        Storage storage = segmentedStorage(2);
+        TaskList tasks = loadAttached(storage);
+        for (int i = 0; i < 4; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks.getTasks());
+        // Left behind by a save that stopped before switching the manifest over to it
+        Path orphan = segmentDirectory().resolve("segment-99-0");
+        Files.writeString(orphan, "X | not a task\n");
+
+        Storage restarted = segmentedStorage(2);
+        TaskList reloaded = loadAttached(restarted);
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(reloaded.getTasks()));
+
+        reloaded.updateTask(3, Task::markAsDone);
+        restarted.save(reloaded.getTasks());
+        assertFalse(Files.exists(orphan));
+        assertEquals(3, countFiles(segmentDirectory()));
+        assertEquals(saveFormats(reloaded.getTasks()), saveFormats(segmentedStorage(2).load()));
+    }
+
+    @Test
+    public void save_severalSegmentsChanged_oldFilesKeptUntilManifestReplaced() throws Exception {
+        SegmentedTaskStore store = new SegmentedTaskStore(tempDir.resolve("tinman.txt").toString(), 2,
+                Durability.NONE);
+        TaskList tasks = new TaskList();
+        tasks.addListener(store);
+        for (int i = 0; i < 6; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        store.save(tasks.getTasks());
+        ArrayList<String> firstSave = new ArrayList<>();
+        try (var files = Files.list(segmentDirectory())) {
+            files.forEach(file -> firstSave.add(file.getFileName().toString()));
+        }
+
+        tasks.updateTask(0, Task::markAsDone);
+        tasks.updateTask(5, Task::markAsDone);
+        store.save(tasks.getTasks());
+
+        assertEquals(2, store.getSegmentsWrittenByLastSave());
+        assertEquals(4, countFiles(segmentDirectory()));
+        int unchanged = 0;
+        for (String name : firstSave) {
+            if (Files.exists(segmentDirectory().resolve(name))) {
+                unchanged++;
+            }
+        }
+        // Only the manifest, replaced in place, and the untouched middle segment keep their names
+        assertEquals(2, unchanged);
+        assertEquals(saveFormats(tasks.getTasks()), saveFormats(new SegmentedTaskStore(
+                tempDir.resolve("tinman.txt").toString(), 2, Durability.NONE).load()));
+    }
+}
@@ -0,0 +1,78 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.Todo;
+
+/**
+ * Tests for storage instrumentation, covering latency percentiles, byte counts and failure counts.
+ */
+public class StorageStatsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void getPercentile_uniformLatencies_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        long median = histogram.getPercentile(50);
+        long tail = histogram.getPercentile(99);
+        assertTrue(median >= 5_000_000 && median <= 5_000_000 * 1.07, "p50 was " + median);
+        assertTrue(tail >= 9_900_000 && tail <= 10_000_000, "p99 was " + tail);
+    }
+
+    @Test
+    public void saveThenLoad_fileBackend_countsBytesAndTasks() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        InstrumentedStorage storage = new InstrumentedStorage(new Storage(dataPath.toString()));
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+
+        storage.save(tasks);
+        storage.load();
+
+        StorageStats stats = storage.getStats();
+        assertEquals(1, stats.getSaveCount());
+        assertEquals(1, stats.getLoadCount());
+        assertEquals(Files.size(dataPath), stats.getBytesWritten());
+        assertEquals(Files.size(dataPath), stats.getBytesRead());
+        assertEquals(2, stats.getTasksLoaded());
+        assertEquals(2, stats.getLastSavedTaskCount());
+        assertTrue(stats.getMaxSaveLatency() > 0);
+        assertEquals(2, stats.getLastLoadReport().getRecordCount());
+        assertEquals(Files.size(dataPath), stats.getLastLoadReport().getByteCount());
+        assertTrue(stats.toString().contains("last load: Loaded 2 tasks"), stats.toString());
+    }
+
+    @Test
+    public void load_corruptedFile_countsCorruption() throws Exception {
+        Path dataPath = tempDir.resolve("tinman.txt");
+        Files.writeString(dataPath, "T | 0 | read book\nX | 0 | nonsense\n", StandardCharsets.UTF_8);
+        InstrumentedStorage storage = new InstrumentedStorage(new Storage(dataPath.toString()));
+
+        assertThrows(TinManException.CorruptedDataException.class, storage::load);
+
+        StorageStats stats = storage.getStats();
+        assertEquals(0, stats.getLoadCount());
+        assertEquals(1, stats.getLoadFailureCount());
+        assertEquals(1, stats.getCorruptionCount());
+    }
+}
@@ -0,0 +1,119 @@
+package tinman.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tinman.exception.TinManException;
+import tinman.task.Task;
+import tinman.task.TaskList;
+import tinman.task.Todo;
+
+/**
+ * Tests for journaled saving in Storage, covering replay, compaction and crash leftovers.
+ */
+public class TaskJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage journaledStorage(int compactionThreshold) {
+        StorageConfig config = new StorageConfig();
+        config.setJournalEnabled(true);
+        config.setJournalCompactionThreshold(compactionThreshold);
+        return new Storage(tempDir.resolve("tinman.txt").toString(), config);
+    }
+
+    private TaskList loadAttached(Storage storage) throws TinManException {
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        return tasks;
+    }
+
+    private ArrayList<String> descriptions(List<Task> tasks) {
+        ArrayList<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.toSaveFormat());
+        }
+        return result;
+    }
+
+    @Test
+    public void save_belowThreshold_appendsToJournalWithoutRewritingDataFile() throws Exception {
+        Storage storage = journaledStorage(100);
+        TaskList tasks = loadAttached(storage);
+
+        tasks.addTask(new Todo("read book"));
+        storage.save(tasks.getTasks());
+        tasks.addTask(new Todo("return book"));
+        tasks.updateTask(0, Task::markAsDone);
+        tasks.deleteTask(1);
+        storage.save(tasks.getTasks());
+
+        assertTrue(!Files.exists(tempDir.resolve("tinman.txt")));
+        List<Task> reloaded = journaledStorage(100).load();
+        assertEquals(descriptions(tasks.getTasks()), descriptions(reloaded));
+    }
+
+    @Test
+    public void save_atThreshold_compactsIntoDataFile() throws Exception {
+        Storage storage = journaledStorage(2);
+        TaskList tasks = loadAttached(storage);
+
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new Todo("task " + i));
+            storage.save(tasks.getTasks());
+        }
+
+        assertTrue(Files.exists(tempDir.resolve("tinman.txt")));
+        List<Task> reloaded = journaledStorage(2).load();
+        assertEquals(descriptions(tasks.getTasks()), descriptions(reloaded));
+    }
+
+    @Test
+    public void load_tornFinalRecord_ignoresIt() throws Exception {
+        Storage storage = journaledStorage(100);
+        TaskList tasks = loadAttached(storage);
+        tasks.addTask(new Todo("kept"));
+        storage.save(tasks.getTasks());
+
+        Files.writeString(tempDir.resolve("tinman.txt.journal"), "A | T | 0 | tor",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Task> reloaded = journaledStorage(100).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("kept", reloaded.get(0).getDescription());
+    }
+
+    @Test
+    public void load_journalFromOlderDataFile_isDiscarded() throws Exception {
+        Storage storage = journaledStorage(100);
+        TaskList tasks = loadAttached(storage);
+        tasks.addTask(new Todo("only once"));
+        storage.save(tasks.getTasks());
+
+        // Simulate a crash after compaction rewrote the data file but before the journal was reset
+        Files.writeString(tempDir.resolve("tinman.txt"), "T | 0 | only once" + System.lineSeparator());
+
+        List<Task> reloaded = journaledStorage(100).load();
+        assertEquals(1, reloaded.size());
+    }
+
+    @Test
+    public void load_noJournal_readsDataFile() throws TinManException, IOException {
+        Files.writeString(tempDir.resolve("tinman.txt"), "T | 1 | existing" + System.lineSeparator());
+
+        List<Task> reloaded = journaledStorage(100).load();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.get(0).getIsDone());
+    }
+}
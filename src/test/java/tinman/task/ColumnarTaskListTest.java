@@ -0,0 +1,104 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that a task list stored in columns behaves like one holding task objects.
+ */
+public class ColumnarTaskListTest {
+    @Test
+    public void randomChanges_matchArrayBackedList() throws TinManException {
+        Random random = new Random(5);
+        TaskList arrayBacked = new TaskList(new ArrayList<>());
+        TaskList columnBacked = new TaskList(new ColumnarTaskList());
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(6);
+            if (operation < 3 || arrayBacked.getTaskCount() == 0) {
+                String description = "task " + i + " \u00e9t\u00e9";
+                String date = "2025-03-" + (10 + random.nextInt(10)) + (random.nextBoolean() ? " 1830" : "");
+                switch (random.nextInt(4)) {
+                case 0:
+                    arrayBacked.addTask(new Todo(description));
+                    columnBacked.addTask(new Todo(description));
+                    break;
+                case 1:
+                    arrayBacked.addTask(new Deadline(description, date));
+                    columnBacked.addTask(new Deadline(description, date));
+                    break;
+                case 2:
+                    arrayBacked.addTask(new Event(description, date, "after lunch"));
+                    columnBacked.addTask(new Event(description, date, "after lunch"));
+                    break;
+                default:
+                    arrayBacked.addTask(new Deadline(description, "next week"));
+                    columnBacked.addTask(new Deadline(description, "next week"));
+                    break;
+                }
+            } else if (operation == 3) {
+                int index = random.nextInt(arrayBacked.getTaskCount());
+                arrayBacked.deleteTask(index);
+                columnBacked.deleteTask(index);
+            } else if (operation == 4) {
+                int index = random.nextInt(arrayBacked.getTaskCount());
+                arrayBacked.updateTask(index, Task::markAsDone);
+                columnBacked.updateTask(index, Task::markAsDone);
+            } else {
+                int index = random.nextInt(arrayBacked.getTaskCount());
+                String description = "renamed " + i;
+                arrayBacked.updateTask(index, task -> task.updateDescription(description));
+                columnBacked.updateTask(index, task -> task.updateDescription(description));
+            }
+        }
+
+        assertEquals(arrayBacked.listTasks(), columnBacked.listTasks());
+        assertEquals(arrayBacked.getCompletedTaskCount(), columnBacked.getCompletedTaskCount());
+        ColumnarTaskList columns = (ColumnarTaskList) columnBacked.getTasks();
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals(arrayBacked.getTask(i).toSaveFormat(), columns.createTask(i).toSaveFormat());
+        }
+    }
+
+    @Test
+    public void get_taskStillReferenced_returnsSameObject() {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        Todo todo = new Todo("read book");
+        todo.setId(2);
+        Todo other = new Todo("buy milk");
+        other.setId(1);
+        tasks.add(todo);
+        tasks.add(0, other);
+
+        assertSame(todo, tasks.get(1));
+        tasks.remove(0);
+        assertSame(todo, tasks.get(0));
+    }
+
+    @Test
+    public void set_manyReplacedDescriptions_keepsCurrentText() throws TinManException {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Deadline("deadline " + i, "whenever " + i));
+        }
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                task.updateDescription(round + " " + "x".repeat(1000) + " " + i);
+                tasks.set(i, task);
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task copy = tasks.createTask(i);
+            assertEquals("19 " + "x".repeat(1000) + " " + i, copy.getDescription());
+            assertEquals("[D][ ] " + copy.getDescription() + " (by: whenever " + i + ")", copy.toString());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+import tinman.storage.Saveable;
+import tinman.util.DateParser;
+
+/**
+ * Tests that deadlines and events display, save and return their dates exactly as they did when
+ * they held LocalDate and LocalDateTime objects, for dates, date-times and text that is not a date.
+ */
+public class DatedTaskTest {
+    private static final LocalDate DATE = LocalDate.of(2023, 12, 25);
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2023, 12, 25, 14, 30);
+    private static final LocalDate OLD_DATE = LocalDate.of(1960, 1, 1);
+
+    @Test
+    public void deadline_date_displaysAndSavesDate() throws TinManException {
+        Deadline deadline = new Deadline("return book", "2023-12-25");
+
+        assertEquals("[D][ ] return book (by: " + DateParser.formatDate(DATE) + ")", deadline.toString());
+        assertEquals("D | 0 | return book | 2023-12-25", deadline.toSaveFormat());
+        assertEquals(DATE, deadline.getByValue());
+        assertEquals(LocalDateTime.of(2023, 12, 26, 0, 0), deadline.getDueTime());
+    }
+
+    @Test
+    public void deadline_dateTime_displaysAndSavesDateTime() throws TinManException {
+        Deadline deadline = new Deadline("return book", "2023-12-25 1430");
+
+        assertEquals("[D][ ] return book (by: " + DateParser.formatDateTime(DATE_TIME) + ")", deadline.toString());
+        assertEquals("D | 0 | return book | 2023-12-25 1430", deadline.toSaveFormat());
+        assertEquals(DATE_TIME, deadline.getByValue());
+    }
+
+    @Test
+    public void deadline_text_keptAsEntered() throws TinManException {
+        Deadline deadline = new Deadline("return book", "next week");
+
+        assertEquals("[D][ ] return book (by: next week)", deadline.toString());
+        assertEquals("D | 0 | return book | next week", deadline.toSaveFormat());
+        assertEquals("next week", deadline.getByValue());
+        assertNull(deadline.getDueTime());
+    }
+
+    @Test
+    public void deadline_dateBeforeEpoch_savesAndReloadsUnchanged() throws TinManException {
+        Deadline deadline = Deadline.fromValues("old", OLD_DATE);
+        deadline.markAsDone();
+
+        assertEquals("D | 1 | old | 1960-01-01", deadline.toSaveFormat());
+        Task reloaded = Saveable.fromSaveFormat(deadline.toSaveFormat());
+        assertEquals(deadline.toString(), reloaded.toString());
+        assertEquals(OLD_DATE, ((Deadline) reloaded).getByValue());
+    }
+
+    @Test
+    public void event_datesAndText_displayAndSaveEachAsBefore() {
+        Event event = new Event("conference", "2023-12-25 1430", "2023-12-26");
+
+        assertEquals("[E][ ] conference (from: " + DateParser.formatDateTime(DATE_TIME) + " to: "
+                + DateParser.formatDate(LocalDate.of(2023, 12, 26)) + ")", event.toString());
+        assertEquals("E | 0 | conference | 2023-12-25 1430 | 2023-12-26", event.toSaveFormat());
+        assertEquals(DATE_TIME, event.getFromValue());
+        assertEquals(LocalDate.of(2023, 12, 26), event.getToValue());
+        assertEquals(DATE_TIME, event.getStartTime());
+        assertEquals(LocalDateTime.of(2023, 12, 27, 0, 0), event.getEndTime());
+
+        Event loose = new Event("party", "tonight", "2023-12-25");
+        assertEquals("[E][ ] party (from: tonight to: " + DateParser.formatDate(DATE) + ")", loose.toString());
+        assertEquals("E | 0 | party | tonight | 2023-12-25", loose.toSaveFormat());
+        assertEquals("tonight", loose.getFromValue());
+        assertNull(loose.getStartTime());
+    }
+
+    @Test
+    public void event_updatedDates_replaceTextAndDates() {
+        Event event = new Event("conference", "soon", "later");
+
+        event.updateFrom("1959-12-31 2359");
+        event.updateTo("whenever");
+
+        assertEquals("E | 0 | conference | 1959-12-31 2359 | whenever", event.toSaveFormat());
+        assertEquals(LocalDateTime.of(1959, 12, 31, 23, 59), event.getFromValue());
+        assertEquals("whenever", event.getToValue());
+        assertEquals(LocalDateTime.of(1960, 1, 1, 0, 0), event.getEndTime());
+    }
+}
@@ -0,0 +1,94 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that upcoming deadlines read from the deadline queue match a scan of the list.
+ */
+public class DeadlineQueueTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    public void findUpcomingDeadlines_randomChanges_matchesScan() throws TinManException {
+        Random random = new Random(11);
+        TaskList taskList = new TaskList();
+        taskList.findUpcomingDeadlines(1, LocalDateTime.MAX);
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(6);
+            if (operation < 2 || taskList.getTaskCount() == 0) {
+                taskList.addTask(new Deadline("deadline " + i, randomDate(random)));
+            } else if (operation == 2) {
+                taskList.addTask(new Todo("todo " + i));
+            } else if (operation == 3) {
+                taskList.deleteTask(random.nextInt(taskList.getTaskCount()));
+            } else if (operation == 4) {
+                TaskUpdater updater = random.nextBoolean() ? Task::markAsDone : Task::markAsNotDone;
+                taskList.updateTask(random.nextInt(taskList.getTaskCount()), updater);
+            } else {
+                int index = random.nextInt(taskList.getTaskCount());
+                if (taskList.getTask(index) instanceof Deadline) {
+                    String by = randomDate(random);
+                    taskList.updateTask(index, task -> ((Deadline) task).updateDeadline(by));
+                }
+            }
+
+            int limit = 1 + random.nextInt(20);
+            LocalDateTime latest = FIRST_DAY.plusDays(random.nextInt(40)).atStartOfDay();
+            assertEquals(scan(taskList, limit, latest), taskList.findUpcomingDeadlines(limit, latest));
+        }
+    }
+
+    @Test
+    public void findUpcomingDeadlines_dateWithoutTime_dueAtEndOfDay() throws TinManException {
+        TaskList taskList = new TaskList();
+        Deadline allDay = new Deadline("report", "2025-03-03");
+        Deadline evening = new Deadline("slides", "2025-03-03 1800");
+        Deadline done = new Deadline("budget", "2025-03-02");
+        Deadline unparsed = new Deadline("taxes", "next spring");
+        Deadline morning = new Deadline("review", "2025-03-04 0900");
+        done.markAsDone();
+        for (Deadline deadline : List.of(allDay, evening, done, unparsed, morning)) {
+            taskList.addTask(deadline);
+        }
+
+        assertEquals(List.of(evening, allDay), taskList.findUpcomingDeadlines(2, LocalDateTime.MAX));
+        assertEquals(List.of(evening, allDay),
+                taskList.findUpcomingDeadlines(Integer.MAX_VALUE, LocalDate.of(2025, 3, 4).atStartOfDay()));
+
+        Task later = taskList.updateTask(1, task -> ((Deadline) task).updateDeadline("2025-03-05"));
+        assertEquals(List.of(allDay, morning, later), taskList.findUpcomingDeadlines(5, LocalDateTime.MAX));
+    }
+
+    private static List<Deadline> scan(TaskList taskList, int limit, LocalDateTime latest) {
+        return taskList.getTasks().stream()
+                .filter(task -> task instanceof Deadline && !task.getIsDone())
+                .map(task -> (Deadline) task)
+                .filter(deadline -> deadline.getDueTime() != null && !deadline.getDueTime().isAfter(latest))
+                .sorted(Comparator.comparing(Deadline::getDueTime).thenComparingLong(Deadline::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static String randomDate(Random random) {
+        LocalDate day = FIRST_DAY.plusDays(random.nextInt(40));
+        switch (random.nextInt(3)) {
+        case 0:
+            return day.toString();
+        case 1:
+            return day + " " + String.format("%02d00", random.nextInt(24));
+        default:
+            return "someday";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that event range queries through the interval tree match a scan of the list.
+ */
+public class EventIntervalTreeTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    public void findEventsBetween_randomChanges_matchesScan() throws TinManException {
+        Random random = new Random(7);
+        TaskList taskList = new TaskList();
+        taskList.findEventsBetween(FIRST_DAY.atStartOfDay(), FIRST_DAY.plusDays(1).atStartOfDay());
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 2 || taskList.getTaskCount() == 0) {
+                taskList.addTask(randomEvent(random, i));
+            } else if (operation == 2) {
+                taskList.addTask(new Todo("todo " + i));
+            } else if (operation == 3) {
+                taskList.deleteTask(random.nextInt(taskList.getTaskCount()));
+            } else {
+                Task task = taskList.getTask(random.nextInt(taskList.getTaskCount()));
+                if (task instanceof Event) {
+                    String from = dayString(random.nextInt(60));
+                    taskList.updateTask(taskList.getTaskIndexById(task.getId()), t -> ((Event) t).updateFrom(from));
+                }
+            }
+
+            LocalDateTime from = FIRST_DAY.plusDays(random.nextInt(60)).atStartOfDay().plusHours(random.nextInt(24));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(24 * 7));
+            assertEquals(scan(taskList, from, to), taskList.findEventsBetween(from, to));
+        }
+    }
+
+    @Test
+    public void findConflictingEvents_touchingEvents_doNotConflict() {
+        TaskList taskList = new TaskList();
+        Event morning = new Event("standup", "2025-03-03 0900", "2025-03-03 1000");
+        Event allDay = new Event("offsite", "2025-03-03", "2025-03-03");
+        Event unparsed = new Event("lunch", "Mon noon", "Mon 1pm");
+        taskList.addTask(morning);
+        taskList.addTask(allDay);
+        taskList.addTask(unparsed);
+
+        Event next = new Event("review", "2025-03-03 1000", "2025-03-03 1100");
+        assertEquals(List.of(allDay), taskList.findConflictingEvents(next));
+        assertEquals(List.of(morning), taskList.findConflictingEvents(allDay));
+        assertEquals(List.of(), taskList.findConflictingEvents(unparsed));
+    }
+
+    private static Event randomEvent(Random random, int i) {
+        int firstDay = random.nextInt(60);
+        if (random.nextBoolean()) {
+            return new Event("event " + i, dayString(firstDay), dayString(firstDay + random.nextInt(4)));
+        }
+        String start = dayString(firstDay) + " " + String.format("%02d00", random.nextInt(24));
+        return new Event("event " + i, start, random.nextInt(10) == 0 ? "later" : dayString(firstDay + 1));
+    }
+
+    private static String dayString(int offset) {
+        return FIRST_DAY.plusDays(offset).toString();
+    }
+
+    private static List<Event> scan(TaskList taskList, LocalDateTime from, LocalDateTime to) {
+        ArrayList<Event> events = new ArrayList<>();
+        for (Task task : taskList.getTasks()) {
+            if (task instanceof Event) {
+                Event event = (Event) task;
+                LocalDateTime start = event.getStartTime();
+                if (start != null && start.isBefore(to) && event.getEndTime().isAfter(from)) {
+                    events.add(event);
+                }
+            }
+        }
+        events.sort(Comparator.comparing(Event::getStartTime));
+        return events;
+    }
+}
@@ -0,0 +1,117 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+import tinman.parser.Parser;
+import tinman.storage.Saveable;
+
+/**
+ * Tests for permanent task IDs, covering how they are handed out, saved and looked up.
+ */
+public class TaskIdTest {
+
+    private TaskList listOf(String... descriptions) {
+        TaskList taskList = new TaskList();
+        for (String description : descriptions) {
+            taskList.addTask(new Todo(description));
+        }
+        return taskList;
+    }
+
+    @Test
+    public void addTask_afterDeletes_neverReusesIds() throws TinManException {
+        TaskList taskList = listOf("Task 1", "Task 2", "Task 3");
+        taskList.deleteTask(2);
+        taskList.addTask(new Todo("Task 4"));
+
+        assertEquals(1, taskList.getTask(0).getId());
+        assertEquals(4, taskList.getTask(2).getId());
+    }
+
+    @Test
+    public void parseTaskIndex_idReference_followsTaskAcrossDeletes() throws TinManException {
+        TaskList taskList = listOf("Task 1", "Task 2", "Task 3", "Task 4");
+        assertEquals(3, Parser.parseTaskIndex("mark #4", taskList));
+
+        taskList.deleteTask(0);
+        taskList.deleteTask(Parser.parseTaskIndex("delete #3", taskList));
+
+        assertEquals(1, Parser.parseTaskIndex("mark #4", taskList));
+        assertEquals(0, Parser.parseTaskIndex("mark 1", taskList));
+        assertThrows(TinManException.TaskNotFoundException.class, () -> Parser.parseTaskIndex("mark #3", taskList));
+        assertThrows(TinManException.InvalidTaskNumberException.class, () ->
+                Parser.parseTaskIndex("mark #x", taskList));
+    }
+
+    @Test
+    public void saveFormat_withId_roundTrips() throws TinManException {
+        TaskList taskList = listOf("Task 1", "Task 2");
+        Task task = taskList.getTask(1);
+
+        assertEquals("#2 | T | 0 | Task 2", task.toSaveFormat());
+        assertEquals(2, Saveable.fromSaveFormat(task.toSaveFormat()).getId());
+    }
+
+    @Test
+    public void getTaskIndexById_legacyTasks_numbersThemInListOrder() throws TinManException {
+        ArrayList<Task> loaded = new ArrayList<>();
+        loaded.add(Saveable.fromSaveFormat("T | 0 | Task 1"));
+        loaded.add(Saveable.fromSaveFormat("T | 1 | Task 2"));
+        TaskList taskList = new TaskList(loaded);
+        ArrayList<Integer> updatedIndices = new ArrayList<>();
+        taskList.addListener(new TaskListListener() {
+            @Override
+            public void onTaskAdded(int index, Task task) {
+            }
+
+            @Override
+            public void onTaskDeleted(int index, Task task) {
+            }
+
+            @Override
+            public void onTaskUpdated(int index, Task task) {
+                updatedIndices.add(index);
+            }
+        });
+
+        assertEquals(1, taskList.getTaskIndexById(2));
+        assertEquals(List.of(0, 1), updatedIndices);
+        taskList.addTask(new Todo("Task 3"));
+        assertEquals(3, taskList.getTask(2).getId());
+    }
+
+    @Test
+    public void getTaskIndexById_afterDeletesAndAdds_returnsCurrentIndex() throws TinManException {
+        TaskList taskList = listOf("Task 1", "Task 2", "Task 3", "Task 4", "Task 5");
+        assertEquals(4, taskList.getTaskIndexById(5));
+
+        taskList.deleteTask(3);
+        taskList.addTask(new Todo("Task 6"));
+        assertEquals(0, taskList.getTaskIndexById(1));
+        assertEquals(4, taskList.getTaskIndexById(6));
+        taskList.deleteTask(1);
+
+        assertEquals(1, taskList.getTaskIndexById(3));
+        assertEquals(2, taskList.getTaskIndexById(5));
+        assertEquals(3, taskList.getTaskIndexById(6));
+        assertThrows(TinManException.TaskNotFoundException.class, () -> taskList.getTaskIndexById(2));
+        assertThrows(TinManException.TaskNotFoundException.class, () -> taskList.getTaskIndexById(4));
+    }
+
+    @Test
+    public void getTaskIndexById_duplicateIds_throwsException() throws TinManException {
+        ArrayList<Task> loaded = new ArrayList<>();
+        loaded.add(Saveable.fromSaveFormat("#5 | T | 0 | Task 1"));
+        loaded.add(Saveable.fromSaveFormat("#5 | T | 0 | Task 2"));
+        TaskList taskList = new TaskList(loaded);
+
+        assertThrows(TinManException.CorruptedDataException.class, () -> taskList.getTaskIndexById(5));
+    }
+}
@@ -0,0 +1,70 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that pages of the task listing together make up the full listing.
+ */
+public class TaskListPageTest {
+    private TaskList taskList;
+
+    @BeforeEach
+    public void setUp() {
+        taskList = new TaskList();
+        for (int i = 1; i <= 7; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+    }
+
+    @Test
+    public void writeTaskPage_everyPage_joinsToFullListing() throws TinManException, IOException {
+        String[] rows = taskList.listTasks().split("\n");
+        for (int page = 1; page <= 3; page++) {
+            StringWriter out = new StringWriter();
+            taskList.writeTaskPage(out, page, 3, false);
+            String[] pageRows = out.toString().split("\n");
+
+            int from = (page - 1) * 3 + 1;
+            int to = Math.min(from + 2, 7);
+            assertEquals("Here are tasks " + from + "-" + to + " of 7 in your list (page " + page + " of 3):",
+                    pageRows[0]);
+            assertEquals(Arrays.asList(Arrays.copyOfRange(rows, from, to + 1)),
+                    Arrays.asList(Arrays.copyOfRange(pageRows, 1, pageRows.length)));
+        }
+    }
+
+    @Test
+    public void writeTaskPage_pastLastPage_throwsException() {
+        assertThrows(TinManException.class, () -> taskList.writeTaskPage(new StringWriter(), 4, 3, false));
+        assertThrows(TinManException.class, () -> taskList.writeTaskPage(new StringWriter(), 0, 3, false));
+    }
+
+    @Test
+    public void writeTasks_streamedListing_matchesListTasks() throws IOException {
+        StringWriter out = new StringWriter();
+        taskList.writeTasks(out, false);
+        assertEquals(taskList.listTasks(), out.toString());
+    }
+
+    @Test
+    public void writeTasks_showingIds_followsEachTaskWithItsId() throws TinManException, IOException {
+        taskList.deleteTask(0);
+        StringWriter out = new StringWriter();
+        taskList.writeTasks(out, true);
+
+        String[] rows = out.toString().split("\n");
+        assertEquals(" 1.[T][ ] task 2 #2", rows[1]);
+        assertEquals(" 6.[T][ ] task 7 #7", rows[6]);
+        assertEquals(" 1.[T][ ] task 2", taskList.listTasks().split("\n")[1]);
+    }
+}
@@ -0,0 +1,64 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that snapshots of a task list keep showing the version they were taken at.
+ */
+public class TaskListSnapshotTest {
+    @Test
+    public void snapshot_laterChanges_leaveSnapshotUnchanged() throws TinManException {
+        for (List<Task> backing : List.of(new ArrayList<Task>(), new TreeTaskList(), new ColumnarTaskList())) {
+            TaskList taskList = new TaskList(backing);
+            taskList.addTask(new Todo("read book"));
+            taskList.addTask(new Deadline("return book", "2025-03-01 1800"));
+            taskList.addTask(new Event("book club", "2025-03-02 1900", "2025-03-02 2100"));
+            TaskListSnapshot snapshot = taskList.snapshot();
+            String listing = snapshot.listTasks();
+
+            taskList.updateTask(0, Task::markAsDone);
+            taskList.updateTask(1, task -> task.updateDescription("renew book"));
+            taskList.deleteTask(2);
+            taskList.addTask(new Todo("buy bookmark"));
+
+            assertEquals(listing, snapshot.listTasks());
+            assertEquals(3, snapshot.getTaskCount());
+            assertEquals(taskList.listTasks(), taskList.snapshot().listTasks());
+            assertEquals("[T][X] read book", taskList.getTask(0).toString());
+        }
+    }
+
+    @Test
+    public void snapshot_unchangedList_returnsSameSnapshot() throws TinManException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        TaskListSnapshot snapshot = taskList.snapshot();
+        assertSame(snapshot, taskList.snapshot());
+
+        taskList.updateTask(0, Task::markAsDone);
+        TaskListSnapshot next = taskList.snapshot();
+        assertNotSame(snapshot, next);
+        assertEquals(snapshot.getVersion() + 1, next.getVersion());
+        assertSame(next, taskList.snapshot());
+    }
+
+    @Test
+    public void snapshot_legacyTasksWithoutIds_numbersThemFirst() {
+        Task loaded = new Todo("read book");
+        ArrayList<Task> tasks = new ArrayList<>(List.of(loaded, new Todo("write notes")));
+        TaskListSnapshot snapshot = new TaskList(tasks).snapshot();
+
+        assertEquals(1, snapshot.getTasks().get(0).getId());
+        assertEquals(2, snapshot.getTasks().get(1).getId());
+        assertEquals(Task.NO_ID, loaded.getId());
+    }
+}
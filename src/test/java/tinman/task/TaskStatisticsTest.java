@@ -0,0 +1,124 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that task statistics stay correct as the list changes and as time passes.
+ */
+public class TaskStatisticsTest {
+
+    private TaskList taskList;
+    private SettableClock clock;
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    public void setUp() throws TinManException {
+        taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Deadline("return book", "2024-01-10"));
+        taskList.addTask(new Deadline("submit report", "2024-01-09 1800"));
+        taskList.addTask(new Deadline("call mum", "Sunday"));
+        taskList.addTask(new Event("conference", "2024-01-09", "2024-01-11"));
+        taskList.addTask(new Event("party", "2024-01-12 2000", "2024-01-12 2300"));
+        clock = new SettableClock(LocalDateTime.of(2024, 1, 9, 12, 0));
+        statistics = new TaskStatistics(taskList.getTasks(), clock);
+        taskList.addListener(statistics);
+    }
+
+    @Test
+    public void counts_afterChanges_matchList() throws TinManException {
+        taskList.updateTask(0, Task::markAsDone);
+        taskList.updateTask(1, Task::markAsDone);
+        taskList.deleteTask(3);
+        taskList.addTask(new Todo("buy milk"));
+
+        assertEquals(1, statistics.getDoneCount("T"));
+        assertEquals(1, statistics.getPendingCount("T"));
+        assertEquals(1, statistics.getDoneCount("D"));
+        assertEquals(1, statistics.getPendingCount("D"));
+        assertEquals(2, statistics.getPendingCount("E"));
+        assertEquals(2, statistics.getDoneCount());
+        assertEquals(6, statistics.getTaskCount());
+    }
+
+    @Test
+    public void overdueDeadlines_asTimePasses_areCountedOnce() throws TinManException {
+        assertEquals(0, statistics.getOverdueDeadlineCount());
+
+        clock.set(LocalDateTime.of(2024, 1, 9, 18, 1));
+        assertEquals(1, statistics.getOverdueDeadlineCount());
+
+        // A date without a time is only overdue once the day is over
+        clock.set(LocalDateTime.of(2024, 1, 10, 23, 59));
+        assertEquals(1, statistics.getOverdueDeadlineCount());
+        clock.set(LocalDateTime.of(2024, 1, 11, 0, 0));
+        assertEquals(2, statistics.getOverdueDeadlineCount());
+
+        taskList.updateTask(2, Task::markAsDone);
+        taskList.addTask(new Deadline("old bill", "2023-12-01"));
+        assertEquals(2, statistics.getOverdueDeadlineCount());
+    }
+
+    @Test
+    public void eventsToday_acrossDays_countsEventsSpanningTheDay() throws TinManException {
+        assertEquals(1, statistics.getEventsTodayCount());
+
+        clock.set(LocalDateTime.of(2024, 1, 12, 9, 0));
+        assertEquals(1, statistics.getEventsTodayCount());
+        taskList.updateTask(5, Task::markAsDone);
+        assertEquals(1, statistics.getEventsTodayCount());
+        taskList.deleteTask(5);
+        assertEquals(0, statistics.getEventsTodayCount());
+    }
+
+    @Test
+    public void toString_showsSummary() {
+        String summary = statistics.toString();
+
+        assertTrue(summary.contains("Deadlines: 0 done, 3 pending, 0 overdue"));
+        assertTrue(summary.contains("Events: 0 done, 2 pending, 1 today"));
+        assertTrue(summary.contains("Total: 0 done, 6 pending"));
+    }
+
+    /**
+     * A clock whose time the test sets.
+     */
+    private static class SettableClock extends Clock {
+        private Instant instant;
+
+        SettableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
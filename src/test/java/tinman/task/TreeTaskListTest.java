@@ -0,0 +1,62 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that a task list backed by a {@link TreeTaskList} behaves exactly like one backed by an array.
+ */
+public class TreeTaskListTest {
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        ArrayList<Task> expected = new ArrayList<>();
+        TreeTaskList actual = new TreeTaskList();
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("Task " + i);
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new Todo("Replacement " + i);
+                assertEquals(expected.set(index, task), actual.set(index, task));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected, new TreeTaskList(expected));
+    }
+
+    @Test
+    public void taskList_treeBacking_keepsSameNumbering() throws TinManException {
+        TaskList arrayBacked = new TaskList();
+        TaskList treeBacked = new TaskList(new TreeTaskList());
+        for (TaskList taskList : List.of(arrayBacked, treeBacked)) {
+            for (int i = 1; i <= 6; i++) {
+                taskList.addTask(new Todo("Task " + i));
+            }
+            taskList.deleteTask(1);
+            taskList.deleteTask(3);
+            taskList.updateTask(2, Task::markAsDone);
+        }
+
+        assertEquals(arrayBacked.listTasks(), treeBacked.listTasks());
+        assertEquals(arrayBacked.getTaskIndexById(6), treeBacked.getTaskIndexById(6));
+        assertThrows(TinManException.TaskNotFoundException.class, () -> treeBacked.getTask(4));
+    }
+}
@@ -0,0 +1,84 @@
+package tinman.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tinman.exception.TinManException;
+
+/**
+ * Tests that finding tasks through the trigram index matches a plain substring search
+ * as the list is changed after the index has been built, and that fuzzy finds allow typos.
+ */
+public class TrigramIndexTest {
+
+    private TaskList taskList;
+    private Task report;
+    private Task groceries;
+    private Task reportReview;
+
+    @BeforeEach
+    public void setUp() throws TinManException {
+        taskList = new TaskList();
+        report = new Todo("Write quarterly report");
+        groceries = new Todo("Buy groceries");
+        reportReview = new Deadline("Review report draft", "2023-12-25");
+        taskList.addTask(report);
+        taskList.addTask(groceries);
+        taskList.addTask(reportReview);
+    }
+
+    @Test
+    public void findTasks_partialWordsAndPhrases_matchLikeSubstringSearch() {
+        assertEquals(List.of(report, reportReview), taskList.findTasks("REPO"));
+        assertEquals(List.of(report), taskList.findTasks("terly rep"));
+        assertEquals(List.of(), taskList.findTasks("report review"));
+        assertEquals(List.of(groceries), taskList.findTasks("  groceries "));
+    }
+
+    @Test
+    public void findTasks_afterAddAndDelete_keepsListOrder() throws TinManException {
+        taskList.findTasks("report");
+        Task summary = new Todo("Report summary");
+        taskList.addTask(summary);
+        taskList.deleteTask(0);
+
+        assertEquals(List.of(reportReview, summary), taskList.findTasks("report"));
+    }
+
+    @Test
+    public void findTasks_afterDescriptionUpdate_usesNewDescription() throws TinManException {
+        taskList.findTasks("report");
+        Task expenses = taskList.updateTask(1, task -> task.updateDescription("Report expenses"));
+
+        assertEquals(List.of(report, expenses, reportReview), taskList.findTasks("report"));
+        assertEquals(List.of(), taskList.findTasks("groceries"));
+    }
+
+    @Test
+    public void findTasks_shortAndPunctuationKeywords_matchLikeSubstringSearch() {
+        Task punctuation = new Todo("Fix :-) emoticon");
+        taskList.addTask(punctuation);
+
+        assertEquals(List.of(punctuation), taskList.findTasks(":-)"));
+        assertEquals(List.of(report, reportReview), taskList.findTasks("rt"));
+    }
+
+    @Test
+    public void findTasksFuzzy_typos_matchWithinDistance() throws TinManException {
+        assertEquals(List.of(report, reportReview), taskList.findTasksFuzzy("reprot", 2));
+        assertEquals(List.of(), taskList.findTasksFuzzy("reprot", 1));
+        assertEquals(List.of(groceries), taskList.findTasksFuzzy("grocceries", 1));
+
+        taskList.updateTask(0, task -> task.updateDescription("Write quarterly summary"));
+        assertEquals(List.of(reportReview), taskList.findTasksFuzzy("REPORT", 0));
+    }
+
+    @Test
+    public void findTasksFuzzy_shortKeyword_checksEveryTask() {
+        assertEquals(List.of(report, groceries), taskList.findTasksFuzzy("bu", 1));
+    }
+}
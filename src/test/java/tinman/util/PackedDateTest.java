@@ -0,0 +1,117 @@
+package tinman.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that packed dates unpack to the values they were packed from, and format exactly as
+ * {@link DateParser} formats those values.
+ */
+public class PackedDateTest {
+    private static final LocalDate[] DATES = {
+        LocalDate.of(2023, 12, 25),
+        LocalDate.of(1970, 1, 1),
+        LocalDate.of(1969, 12, 31),
+        LocalDate.of(1960, 1, 1),
+        LocalDate.MIN,
+        LocalDate.MAX,
+    };
+    private static final LocalDateTime[] DATE_TIMES = {
+        LocalDateTime.of(2023, 12, 25, 14, 30),
+        LocalDateTime.of(1970, 1, 1, 0, 0),
+        LocalDateTime.of(1969, 12, 31, 23, 59),
+        LocalDateTime.of(1960, 1, 1, 0, 1),
+        LocalDateTime.MIN,
+        LocalDateTime.MAX.truncatedTo(ChronoUnit.SECONDS),
+    };
+
+    @Test
+    public void pack_date_unpacksToSameDate() {
+        for (LocalDate date : DATES) {
+            long packed = PackedDate.pack(date);
+
+            assertFalse(PackedDate.hasTime(packed), date.toString());
+            assertEquals(date, PackedDate.unpack(packed));
+            assertEquals(date.atStartOfDay(), PackedDate.toDateTime(packed));
+        }
+    }
+
+    @Test
+    public void pack_dateTime_unpacksToSameDateTime() {
+        for (LocalDateTime dateTime : DATE_TIMES) {
+            long packed = PackedDate.pack(dateTime);
+
+            assertTrue(PackedDate.hasTime(packed), dateTime.toString());
+            assertEquals(dateTime, PackedDate.unpack(packed));
+            assertEquals(dateTime, PackedDate.toDateTime(packed));
+        }
+    }
+
+    @Test
+    public void pack_negativeEpochDays_keepsOrderAndValue() {
+        long before = PackedDate.pack(LocalDate.of(1969, 12, 31));
+        long epoch = PackedDate.pack(LocalDate.of(1970, 1, 1));
+
+        assertTrue(before < 0 && before < epoch);
+        assertEquals(LocalDate.of(1969, 12, 31), PackedDate.unpack(before));
+        assertEquals(LocalDateTime.of(1959, 12, 31, 23, 59),
+                PackedDate.unpack(PackedDate.pack(LocalDateTime.of(1959, 12, 31, 23, 59))));
+    }
+
+    @Test
+    public void toEndTime_date_returnsStartOfNextDay() {
+        assertEquals(LocalDateTime.of(2023, 12, 26, 0, 0),
+                PackedDate.toEndTime(PackedDate.pack(LocalDate.of(2023, 12, 25))));
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0),
+                PackedDate.toEndTime(PackedDate.pack(LocalDate.of(1969, 12, 31))));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0),
+                PackedDate.toEndTime(PackedDate.pack(LocalDate.of(2024, 2, 29))));
+    }
+
+    @Test
+    public void toEndTime_dateTime_returnsSameDateTime() {
+        for (LocalDateTime dateTime : DATE_TIMES) {
+            assertEquals(dateTime, PackedDate.toEndTime(PackedDate.pack(dateTime)));
+        }
+    }
+
+    @Test
+    public void pack_notADate_returnsNone() {
+        assertEquals(PackedDate.NONE, PackedDate.pack("next week"));
+        assertEquals(PackedDate.NONE, PackedDate.pack(null));
+        assertNull(PackedDate.unpack(PackedDate.NONE));
+    }
+
+    @Test
+    public void pack_anyDate_neverEqualsNone() {
+        for (LocalDate date : DATES) {
+            assertNotEquals(PackedDate.NONE, PackedDate.pack(date), date.toString());
+        }
+        for (LocalDateTime dateTime : DATE_TIMES) {
+            assertNotEquals(PackedDate.NONE, PackedDate.pack(dateTime), dateTime.toString());
+        }
+    }
+
+    @Test
+    public void format_packedValue_matchesDateParser() {
+        for (LocalDate date : DATES) {
+            long packed = PackedDate.pack(date);
+            assertEquals(DateParser.formatDate(date), PackedDate.format(packed));
+            assertEquals(DateParser.dateToSaveFormat(date), PackedDate.toSaveFormat(packed));
+        }
+        for (LocalDateTime dateTime : DATE_TIMES) {
+            long packed = PackedDate.pack(dateTime);
+            assertEquals(DateParser.formatDateTime(dateTime), PackedDate.format(packed));
+            assertEquals(DateParser.dateTimeToSaveFormat(dateTime), PackedDate.toSaveFormat(packed));
+        }
+    }
+}